@@ -1,13 +1,26 @@
 package com.todoapp.todo_backend;
 
+import com.todoapp.todo_backend.warmup.TaskWarmup;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TodoBackendApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(TodoBackendApplication.class, args);
 	}
 
+	// runners finish before the application reports itself ready, so readiness is refused while warming up;
+	// test slices without the warm-up bean skip it
+	@Bean
+	public ApplicationRunner warmUp(ObjectProvider<TaskWarmup> taskWarmup) {
+		return args -> taskWarmup.ifAvailable(TaskWarmup::warmUp);
+	}
+
 }
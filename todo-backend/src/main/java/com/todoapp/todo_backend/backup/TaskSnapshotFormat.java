@@ -0,0 +1,118 @@
+package com.todoapp.todo_backend.backup;
+
+import com.todoapp.todo_backend.model.Task;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Layout of a task snapshot file:
+ * <pre>
+ * header   magic:8 version:int createdAt:long (epoch millis)
+ * chunk*   tasks:int rawLength:int compressedLength:int crc32c:long deflated records
+ * trailer  0:int totalTasks:long
+ * </pre>
+ * The checksum covers the compressed bytes of its chunk. Nullable record fields are preceded by a
+ * presence byte. Version 2 appends the optimistic-locking version to each record; version 1 files are
+ * still read, their tasks at version 0.
+ */
+final class TaskSnapshotFormat {
+
+    static final byte[] MAGIC = "TODOSNAP".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 2;
+    static final int OLDEST_READABLE_VERSION = 1;
+    // a chunk header claiming more than this is damage, not data
+    static final int MAX_CHUNK_BYTES = 256 * 1024 * 1024;
+
+    private TaskSnapshotFormat() {
+    }
+
+    static void writeTask(DataOutputStream out, Task task) throws IOException {
+        out.writeLong(task.getId());
+        writeString(out, task.getTitle());
+        writeString(out, task.getDescription());
+        out.writeBoolean(Boolean.TRUE.equals(task.getCompleted()));
+        writeTime(out, task.getCreatedAt());
+        writeTime(out, task.getCompletedAt());
+        writeTime(out, task.getDueAt());
+        writeString(out, task.getRank());
+        out.writeBoolean(task.getParentId() != null);
+        if (task.getParentId() != null) {
+            out.writeLong(task.getParentId());
+        }
+        Set<String> tags = task.getTags() == null ? Set.of() : task.getTags();
+        out.writeShort(tags.size());
+        for (String tag : tags) {
+            writeString(out, tag);
+        }
+        out.writeLong(task.getVersion() == null ? 0L : task.getVersion());
+    }
+
+    static Task readTask(DataInputStream in, int formatVersion) throws IOException {
+        Task task = new Task();
+        task.setId(in.readLong());
+        task.setTitle(readString(in));
+        task.setDescription(readString(in));
+        task.setCompleted(in.readBoolean());
+        task.setCreatedAt(readTime(in));
+        task.setCompletedAt(readTime(in));
+        task.setDueAt(readTime(in));
+        task.setRank(readString(in));
+        task.setParentId(in.readBoolean() ? in.readLong() : null);
+        int tagCount = in.readUnsignedShort();
+        Set<String> tags = new HashSet<>(Math.max(4, tagCount * 2));
+        for (int i = 0; i < tagCount; i++) {
+            tags.add(readString(in));
+        }
+        task.setTags(tags);
+        task.setVersion(formatVersion >= 2 ? in.readLong() : 0L);
+        return task;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeBoolean(false);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeBoolean(true);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        int length = in.readInt();
+        if (length < 0 || length > MAX_CHUNK_BYTES) {
+            throw new IOException("Invalid string length " + length);
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        long seconds = in.readLong();
+        int nanos = in.readInt();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,118 @@
+package com.todoapp.todo_backend.backup;
+
+import com.todoapp.todo_backend.model.Task;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a snapshot written by {@link TaskSnapshotWriter} one chunk at a time. Every chunk is checked
+ * against its checksum and lengths before it is decoded, and the trailer against the number of tasks
+ * read; any mismatch, or a file that ends early, is an {@link IOException}.
+ */
+public class TaskSnapshotReader implements Closeable {
+
+    private final DataInputStream in;
+    private final int formatVersion;
+    private final long createdAtMillis;
+    private final Inflater inflater = new Inflater();
+    private long tasks;
+    private boolean finished;
+
+    public TaskSnapshotReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in, 64 * 1024));
+        byte[] magic = new byte[TaskSnapshotFormat.MAGIC.length];
+        this.in.readFully(magic);
+        if (!Arrays.equals(magic, TaskSnapshotFormat.MAGIC)) {
+            throw new IOException("Not a task snapshot");
+        }
+        this.formatVersion = this.in.readInt();
+        if (formatVersion < TaskSnapshotFormat.OLDEST_READABLE_VERSION || formatVersion > TaskSnapshotFormat.VERSION) {
+            throw new IOException("Unsupported task snapshot version " + formatVersion);
+        }
+        this.createdAtMillis = this.in.readLong();
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    /**
+     * The tasks of the next chunk, or null once the trailer has been read and checked.
+     */
+    public List<Task> readChunk() throws IOException {
+        if (finished) {
+            return null;
+        }
+        int count = in.readInt();
+        if (count == 0) {
+            long total = in.readLong();
+            if (total != tasks) {
+                throw new IOException("Snapshot trailer counts " + total + " tasks but " + tasks + " were read");
+            }
+            finished = true;
+            return null;
+        }
+        int rawLength = in.readInt();
+        int compressedLength = in.readInt();
+        long expectedCrc = in.readLong();
+        if (count < 0 || rawLength < 0 || rawLength > TaskSnapshotFormat.MAX_CHUNK_BYTES
+                || compressedLength < 0 || compressedLength > TaskSnapshotFormat.MAX_CHUNK_BYTES) {
+            throw new IOException("Invalid chunk header after " + tasks + " tasks");
+        }
+        byte[] compressed = new byte[compressedLength];
+        in.readFully(compressed);
+        CRC32C crc = new CRC32C();
+        crc.update(compressed);
+        if (crc.getValue() != expectedCrc) {
+            throw new IOException("Checksum mismatch in the chunk after " + tasks + " tasks");
+        }
+
+        byte[] raw = new byte[rawLength];
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, rawLength - length);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != rawLength || !inflater.finished()) {
+                throw new IOException("Chunk after " + tasks + " tasks does not inflate to its recorded length");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Chunk after " + tasks + " tasks cannot be inflated", e);
+        }
+
+        List<Task> chunk = new ArrayList<>(count);
+        ByteArrayInputStream rawIn = new ByteArrayInputStream(raw);
+        DataInputStream records = new DataInputStream(rawIn);
+        for (int i = 0; i < count; i++) {
+            chunk.add(TaskSnapshotFormat.readTask(records, formatVersion));
+        }
+        if (rawIn.available() != 0) {
+            throw new IOException("Chunk after " + tasks + " tasks has trailing bytes");
+        }
+        tasks += count;
+        return chunk;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        in.close();
+    }
+}
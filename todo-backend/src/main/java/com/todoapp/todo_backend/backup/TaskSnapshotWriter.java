@@ -0,0 +1,101 @@
+package com.todoapp.todo_backend.backup;
+
+import com.todoapp.todo_backend.model.Task;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+import java.util.zip.Deflater;
+
+/**
+ * Streams tasks into the snapshot format of {@link TaskSnapshotFormat}, compressing a chunk whenever
+ * it reaches the configured number of tasks. {@link #finish()} writes the trailer; a file without one
+ * is rejected on restore.
+ */
+public class TaskSnapshotWriter implements Closeable {
+
+    private final DataOutputStream out;
+    private final int tasksPerChunk;
+    private final ByteArrayOutputStream chunkBytes = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream chunk = new DataOutputStream(chunkBytes);
+    // speed over ratio: task records are mostly short text and compress well either way
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private byte[] compressed = new byte[64 * 1024];
+    private int chunkTasks;
+    private long tasks;
+    private int chunks;
+
+    public TaskSnapshotWriter(OutputStream out, int tasksPerChunk, long createdAtMillis) throws IOException {
+        if (tasksPerChunk < 1) {
+            throw new IllegalArgumentException("tasksPerChunk must be positive");
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 64 * 1024));
+        this.tasksPerChunk = tasksPerChunk;
+        this.out.write(TaskSnapshotFormat.MAGIC);
+        this.out.writeInt(TaskSnapshotFormat.VERSION);
+        this.out.writeLong(createdAtMillis);
+    }
+
+    public void write(Task task) throws IOException {
+        TaskSnapshotFormat.writeTask(chunk, task);
+        if (++chunkTasks == tasksPerChunk) {
+            writeChunk();
+        }
+    }
+
+    public void finish() throws IOException {
+        writeChunk();
+        out.writeInt(0);
+        out.writeLong(tasks);
+        out.flush();
+    }
+
+    public long getTasks() {
+        return tasks;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        out.close();
+    }
+
+    private void writeChunk() throws IOException {
+        if (chunkTasks == 0) {
+            return;
+        }
+        byte[] raw = chunkBytes.toByteArray();
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(compressed, 0, length);
+
+        out.writeInt(chunkTasks);
+        out.writeInt(raw.length);
+        out.writeInt(length);
+        out.writeLong(crc.getValue());
+        out.write(compressed, 0, length);
+
+        tasks += chunkTasks;
+        chunks++;
+        chunkTasks = 0;
+        chunkBytes.reset();
+    }
+}
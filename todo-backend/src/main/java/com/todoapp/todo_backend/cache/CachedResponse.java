@@ -0,0 +1,7 @@
+package com.todoapp.todo_backend.cache;
+
+/**
+ * A fully encoded JSON body and its gzip variant. The arrays are never modified after construction.
+ */
+public record CachedResponse(long version, byte[] body, byte[] gzipBody) {
+}
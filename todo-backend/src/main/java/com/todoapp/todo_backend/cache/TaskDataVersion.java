@@ -0,0 +1,38 @@
+package com.todoapp.todo_backend.cache;
+
+import com.todoapp.todo_backend.event.TaskChangedEvent;
+import com.todoapp.todo_backend.event.TaskInvalidatedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the task data as seen by this node. It is advanced after a write commits,
+ * here or, once polled from the change log, on another replica, so anything read under an older
+ * version can be recognised as possibly stale.
+ */
+@Component
+public class TaskDataVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    public long advance() {
+        return version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        advance();
+    }
+
+    @EventListener
+    public void onTaskInvalidated(TaskInvalidatedEvent event) {
+        advance();
+    }
+}
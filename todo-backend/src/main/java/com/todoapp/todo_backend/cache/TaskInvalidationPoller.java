@@ -0,0 +1,141 @@
+package com.todoapp.todo_backend.cache;
+
+import com.todoapp.todo_backend.event.TaskInvalidatedEvent;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.model.TaskChange;
+import com.todoapp.todo_backend.model.TaskChangeLogState;
+import com.todoapp.todo_backend.repository.TaskChangeLogStateRepository;
+import com.todoapp.todo_backend.repository.TaskChangeRepository;
+import com.todoapp.todo_backend.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the in-memory views of this replica coherent with writes made by the others. Every write
+ * already leaves a numbered entry in the shared change log within its own transaction, so the log
+ * doubles as the invalidation table: the poller reads the entries after the last sequence number it
+ * applied and publishes them as {@link TaskInvalidatedEvent}s. Cached reads call {@link #ensureFresh()}
+ * so that nothing older than the configured staleness is served even if polling falls behind.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${todo.cache.invalidation.enabled:true} and '${todo.storage:jpa}' == 'jpa'")
+public class TaskInvalidationPoller {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final TaskChangeRepository taskChangeRepository;
+    private final TaskChangeLogStateRepository stateRepository;
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long maxStalenessNanos;
+
+    // guarded by this; negative until the starting point is known
+    private long appliedSeq = -1;
+    // System.nanoTime() at the start of the last successful check
+    private volatile long verifiedAt;
+
+    public TaskInvalidationPoller(TaskChangeRepository taskChangeRepository,
+                                  TaskChangeLogStateRepository stateRepository,
+                                  TaskRepository taskRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${todo.cache.invalidation.max-staleness-ms:1500}") long maxStalenessMillis) {
+        this.taskChangeRepository = taskChangeRepository;
+        this.stateRepository = stateRepository;
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(maxStalenessMillis);
+    }
+
+    // before ApplicationReadyEvent, when the in-memory views load: whatever commits in between is
+    // both loaded and polled, which is harmless as applying an invalidation twice changes nothing
+    @EventListener(ContextRefreshedEvent.class)
+    public synchronized void start() {
+        long startedAt = System.nanoTime();
+        appliedSeq = readState().getLastSeq();
+        verifiedAt = startedAt;
+    }
+
+    @Scheduled(fixedDelayString = "${todo.cache.invalidation.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            catchUp();
+        } catch (RuntimeException e) {
+            log.warn("Polling the task change log for invalidations failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Version check for reads: catches up with the change log first if the last check is older than
+     * the allowed staleness.
+     */
+    public void ensureFresh() {
+        if (System.nanoTime() - verifiedAt > maxStalenessNanos) {
+            catchUpIfStale();
+        }
+    }
+
+    public synchronized long getAppliedSeq() {
+        return appliedSeq;
+    }
+
+    // readers queued behind one catch-up are served by it instead of each reading the log again
+    private synchronized void catchUpIfStale() {
+        if (System.nanoTime() - verifiedAt > maxStalenessNanos) {
+            catchUp();
+        }
+    }
+
+    public synchronized void catchUp() {
+        if (appliedSeq < 0) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        TaskChangeLogState state = readState();
+        if (state.getLastSeq() > appliedSeq) {
+            if (state.getPurgedThrough() > appliedSeq) {
+                // entries this node has not seen may have been compacted away
+                log.warn("Task change log was purged past sequence {}, rebuilding in-memory views", appliedSeq);
+                eventPublisher.publishEvent(new TaskInvalidatedEvent(Set.of(), List.of(), state.getLastSeq(), true));
+                appliedSeq = state.getLastSeq();
+            } else {
+                applyEntriesAfter(appliedSeq);
+            }
+        }
+        verifiedAt = startedAt;
+    }
+
+    private void applyEntriesAfter(long seq) {
+        List<TaskChange> page;
+        do {
+            page = taskChangeRepository.findBySeqGreaterThanOrderBySeqAsc(seq, PageRequest.of(0, PAGE_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+            Set<Long> taskIds = new LinkedHashSet<>();
+            for (TaskChange change : page) {
+                taskIds.add(change.getTaskId());
+            }
+            List<Task> tasks = taskRepository.findAllById(taskIds);
+            seq = page.get(page.size() - 1).getSeq();
+            eventPublisher.publishEvent(new TaskInvalidatedEvent(taskIds, tasks, seq, false));
+            appliedSeq = seq;
+        } while (page.size() == PAGE_SIZE);
+    }
+
+    private TaskChangeLogState readState() {
+        return stateRepository.findById(TaskChangeLogState.ID).orElseGet(TaskChangeLogState::new);
+    }
+}
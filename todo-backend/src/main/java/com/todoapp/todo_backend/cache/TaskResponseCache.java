@@ -0,0 +1,91 @@
+package com.todoapp.todo_backend.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoded response bodies of read endpoints, keyed by query shape and valid for one
+ * {@link TaskDataVersion}. A hit hands out the stored bytes as they are, so a hot read does no
+ * query, no serialization and no compression.
+ */
+@Component
+public class TaskResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final TaskDataVersion dataVersion;
+    // null when cross-replica invalidation is off
+    private final TaskInvalidationPoller invalidationPoller;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, CachedResponse> entries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TaskResponseCache(ObjectMapper objectMapper,
+                             TaskDataVersion dataVersion,
+                             ObjectProvider<TaskInvalidationPoller> invalidationPoller,
+                             @Value("${todo.cache.response.enabled:true}") boolean enabled,
+                             @Value("${todo.cache.response.max-entries:128}") int maxEntries) {
+        this(objectMapper, dataVersion, invalidationPoller.getIfAvailable(), enabled, maxEntries);
+    }
+
+    public TaskResponseCache(ObjectMapper objectMapper, TaskDataVersion dataVersion, boolean enabled, int maxEntries) {
+        this(objectMapper, dataVersion, (TaskInvalidationPoller) null, enabled, maxEntries);
+    }
+
+    private TaskResponseCache(ObjectMapper objectMapper, TaskDataVersion dataVersion, TaskInvalidationPoller invalidationPoller,
+                              boolean enabled, int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.dataVersion = dataVersion;
+        this.invalidationPoller = invalidationPoller;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+    }
+
+    public CachedResponse getOrLoad(String key, Supplier<?> loader) {
+        if (enabled && invalidationPoller != null) {
+            // writes of other replicas only reach the version through the poller
+            invalidationPoller.ensureFresh();
+        }
+        long version = dataVersion.current();
+        CachedResponse cached = entries.get(key);
+        if (enabled && cached != null && cached.version() == version) {
+            return cached;
+        }
+        CachedResponse loaded = encode(version, loader.get());
+        // a write that committed while loading may not be reflected in the body, so it is not kept
+        if (enabled && dataVersion.current() == version && (entries.size() < maxEntries || cached != null)) {
+            entries.merge(key, loaded, (old, fresh) -> fresh.version() >= old.version() ? fresh : old);
+        }
+        return loaded;
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private CachedResponse encode(long version, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new CachedResponse(version, json, compressed.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.todoapp.todo_backend.coalescing;
+
+import com.todoapp.todo_backend.exception.CoalescedReadTimeoutException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Merges concurrent single-id lookups into batch lookups, DataLoader style. A lookup starts a batch
+ * right away while fewer than {@code maxRunningBatches} are running; otherwise it waits together with
+ * the lookups arriving meanwhile, and they go out as one batch as soon as a running one finishes. The
+ * batching window is thus the duration of a running query: an idle system adds no latency, a busy one
+ * turns N round trips into about one.
+ */
+public class BatchLoader<V> {
+
+    private final Function<List<Long>, Map<Long, V>> batchFunction;
+    private final Executor executor;
+    private final int maxBatchSize;
+    private final int maxRunningBatches;
+
+    // guarded by this
+    private Map<Long, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private int running;
+    private long lookups;
+    private long batches;
+
+    public BatchLoader(Function<List<Long>, Map<Long, V>> batchFunction, Executor executor,
+                       int maxBatchSize, int maxRunningBatches) {
+        if (maxBatchSize < 1 || maxRunningBatches < 1) {
+            throw new IllegalArgumentException("maxBatchSize and maxRunningBatches must be positive");
+        }
+        this.batchFunction = batchFunction;
+        this.executor = executor;
+        this.maxBatchSize = maxBatchSize;
+        this.maxRunningBatches = maxRunningBatches;
+    }
+
+    /**
+     * @return the value for the id, or null if the batch function found none
+     */
+    public V load(long id) {
+        try {
+            return enqueue(id).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Like {@link #load(long)}, waiting at most the given time for the batch to come back.
+     *
+     * @throws CoalescedReadTimeoutException when that wait times out
+     */
+    public V load(long id, long timeoutMillis) {
+        CompletableFuture<V> future = enqueue(id);
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new CoalescedReadTimeoutException("Timed out after " + timeoutMillis + " ms waiting for the batch loading " + id);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CoalescedReadTimeoutException("Interrupted while waiting for the batch loading " + id);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    private CompletableFuture<V> enqueue(long id) {
+        CompletableFuture<V> future;
+        Map<Long, CompletableFuture<V>> batch = null;
+        synchronized (this) {
+            lookups++;
+            future = pending.computeIfAbsent(id, key -> new CompletableFuture<>());
+            if (running < maxRunningBatches || pending.size() >= maxBatchSize) {
+                batch = takePending();
+            }
+        }
+        if (batch != null) {
+            run(batch);
+        }
+        return future;
+    }
+
+    public synchronized long getLookups() {
+        return lookups;
+    }
+
+    public synchronized long getBatches() {
+        return batches;
+    }
+
+    // caller holds the lock
+    private Map<Long, CompletableFuture<V>> takePending() {
+        Map<Long, CompletableFuture<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        running++;
+        batches++;
+        return batch;
+    }
+
+    private void run(Map<Long, CompletableFuture<V>> batch) {
+        try {
+            Map<Long, V> found = batchFunction.apply(new ArrayList<>(batch.keySet()));
+            batch.forEach((id, future) -> future.complete(found.get(id)));
+        } catch (RuntimeException | Error e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        } finally {
+            Map<Long, CompletableFuture<V>> next = null;
+            synchronized (this) {
+                running--;
+                if (!pending.isEmpty() && running < maxRunningBatches) {
+                    next = takePending();
+                }
+            }
+            if (next != null) {
+                dispatch(next);
+            }
+        }
+    }
+
+    // the waiting callers are blocked, so a pool thread runs the batch they are waiting for
+    private void dispatch(Map<Long, CompletableFuture<V>> batch) {
+        try {
+            executor.execute(() -> run(batch));
+        } catch (RejectedExecutionException e) {
+            run(batch);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.todoapp.todo_backend.controller;
+
+import com.todoapp.todo_backend.dto.responseDto.ReadinessDTO;
+import com.todoapp.todo_backend.warmup.TaskWarmup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/health")
+public class HealthController {
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Autowired
+    private TaskWarmup taskWarmup;
+
+    // 503 until warm-up is over and the application is ready, so a load balancer holds traffic back
+    @GetMapping("/readiness")
+    public ResponseEntity<ReadinessDTO> getReadiness() {
+        ReadinessState state = applicationAvailability.getReadinessState();
+        ReadinessDTO readiness = new ReadinessDTO(state.name(), taskWarmup.getPhase().name(),
+                taskWarmup.getCompletedIterations(), taskWarmup.getIterations(), taskWarmup.getPoolConnections(),
+                taskWarmup.getElapsedMillis(), taskWarmup.getError());
+        HttpStatus status = state == ReadinessState.ACCEPTING_TRAFFIC ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return new ResponseEntity<>(readiness, status);
+    }
+}
@@ -0,0 +1,62 @@
+package com.todoapp.todo_backend.controller;
+
+import com.todoapp.todo_backend.deadline.DeadlineInterceptor;
+import com.todoapp.todo_backend.dto.responseDto.CoalescingStatsDTO;
+import com.todoapp.todo_backend.dto.responseDto.DeadlineStatsDTO;
+import com.todoapp.todo_backend.dto.responseDto.LatencyReportDTO;
+import com.todoapp.todo_backend.dto.responseDto.OutboxStatsDTO;
+import com.todoapp.todo_backend.model.RollupGranularity;
+import com.todoapp.todo_backend.service.CompletionLatencyService;
+import com.todoapp.todo_backend.service.OutboxService;
+import com.todoapp.todo_backend.service.ReadCoalescingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/reports")
+@CrossOrigin(origins = "http://localhost:3000")
+public class ReportController {
+
+    @Autowired
+    private CompletionLatencyService completionLatencyService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ReadCoalescingService readCoalescingService;
+
+    @Autowired
+    private DeadlineInterceptor deadlineInterceptor;
+
+    @GetMapping("/completion-latency")
+    public ResponseEntity<LatencyReportDTO> getCompletionLatency(
+            @RequestParam(defaultValue = "HOUR") RollupGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(completionLatencyService.getReport(granularity, from, to), HttpStatus.OK);
+    }
+
+    @GetMapping("/outbox")
+    public ResponseEntity<OutboxStatsDTO> getOutboxStats() {
+        return new ResponseEntity<>(outboxService.getStats(), HttpStatus.OK);
+    }
+
+    @GetMapping("/coalescing")
+    public ResponseEntity<CoalescingStatsDTO> getCoalescingStats() {
+        return new ResponseEntity<>(readCoalescingService.getStats(), HttpStatus.OK);
+    }
+
+    @GetMapping("/deadlines")
+    public ResponseEntity<DeadlineStatsDTO> getDeadlineStats() {
+        return new ResponseEntity<>(deadlineInterceptor.getStats(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,39 @@
+package com.todoapp.todo_backend.controller;
+
+import com.todoapp.todo_backend.dto.responseDto.TaskBackupDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskRestoreDTO;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.service.TaskBackupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@ConditionalOnProperty(name = "todo.storage", havingValue = "jpa", matchIfMissing = true)
+@RequestMapping("/api/admin/backups")
+@CrossOrigin(origins = "http://localhost:3000")
+public class TaskBackupController {
+
+    @Autowired
+    private TaskBackupService taskBackupService;
+
+    @PostMapping
+    public ResponseEntity<TaskBackupDTO> createBackup() {
+        try {
+            return new ResponseEntity<>(taskBackupService.createBackup(), HttpStatus.CREATED);
+        } catch (CustomException e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PostMapping("/{fileName}/restore")
+    public ResponseEntity<TaskRestoreDTO> restore(@PathVariable String fileName) {
+        try {
+            return new ResponseEntity<>(taskBackupService.restore(fileName), HttpStatus.OK);
+        } catch (CustomException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.todoapp.todo_backend.controller;
+
+import com.todoapp.todo_backend.dto.responseDto.TaskChangesDTO;
+import com.todoapp.todo_backend.exception.ChangeLogExpiredException;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.service.TaskChangeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "http://localhost:3000")
+public class TaskChangeController {
+
+    @Autowired
+    private TaskChangeService taskChangeService;
+
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesDTO> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                     @RequestParam(defaultValue = "500") int limit) {
+        try {
+            return new ResponseEntity<>(taskChangeService.getChangesSince(since, limit), HttpStatus.OK);
+        } catch (ChangeLogExpiredException e) {
+            // the client has to refetch everything, then continue from latestSeq
+            TaskChangesDTO resync = new TaskChangesDTO(e.getLatestSeq(), false, List.of(), List.of(), e.getLatestSeq());
+            return new ResponseEntity<>(resync, HttpStatus.GONE);
+        } catch (CustomException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -1,44 +1,128 @@
 package com.todoapp.todo_backend.controller;
 
+import com.todoapp.todo_backend.cache.CachedResponse;
+import com.todoapp.todo_backend.cache.TaskResponseCache;
+import com.todoapp.todo_backend.deadline.RequestTimeout;
+import com.todoapp.todo_backend.dto.requestDto.TaskMoveRequestDTO;
+import com.todoapp.todo_backend.dto.requestDto.TaskPatchRequestDTO;
 import com.todoapp.todo_backend.dto.requestDto.TaskRequestDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskBatchDTO;
 import com.todoapp.todo_backend.exception.CustomException;
 import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.query.TaskField;
 
+import com.todoapp.todo_backend.service.IdempotencyService;
 import com.todoapp.todo_backend.service.TaskService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tasks")
 @CrossOrigin(origins = "http://localhost:3000")
 public class TaskController {
 
+    public static final int MAX_IDS = 1000;
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskResponseCache taskResponseCache;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @PostMapping("/create")
-    public  ResponseEntity<Task> createTask(@RequestBody TaskRequestDTO taskRequestDTO){
+    public  ResponseEntity<Task> createTask(@RequestBody TaskRequestDTO taskRequestDTO,
+                                            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey){
         try {
-            Task createdTask = taskService.createTask(taskRequestDTO);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdTask);
+            if (idempotencyKey == null) {
+                Task createdTask = taskService.createTask(taskRequestDTO);
+                return ResponseEntity.status(HttpStatus.CREATED).body(createdTask);
+            }
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            IdempotencyService.IdempotentResult<Task> result = idempotencyService.execute("create-task", idempotencyKey,
+                    taskRequestDTO, Task.class, () -> taskService.createTask(taskRequestDTO));
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                    .body(result.value());
         }catch (CustomException e){
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
     @GetMapping("/gettask")
-    public ResponseEntity<List<Task>> getAllTask(){
-        List<Task> tasks = taskService.getIncompleteTasks(5);
-        return new ResponseEntity<>(tasks, HttpStatus.OK);
+    @RequestTimeout("${todo.deadline.read-ms:2000}")
+    public ResponseEntity<byte[]> getAllTask(@RequestParam(required = false) String fields,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
+        Set<TaskField> taskFields;
+        try {
+            taskFields = TaskField.parse(fields);
+        } catch (CustomException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        CachedResponse response = taskResponseCache.getOrLoad("gettask:5:" + TaskField.key(taskFields), () -> taskFields == null
+                ? taskService.getIncompleteTasks(5)
+                : taskService.getIncompleteTasks(5, taskFields));
+        return encodedResponse(response, acceptEncoding);
+    }
+
+    @GetMapping("/ordered")
+    @RequestTimeout("${todo.deadline.read-ms:2000}")
+    public ResponseEntity<byte[]> getOrderedTasks(@RequestParam(defaultValue = "20") int limit,
+                                                  @RequestParam(required = false) String fields,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
+        int pageSize = Math.max(1, Math.min(limit, 100));
+        Set<TaskField> taskFields;
+        try {
+            taskFields = TaskField.parse(fields);
+        } catch (CustomException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        CachedResponse response = taskResponseCache.getOrLoad("ordered:" + pageSize + ":" + TaskField.key(taskFields), () -> taskFields == null
+                ? taskService.getIncompleteTasksByRank(pageSize)
+                : taskService.getIncompleteTasksByRank(pageSize, taskFields));
+        return encodedResponse(response, acceptEncoding);
     }
 
+    // "tags" is TaskTagController's; with both, neither mapping is more specific than the other
+    @GetMapping(params = {"ids", "!tags"})
+    @RequestTimeout("${todo.deadline.read-ms:2000}")
+    public ResponseEntity<TaskBatchDTO> getTasksByIds(@RequestParam String ids) {
+        List<Long> taskIds = parseIds(ids);
+        if (taskIds == null) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(taskService.getTasksByIds(taskIds), HttpStatus.OK);
+    }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable Long id) throws CustomException {
+    @RequestTimeout("${todo.deadline.read-ms:2000}")
+    public ResponseEntity<?> getTaskById(@PathVariable Long id, @RequestParam(required = false) String fields) throws CustomException {
+        Set<TaskField> taskFields;
+        try {
+            taskFields = TaskField.parse(fields);
+        } catch (CustomException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        if (taskFields != null) {
+            return taskService.getTaskById(id, taskFields)
+                    .map(task -> new ResponseEntity<>(task, HttpStatus.OK))
+                    .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        }
         return taskService.getTaskById(id)
                 .map(task -> new ResponseEntity<>(task, HttpStatus.OK))
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
@@ -63,4 +147,57 @@ public class TaskController {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
+
+    @PutMapping("/{id}/move")
+    public ResponseEntity<Task> moveTask(@PathVariable Long id, @RequestBody TaskMoveRequestDTO taskMoveRequestDTO) {
+        try {
+            Task movedTask = taskService.moveTask(id, taskMoveRequestDTO);
+            return new ResponseEntity<>(movedTask, HttpStatus.OK);
+        } catch (CustomException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // a stale version is answered with 409 by AppControllerAdviser
+    @PatchMapping("/{id}")
+    public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody TaskPatchRequestDTO taskPatchRequestDTO) {
+        try {
+            taskPatchRequestDTO.validate();
+        } catch (CustomException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            Task updatedTask = taskService.updateTask(id, taskPatchRequestDTO);
+            return new ResponseEntity<>(updatedTask, HttpStatus.OK);
+        } catch (CustomException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    // comma-separated ids, null if malformed, empty or too many
+    private static List<Long> parseIds(String ids) {
+        List<Long> taskIds = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            if (id.isBlank()) {
+                continue;
+            }
+            try {
+                taskIds.add(Long.parseLong(id.trim()));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return taskIds.isEmpty() || taskIds.size() > MAX_IDS ? null : taskIds;
+    }
+
+    // pre-encoded bodies are written as-is, gzip is picked from the precomputed variants
+    private static ResponseEntity<byte[]> encodedResponse(CachedResponse response, String acceptEncoding) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.gzipBody());
+        }
+        return builder.body(response.body());
+    }
 }
@@ -0,0 +1,54 @@
+package com.todoapp.todo_backend.controller;
+
+import com.todoapp.todo_backend.deadline.RequestTimeout;
+import com.todoapp.todo_backend.dto.requestDto.TaskParentRequestDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskCompletionDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskTreeDTO;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.service.TaskHierarchyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// the hierarchy lives in tables next to the tasks, so it is only there with the jpa backend
+@RestController
+@ConditionalOnProperty(name = "todo.storage", havingValue = "jpa", matchIfMissing = true)
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "http://localhost:3000")
+public class TaskHierarchyController {
+
+    @Autowired
+    private TaskHierarchyService taskHierarchyService;
+
+    @GetMapping("/{id}/subtree")
+    @RequestTimeout("${todo.deadline.read-ms:2000}")
+    public ResponseEntity<TaskTreeDTO> getSubtree(@PathVariable Long id) {
+        try {
+            return new ResponseEntity<>(taskHierarchyService.getSubtree(id), HttpStatus.OK);
+        } catch (CustomException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @GetMapping("/{id}/completion")
+    @RequestTimeout("${todo.deadline.read-ms:2000}")
+    public ResponseEntity<TaskCompletionDTO> getCompletion(@PathVariable Long id) {
+        try {
+            return new ResponseEntity<>(taskHierarchyService.getCompletion(id), HttpStatus.OK);
+        } catch (CustomException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @PutMapping("/{id}/parent")
+    public ResponseEntity<Task> moveSubtree(@PathVariable Long id, @RequestBody TaskParentRequestDTO taskParentRequestDTO) {
+        try {
+            return new ResponseEntity<>(taskHierarchyService.moveSubtree(id, taskParentRequestDTO.getParentId()), HttpStatus.OK);
+        } catch (CustomException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.todoapp.todo_backend.controller;
+
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.service.TaskQueryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// ad-hoc queries are compiled to SQL on the task table, so they are only there with the jpa backend
+@RestController
+@ConditionalOnProperty(name = "todo.storage", havingValue = "jpa", matchIfMissing = true)
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "http://localhost:3000")
+public class TaskQueryController {
+
+    @Autowired
+    private TaskQueryService taskQueryService;
+
+    // e.g. /api/tasks/query?filter=completed:false;createdAt>=2025-01-01&sort=createdAt,desc&limit=50
+    @GetMapping("/query")
+    public ResponseEntity<List<Task>> queryTasks(@RequestParam(required = false) String filter,
+                                                 @RequestParam(required = false) String sort,
+                                                 @RequestParam(required = false) Integer limit) {
+        try {
+            return new ResponseEntity<>(taskQueryService.query(filter, sort, limit), HttpStatus.OK);
+        } catch (CustomException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.todoapp.todo_backend.controller;
+
+import com.todoapp.todo_backend.dto.responseDto.TaskPageDTO;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.service.TaskTagService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+// tag filters are answered from TaskTagIndex, which is built from the task table, so only with the jpa backend
+@RestController
+@ConditionalOnProperty(name = "todo.storage", havingValue = "jpa", matchIfMissing = true)
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = "X-Total-Count")
+public class TaskTagController {
+
+    @Autowired
+    private TaskTagService taskTagService;
+
+    @GetMapping(params = {"tags", "!ids"})
+    public ResponseEntity<List<Task>> getTasksByTags(@RequestParam List<String> tags,
+                                                     @RequestParam(required = false) Boolean completed,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > 100) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            TaskPageDTO result = taskTagService.findByTags(tags, completed, page, size);
+            return ResponseEntity.ok()
+                    .header("X-Total-Count", String.valueOf(result.getTotal()))
+                    .body(result.getTasks());
+        } catch (CustomException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    @GetMapping("/tags")
+    public ResponseEntity<Map<String, Long>> getTagCounts() {
+        try {
+            return new ResponseEntity<>(taskTagService.getTagCounts(), HttpStatus.OK);
+        } catch (CustomException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+}
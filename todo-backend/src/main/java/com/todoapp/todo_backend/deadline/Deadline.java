@@ -0,0 +1,94 @@
+package com.todoapp.todo_backend.deadline;
+
+import com.todoapp.todo_backend.exception.DeadlineExceededException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The point in time by which the request being handled on this thread has to be answered. Set by
+ * {@link DeadlineInterceptor}; code without one (scheduled jobs, pool threads) runs unbounded.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long budgetMillis;
+    private final long expiresAtNanos;
+
+    private Deadline(long budgetMillis) {
+        this.budgetMillis = budgetMillis;
+        this.expiresAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+
+    public static Deadline start(long budgetMillis) {
+        Deadline deadline = new Deadline(budgetMillis);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    /**
+     * @return the deadline of this thread's request, or null if it has none
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs work shared by several requests under a deadline of its own instead of this thread's, so one
+     * request's short budget cannot fail it for all of them. This thread's deadline is back afterwards.
+     */
+    public static <T> T runWith(long budgetMillis, Supplier<T> work) {
+        Deadline own = CURRENT.get();
+        start(budgetMillis);
+        try {
+            return work.get();
+        } finally {
+            if (own == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(own);
+            }
+        }
+    }
+
+    /**
+     * Skips the work that follows when this thread's request is already past its deadline.
+     */
+    public static void check(String work) {
+        Deadline deadline = CURRENT.get();
+        if (deadline != null && deadline.isExpired()) {
+            throw new DeadlineExceededException("Deadline of " + deadline.budgetMillis + " ms passed before " + work);
+        }
+    }
+
+    /**
+     * @return the timeout, shortened to the time left until this thread's deadline
+     */
+    public static long capMillis(long timeoutMillis) {
+        Deadline deadline = CURRENT.get();
+        return deadline == null ? timeoutMillis
+                : Math.max(0, Math.min(timeoutMillis, TimeUnit.NANOSECONDS.toMillis(deadline.remainingNanos())));
+    }
+
+    public static boolean isCurrentExpired() {
+        Deadline deadline = CURRENT.get();
+        return deadline != null && deadline.isExpired();
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    public long remainingNanos() {
+        return expiresAtNanos - System.nanoTime();
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+}
@@ -0,0 +1,94 @@
+package com.todoapp.todo_backend.deadline;
+
+import com.todoapp.todo_backend.dto.responseDto.DeadlineStatsDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.EmbeddedValueResolverAware;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringValueResolver;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Starts the {@link Deadline} of each request: the client's {@value #TIMEOUT_HEADER} header (capped at
+ * the configured maximum) or else the endpoint's {@link RequestTimeout}, falling back to the default.
+ */
+@Component
+public class DeadlineInterceptor implements HandlerInterceptor, EmbeddedValueResolverAware {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final long defaultMillis;
+    private final long maxMillis;
+    private final Map<Method, Long> endpointMillis = new ConcurrentHashMap<>();
+    private StringValueResolver valueResolver;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder exceeded = new LongAdder();
+    private final LongAdder clientTimeouts = new LongAdder();
+
+    public DeadlineInterceptor(@Value("${todo.deadline.default-ms:5000}") long defaultMillis,
+                               @Value("${todo.deadline.max-ms:30000}") long maxMillis) {
+        this.defaultMillis = defaultMillis;
+        this.maxMillis = maxMillis;
+    }
+
+    @Override
+    public void setEmbeddedValueResolver(StringValueResolver resolver) {
+        this.valueResolver = resolver;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String header = request.getHeader(TIMEOUT_HEADER);
+        long budgetMillis;
+        if (header != null) {
+            try {
+                budgetMillis = Math.min(Long.parseLong(header.trim()), maxMillis);
+            } catch (NumberFormatException e) {
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
+                return false;
+            }
+            if (budgetMillis <= 0) {
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
+                return false;
+            }
+            clientTimeouts.increment();
+        } else {
+            budgetMillis = handler instanceof HandlerMethod handlerMethod ? endpointMillis(handlerMethod) : defaultMillis;
+        }
+        requests.increment();
+        Deadline.start(budgetMillis);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (Deadline.isCurrentExpired() || response.getStatus() == HttpStatus.GATEWAY_TIMEOUT.value()) {
+            exceeded.increment();
+        }
+        Deadline.clear();
+    }
+
+    public DeadlineStatsDTO getStats() {
+        return new DeadlineStatsDTO(requests.sum(), exceeded.sum(), clientTimeouts.sum(), defaultMillis, maxMillis);
+    }
+
+    private long endpointMillis(HandlerMethod handlerMethod) {
+        return endpointMillis.computeIfAbsent(handlerMethod.getMethod(), method -> {
+            RequestTimeout timeout = handlerMethod.getMethodAnnotation(RequestTimeout.class);
+            if (timeout == null) {
+                return defaultMillis;
+            }
+            String value = valueResolver != null ? valueResolver.resolveStringValue(timeout.value()) : timeout.value();
+            return Math.min(Long.parseLong(value.trim()), maxMillis);
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package com.todoapp.todo_backend.deadline;
+
+import com.todoapp.todo_backend.jdbc.InterceptingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Registers a {@link DeadlineStatementInterceptor} on the application's DataSource.
+ */
+@Component
+public class DeadlinePostProcessor implements BeanPostProcessor {
+
+    private final boolean queryTimeouts;
+
+    public DeadlinePostProcessor(@Value("${todo.deadline.query-timeouts:true}") boolean queryTimeouts) {
+        this.queryTimeouts = queryTimeouts;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && queryTimeouts) {
+            return InterceptingDataSource.register(dataSource, new DeadlineStatementInterceptor());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,73 @@
+package com.todoapp.todo_backend.deadline;
+
+import com.todoapp.todo_backend.exception.DeadlineExceededException;
+import com.todoapp.todo_backend.jdbc.StatementInterceptor;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gives every statement executed on behalf of a request with a {@link Deadline} a JDBC query timeout of
+ * the time left, so the driver cancels queries the client no longer waits for, and refuses to execute
+ * once the deadline has passed. Statements created by threads without a deadline are the driver's own.
+ */
+public class DeadlineStatementInterceptor implements StatementInterceptor {
+
+    @Override
+    public Hooks open(Statement statement, String sql) {
+        return Deadline.current() == null ? null : new DeadlineHooks(statement);
+    }
+
+    private static final class DeadlineHooks implements Hooks {
+
+        private final Statement statement;
+        // the caller's own timeout, which the deadline may shorten but not outlast; set once one is applied
+        private boolean applied;
+        private int callerTimeout;
+
+        DeadlineHooks(Statement statement) {
+            this.statement = statement;
+        }
+
+        @Override
+        public void before(String method, Object[] args) throws SQLException {
+            if (method.startsWith("execute")) {
+                applyDeadline();
+            } else if (method.equals("setQueryTimeout")) {
+                callerTimeout = (Integer) args[0];
+            } else if (method.equals("close")) {
+                // pooled or driver-cached statements (cachePrepStmts) are handed out again after close
+                restoreCallerTimeout();
+            }
+        }
+
+        private void applyDeadline() throws SQLException {
+            Deadline deadline = Deadline.current();
+            if (deadline == null) {
+                restoreCallerTimeout();
+                return;
+            }
+            long remainingNanos = deadline.remainingNanos();
+            if (remainingNanos <= 0) {
+                throw new DeadlineExceededException("Deadline of " + deadline.getBudgetMillis() + " ms passed before a query");
+            }
+            if (!applied) {
+                callerTimeout = statement.getQueryTimeout();
+                applied = true;
+            }
+            // JDBC timeouts are whole seconds; round up so a query is never cut short of its budget
+            int seconds = (int) Math.min(Integer.MAX_VALUE,
+                    (remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            // set on every execution, also when longer than the last one: a reused statement keeps its timeout
+            statement.setQueryTimeout(callerTimeout == 0 ? seconds : Math.min(seconds, callerTimeout));
+        }
+
+        private void restoreCallerTimeout() throws SQLException {
+            if (applied && !statement.isClosed()) {
+                statement.setQueryTimeout(callerTimeout);
+                applied = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.todoapp.todo_backend.deadline;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class DeadlineWebConfig implements WebMvcConfigurer {
+
+    private final DeadlineInterceptor deadlineInterceptor;
+
+    public DeadlineWebConfig(DeadlineInterceptor deadlineInterceptor) {
+        this.deadlineInterceptor = deadlineInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // after rate limiting, so rejected requests never start a deadline
+        registry.addInterceptor(deadlineInterceptor).addPathPatterns("/api/tasks/**").order(1);
+    }
+}
@@ -0,0 +1,18 @@
+package com.todoapp.todo_backend.deadline;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Deadline of an endpoint when the client sends no timeout of its own, in milliseconds. Placeholders
+ * such as {@code "${todo.deadline.read-ms:2000}"} are resolved.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestTimeout {
+
+    String value();
+
+}
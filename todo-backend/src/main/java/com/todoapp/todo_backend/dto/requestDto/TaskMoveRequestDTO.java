@@ -0,0 +1,17 @@
+package com.todoapp.todo_backend.dto.requestDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskMoveRequestDTO {
+
+    // task that should end up directly above the moved one, null to move to the top
+    private Long previousId;
+    // task that should end up directly below the moved one, null to move to the bottom
+    private Long nextId;
+
+}
@@ -0,0 +1,15 @@
+package com.todoapp.todo_backend.dto.requestDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskParentRequestDTO {
+
+    // null makes the task a root
+    private Long parentId;
+
+}
@@ -0,0 +1,78 @@
+package com.todoapp.todo_backend.dto.requestDto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.query.TaskField;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+public class TaskPatchRequestDTO {
+
+    // only the properties present in the request are changed; an explicit null clears description or dueAt
+    private String title;
+    private String description;
+    private LocalDateTime dueAt;
+    // version the change was based on, as last read by the client
+    private Long version;
+
+    // filled by the setters, which Jackson calls for every property in the body, null or not
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Set<TaskField> provided = EnumSet.noneOf(TaskField.class);
+
+    // for callers in code: null arguments count as absent
+    public TaskPatchRequestDTO(String title, String description, LocalDateTime dueAt, Long version) {
+        if (title != null) {
+            setTitle(title);
+        }
+        if (description != null) {
+            setDescription(description);
+        }
+        if (dueAt != null) {
+            setDueAt(dueAt);
+        }
+        this.version = version;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+        provided.add(TaskField.TITLE);
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        provided.add(TaskField.DESCRIPTION);
+    }
+
+    public void setDueAt(LocalDateTime dueAt) {
+        this.dueAt = dueAt;
+        provided.add(TaskField.DUE_AT);
+    }
+
+    public boolean isProvided(TaskField field) {
+        return provided.contains(field);
+    }
+
+    /**
+     * The checks every backend and the controller apply before a patch: a version to compare against,
+     * and no empty title, since the title cannot be cleared.
+     */
+    public void validate() throws CustomException {
+        if (isProvided(TaskField.TITLE) && (title == null || title.trim().isEmpty())) {
+            throw new CustomException("Task title cannot be empty");
+        }
+        if (version == null) {
+            throw new CustomException("Task version is required");
+        }
+    }
+}
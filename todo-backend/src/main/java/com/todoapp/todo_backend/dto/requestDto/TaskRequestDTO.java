@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
@@ -13,5 +14,8 @@ public class TaskRequestDTO {
 
     private String title;
     private String description;
+    private LocalDateTime dueAt;
+    private Set<String> tags;
+    private Long parentId;
 
 }
@@ -0,0 +1,22 @@
+package com.todoapp.todo_backend.dto.responseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoalescingStatsDTO {
+
+    // identical concurrent reads, since this node started
+    private Long reads;
+    private Long executions;
+    private Long timeouts;
+    // share of reads answered by another read's execution
+    private Double deduplicationRatio;
+    // single-task lookups and the multi-gets they were merged into
+    private Long lookups;
+    private Long lookupBatches;
+
+}
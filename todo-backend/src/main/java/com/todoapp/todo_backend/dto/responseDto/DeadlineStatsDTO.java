@@ -0,0 +1,19 @@
+package com.todoapp.todo_backend.dto.responseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadlineStatsDTO {
+
+    private long requests;
+    // answered after their deadline passed, most of them with 504
+    private long exceeded;
+    private long clientTimeouts;
+    private long defaultMillis;
+    private long maxMillis;
+
+}
@@ -0,0 +1,21 @@
+package com.todoapp.todo_backend.dto.responseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencyBucketDTO {
+
+    private LocalDateTime bucketStart;
+    private Long count;
+    private Long p50Millis;
+    private Long p90Millis;
+    private Long p99Millis;
+    private Long maxMillis;
+
+}
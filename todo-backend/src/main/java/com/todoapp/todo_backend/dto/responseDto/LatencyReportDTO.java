@@ -0,0 +1,27 @@
+package com.todoapp.todo_backend.dto.responseDto;
+
+import com.todoapp.todo_backend.model.RollupGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencyReportDTO {
+
+    private RollupGranularity granularity;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Long count;
+    private Long p50Millis;
+    private Long p90Millis;
+    private Long p95Millis;
+    private Long p99Millis;
+    private Long maxMillis;
+    private List<LatencyBucketDTO> buckets;
+
+}
@@ -0,0 +1,26 @@
+package com.todoapp.todo_backend.dto.responseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxStatsDTO {
+
+    private Long pending;
+    // age of the oldest undelivered event, 0 when there is none
+    private Long oldestPendingMillis;
+    // events the relay gave up on after todo.outbox.max-attempts failures
+    private Long deadLettered;
+    // counted by this node since it started
+    private Long delivered;
+    private Long failedBatches;
+    // time from the task write to the sink accepting the event
+    private Long lagP50Millis;
+    private Long lagP90Millis;
+    private Long lagP99Millis;
+    private Long lagMaxMillis;
+
+}
@@ -0,0 +1,23 @@
+package com.todoapp.todo_backend.dto.responseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadinessDTO {
+
+    // ACCEPTING_TRAFFIC or REFUSING_TRAFFIC
+    private String state;
+    private String warmupPhase;
+    private Integer warmupIterations;
+    private Integer warmupTargetIterations;
+    private Integer poolConnections;
+    // total once warm-up is done, so far while it runs
+    private Long warmupMillis;
+    // why warm-up stopped early, null if it did not
+    private String warmupError;
+
+}
@@ -0,0 +1,22 @@
+package com.todoapp.todo_backend.dto.responseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBackupDTO {
+
+    // name within the backup directory, to pass to the restore endpoint
+    private String fileName;
+    private LocalDateTime createdAt;
+    private long tasks;
+    private int chunks;
+    private long bytes;
+    private long elapsedMillis;
+
+}
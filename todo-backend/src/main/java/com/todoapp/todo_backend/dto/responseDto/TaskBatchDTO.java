@@ -0,0 +1,19 @@
+package com.todoapp.todo_backend.dto.responseDto;
+
+import com.todoapp.todo_backend.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchDTO {
+
+    // in the order the ids were requested, duplicates once
+    private List<Task> tasks;
+    private List<Long> missingIds;
+
+}
@@ -0,0 +1,22 @@
+package com.todoapp.todo_backend.dto.responseDto;
+
+import com.todoapp.todo_backend.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangesDTO {
+
+    // pass as "since" on the next call
+    private Long nextSince;
+    private Boolean hasMore;
+    private List<Task> upserts;
+    private List<Long> deletes;
+    private Long latestSeq;
+
+}
@@ -0,0 +1,18 @@
+package com.todoapp.todo_backend.dto.responseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCompletionDTO {
+
+    private Long taskId;
+    // the task and everything below it
+    private long tasks;
+    private long completed;
+    private double completionRatio;
+
+}
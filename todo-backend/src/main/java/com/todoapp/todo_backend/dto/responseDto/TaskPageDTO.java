@@ -0,0 +1,18 @@
+package com.todoapp.todo_backend.dto.responseDto;
+
+import com.todoapp.todo_backend.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPageDTO {
+
+    private List<Task> tasks;
+    private Long total;
+
+}
@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
@@ -16,5 +17,8 @@ public class TaskResponseDTO {
     private String description;
     private Boolean completed;
     private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime dueAt;
+    private Set<String> tags;
 
 }
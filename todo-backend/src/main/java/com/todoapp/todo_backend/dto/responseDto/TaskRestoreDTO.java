@@ -0,0 +1,20 @@
+package com.todoapp.todo_backend.dto.responseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskRestoreDTO {
+
+    private String fileName;
+    // when the snapshot was taken
+    private LocalDateTime createdAt;
+    private long tasks;
+    private long elapsedMillis;
+
+}
@@ -0,0 +1,23 @@
+package com.todoapp.todo_backend.dto.responseDto;
+
+import com.todoapp.todo_backend.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTreeDTO {
+
+    private Task task;
+    // below the root of the requested subtree
+    private int depth;
+    private long subtreeTasks;
+    private long subtreeCompleted;
+    private List<TaskTreeDTO> children = new ArrayList<>();
+
+}
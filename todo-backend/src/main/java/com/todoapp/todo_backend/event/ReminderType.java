@@ -0,0 +1,6 @@
+package com.todoapp.todo_backend.event;
+
+public enum ReminderType {
+    DUE_SOON,
+    OVERDUE
+}
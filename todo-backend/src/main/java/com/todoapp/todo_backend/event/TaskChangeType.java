@@ -0,0 +1,9 @@
+package com.todoapp.todo_backend.event;
+
+public enum TaskChangeType {
+    CREATED,
+    COMPLETED,
+    MOVED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,23 @@
+package com.todoapp.todo_backend.event;
+
+import com.todoapp.todo_backend.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by the task service for every write. Listeners that must share the write's
+ * transaction use {@code @EventListener}; in-memory views use {@code @TransactionalEventListener}
+ * so they only see committed changes.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class TaskChangedEvent {
+
+    private final TaskChangeType type;
+    private final Long taskId;
+    // null for deletes
+    private final Task task;
+
+}
@@ -0,0 +1,29 @@
+package com.todoapp.todo_backend.event;
+
+import com.todoapp.todo_backend.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+
+/**
+ * Published when the shared change log shows task writes this node has not polled yet, which includes
+ * writes made by other replicas. In-memory views drop what they hold for the listed ids and take the
+ * reloaded tasks instead; with {@code all} set the log no longer reaches back far enough and they
+ * have to be rebuilt.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class TaskInvalidatedEvent {
+
+    private final Collection<Long> taskIds;
+    // current state of those of the ids that still exist
+    @ToString.Exclude
+    private final Collection<Task> tasks;
+    // change log sequence number this invalidation is complete up to
+    private final long seq;
+    private final boolean all;
+
+}
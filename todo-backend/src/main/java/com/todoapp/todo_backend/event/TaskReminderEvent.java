@@ -0,0 +1,19 @@
+package com.todoapp.todo_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class TaskReminderEvent {
+
+    private final ReminderType type;
+    private final Long taskId;
+    private final String title;
+    private final LocalDateTime dueAt;
+
+}
@@ -1,8 +1,12 @@
 package com.todoapp.todo_backend.exception;
 
 import com.todoapp.todo_backend.dto.responseDto.ErrorResponseDto;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.crossstore.ChangeSetPersister;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -26,4 +30,61 @@ public class AppControllerAdviser {
         return errorResponseDto;
     }
 
+    @ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler({CoalescedReadTimeoutException.class})
+    public ErrorResponseDto coalescedReadTimeout(Exception e) {
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto();
+        errorResponseDto.setMessage(e.getMessage());
+        return errorResponseDto;
+    }
+
+    @ResponseStatus(value = HttpStatus.GATEWAY_TIMEOUT)
+    @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class})
+    public ErrorResponseDto deadlineExceeded(Exception e) {
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto();
+        errorResponseDto.setMessage(e.getMessage());
+        return errorResponseDto;
+    }
+
+    @ResponseStatus(value = HttpStatus.UNPROCESSABLE_ENTITY)
+    @ExceptionHandler({IdempotencyKeyReusedException.class})
+    public ErrorResponseDto idempotencyKeyReused(Exception e) {
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto();
+        errorResponseDto.setMessage(e.getMessage());
+        return errorResponseDto;
+    }
+
+    @ResponseStatus(value = HttpStatus.CONFLICT)
+    @ExceptionHandler({IdempotencyKeyInProgressException.class})
+    public ErrorResponseDto idempotencyKeyInProgress(Exception e) {
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto();
+        errorResponseDto.setMessage(e.getMessage());
+        return errorResponseDto;
+    }
+
+    @ResponseStatus(value = HttpStatus.CONFLICT)
+    @ExceptionHandler({BackupInProgressException.class})
+    public ErrorResponseDto backupInProgress(Exception e) {
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto();
+        errorResponseDto.setMessage(e.getMessage());
+        return errorResponseDto;
+    }
+
+    @ResponseStatus(value = HttpStatus.CONFLICT)
+    @ExceptionHandler({TaskVersionConflictException.class, OptimisticLockingFailureException.class})
+    public ErrorResponseDto versionConflict(Exception e) {
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto();
+        errorResponseDto.setMessage(e.getMessage());
+        return errorResponseDto;
+    }
+
+    @ExceptionHandler({RateLimitExceededException.class})
+    public ResponseEntity<ErrorResponseDto> rateLimitExceeded(RateLimitExceededException e) {
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto();
+        errorResponseDto.setMessage(e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(errorResponseDto);
+    }
+
 }
@@ -0,0 +1,11 @@
+package com.todoapp.todo_backend.exception;
+
+/**
+ * A backup or restore was requested while another one is still running on this node.
+ */
+public class BackupInProgressException extends RuntimeException {
+
+    public BackupInProgressException(String message) {
+        super(message);
+    }
+}
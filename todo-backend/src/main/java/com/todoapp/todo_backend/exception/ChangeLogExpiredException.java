@@ -0,0 +1,15 @@
+package com.todoapp.todo_backend.exception;
+
+public class ChangeLogExpiredException extends CustomException {
+
+    private final long latestSeq;
+
+    public ChangeLogExpiredException(String message, long latestSeq) {
+        super(message);
+        this.latestSeq = latestSeq;
+    }
+
+    public long getLatestSeq() {
+        return latestSeq;
+    }
+}
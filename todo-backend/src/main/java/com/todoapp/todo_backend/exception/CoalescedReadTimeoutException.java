@@ -0,0 +1,11 @@
+package com.todoapp.todo_backend.exception;
+
+/**
+ * A read waited longer than allowed for an identical read already running on its behalf.
+ */
+public class CoalescedReadTimeoutException extends RuntimeException {
+
+    public CoalescedReadTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.todoapp.todo_backend.exception;
+
+/**
+ * The request's deadline passed before its work was done; the rest of it is skipped.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        // thrown on the abandon path of overloaded requests, so no stack trace is captured
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,11 @@
+package com.todoapp.todo_backend.exception;
+
+/**
+ * The original request of an Idempotency-Key did not finish while a retry of it waited.
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+}
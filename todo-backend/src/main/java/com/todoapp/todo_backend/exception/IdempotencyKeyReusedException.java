@@ -0,0 +1,11 @@
+package com.todoapp.todo_backend.exception;
+
+/**
+ * An Idempotency-Key came back with a different request than the one it was first used for.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
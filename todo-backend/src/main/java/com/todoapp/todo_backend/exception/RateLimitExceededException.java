@@ -0,0 +1,18 @@
+package com.todoapp.todo_backend.exception;
+
+import lombok.Getter;
+
+/**
+ * A client used up its request budget; it may retry after the given number of seconds.
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds) {
+        // thrown for every rejected request of a flooding client, so no stack trace is captured
+        super("Rate limit exceeded, retry after " + retryAfterSeconds + " s", null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,11 @@
+package com.todoapp.todo_backend.exception;
+
+/**
+ * A conditional update named a version of the task that is no longer the current one.
+ */
+public class TaskVersionConflictException extends RuntimeException {
+
+    public TaskVersionConflictException(String message) {
+        super(message);
+    }
+}
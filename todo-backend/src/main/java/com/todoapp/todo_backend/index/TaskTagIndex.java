@@ -0,0 +1,221 @@
+package com.todoapp.todo_backend.index;
+
+import com.todoapp.todo_backend.event.TaskChangeType;
+import com.todoapp.todo_backend.event.TaskChangedEvent;
+import com.todoapp.todo_backend.event.TaskInvalidatedEvent;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory compressed bitmaps of task ids per tag and per completion state, so tag filters are
+ * answered with bitmap intersections and only the requested page of tasks is loaded from the database.
+ * Built once at startup and kept current from committed task change events and from invalidations
+ * polled from the shared change log. Loaded from the task table, so only there with the jpa backend.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "todo.storage", havingValue = "jpa", matchIfMissing = true)
+public class TaskTagIndex {
+
+    private static final int LOAD_PAGE_SIZE = 5000;
+
+    private final TaskRepository taskRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // guarded by lock
+    private Map<String, CompressedBitmap> byTag = new HashMap<>();
+    private CompressedBitmap all = new CompressedBitmap();
+    private CompressedBitmap completed = new CompressedBitmap();
+    private boolean ready;
+    // events that arrive while a rebuild is running, replayed onto the rebuilt index
+    private List<TaskChangedEvent> changesDuringRebuild;
+
+    public TaskTagIndex(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<String, CompressedBitmap> newByTag = new HashMap<>();
+        CompressedBitmap newAll = new CompressedBitmap();
+        CompressedBitmap newCompleted = new CompressedBitmap();
+        long afterId = 0;
+        List<Object[]> page;
+        do {
+            page = taskRepository.findIdAndCompletedAfter(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+            for (Object[] row : page) {
+                long id = (Long) row[0];
+                newAll.add(id);
+                if (Boolean.TRUE.equals(row[1])) {
+                    newCompleted.add(id);
+                }
+            }
+            long lastId = (Long) page.get(page.size() - 1)[0];
+            for (Object[] row : taskRepository.findTagsInIdRange(afterId, lastId)) {
+                newByTag.computeIfAbsent((String) row[1], tag -> new CompressedBitmap()).add((Long) row[0]);
+            }
+            afterId = lastId;
+        } while (page.size() == LOAD_PAGE_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            byTag = newByTag;
+            all = newAll;
+            completed = newCompleted;
+            changesDuringRebuild.forEach(this::apply);
+            changesDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed tags of {} tasks ({} distinct tags)", newAll.cardinality(), newByTag.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+            // every change is idempotent, so applying one the rebuild already saw is harmless
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onTaskInvalidated(TaskInvalidatedEvent event) {
+        if (event.isAll()) {
+            rebuild();
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            // replayed as a delete and a re-create, so a rebuild that is running picks the change up as well
+            for (Long id : event.getTaskIds()) {
+                onTaskChanged(new TaskChangedEvent(TaskChangeType.DELETED, id, null));
+            }
+            for (Task task : event.getTasks()) {
+                onTaskChanged(new TaskChangedEvent(TaskChangeType.CREATED, task.getId(), task));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids having every required tag and none of the excluded ones, optionally restricted by completion state.
+     */
+    public CompressedBitmap query(Collection<String> requiredTags, Collection<String> excludedTags, Boolean completedFilter) {
+        lock.readLock().lock();
+        try {
+            List<CompressedBitmap> required = new ArrayList<>();
+            for (String tag : requiredTags) {
+                CompressedBitmap bitmap = byTag.get(tag);
+                if (bitmap == null) {
+                    return new CompressedBitmap();
+                }
+                required.add(bitmap);
+            }
+            // intersect the smallest sets first so intermediate results stay small
+            required.sort(Comparator.comparingLong(CompressedBitmap::cardinality));
+            CompressedBitmap result = required.isEmpty() ? all.copy() : required.get(0).copy();
+            for (int i = 1; i < required.size() && !result.isEmpty(); i++) {
+                result = result.and(required.get(i));
+            }
+            if (Boolean.TRUE.equals(completedFilter)) {
+                result = result.and(completed);
+            } else if (Boolean.FALSE.equals(completedFilter)) {
+                result = result.andNot(completed);
+            }
+            for (String tag : excludedTags) {
+                CompressedBitmap bitmap = byTag.get(tag);
+                if (bitmap != null && !result.isEmpty()) {
+                    result = result.andNot(bitmap);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Long> tagCounts() {
+        lock.readLock().lock();
+        try {
+            Map<String, Long> counts = new TreeMap<>();
+            byTag.forEach((tag, bitmap) -> counts.put(tag, bitmap.cardinality()));
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(TaskChangedEvent event) {
+        long id = event.getTaskId();
+        switch (event.getType()) {
+            case CREATED -> add(event.getTask());
+            case COMPLETED -> completed.add(id);
+            case DELETED -> remove(id);
+            default -> {
+            }
+        }
+    }
+
+    private void add(Task task) {
+        all.add(task.getId());
+        if (Boolean.TRUE.equals(task.getCompleted())) {
+            completed.add(task.getId());
+        }
+        for (String tag : task.getTags()) {
+            byTag.computeIfAbsent(tag, t -> new CompressedBitmap()).add(task.getId());
+        }
+    }
+
+    private void remove(long id) {
+        all.remove(id);
+        completed.remove(id);
+        byTag.values().removeIf(bitmap -> {
+            bitmap.remove(id);
+            return bitmap.isEmpty();
+        });
+    }
+}
@@ -0,0 +1,137 @@
+package com.todoapp.todo_backend.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * DataSource whose statements run the {@link StatementInterceptor}s registered on it around every call.
+ * Connections and statements are JDK proxies around the pooled ones, one layer however many interceptors
+ * there are; a statement no interceptor has hooks for is returned unwrapped.
+ */
+public class InterceptingDataSource extends DelegatingDataSource {
+
+    private final List<StatementInterceptor> interceptors = new CopyOnWriteArrayList<>();
+
+    public InterceptingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    /**
+     * Registers the interceptor on the DataSource, wrapping it first unless it already intercepts.
+     * Interceptors run their before hooks in registration order and their after hooks in reverse.
+     */
+    public static InterceptingDataSource register(DataSource dataSource, StatementInterceptor interceptor) {
+        InterceptingDataSource intercepting = dataSource instanceof InterceptingDataSource existing
+                ? existing : new InterceptingDataSource(dataSource);
+        intercepting.interceptors.add(interceptor);
+        return intercepting;
+    }
+
+    public List<StatementInterceptor> getInterceptors() {
+        return List.copyOf(interceptors);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InterceptingDataSource.invoke(connection, method, args);
+            Class<?> type = switch (method.getName()) {
+                case "prepareStatement" -> PreparedStatement.class;
+                case "prepareCall" -> CallableStatement.class;
+                case "createStatement" -> Statement.class;
+                default -> null;
+            };
+            if (type == null) {
+                return result;
+            }
+            Statement statement = (Statement) result;
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            List<StatementInterceptor.Hooks> hooks = new ArrayList<>(interceptors.size());
+            for (StatementInterceptor interceptor : interceptors) {
+                StatementInterceptor.Hooks opened = interceptor.open(statement, sql);
+                if (opened != null) {
+                    hooks.add(opened);
+                }
+            }
+            if (hooks.isEmpty()) {
+                return result;
+            }
+            return Proxy.newProxyInstance(InterceptingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler(statement, hooks.toArray(StatementInterceptor.Hooks[]::new)));
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final StatementInterceptor.Hooks[] hooks;
+
+        StatementHandler(Statement statement, StatementInterceptor.Hooks[] hooks) {
+            this.statement = statement;
+            this.hooks = hooks;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            int entered = 0;
+            Throwable failure = null;
+            try {
+                for (; entered < hooks.length; entered++) {
+                    hooks[entered].before(name, args);
+                }
+                return InterceptingDataSource.invoke(statement, method, args);
+            } catch (Throwable e) {
+                failure = e;
+                throw e;
+            } finally {
+                for (int i = entered - 1; i >= 0; i--) {
+                    hooks[i].after(name, args, failure);
+                }
+            }
+        }
+    }
+}
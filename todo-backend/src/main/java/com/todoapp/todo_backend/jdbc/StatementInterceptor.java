@@ -0,0 +1,35 @@
+package com.todoapp.todo_backend.jdbc;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Behaviour an {@link InterceptingDataSource} adds to the statements of its connections.
+ */
+public interface StatementInterceptor {
+
+    /**
+     * Called for every statement a connection creates, with its SQL if it is prepared.
+     *
+     * @return the hooks for the calls on this statement, or null to leave it alone
+     */
+    Hooks open(Statement statement, String sql);
+
+    /**
+     * Per-statement hooks, called with the name of each method invoked on the statement.
+     */
+    interface Hooks {
+
+        /**
+         * Before the call reaches the driver; throwing fails the call without making it.
+         */
+        default void before(String method, Object[] args) throws SQLException {
+        }
+
+        /**
+         * After a call whose {@link #before} returned normally, with what the call threw, if anything.
+         */
+        default void after(String method, Object[] args, Throwable failure) {
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.todoapp.todo_backend.logging;
+
+import com.todoapp.todo_backend.jdbc.InterceptingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Registers a {@link SqlLoggingStatementInterceptor} on the application's DataSource unless statement logging is off.
+ */
+@Component
+public class SqlLoggingPostProcessor implements BeanPostProcessor {
+
+    private final SqlStatementLog statementLog;
+
+    public SqlLoggingPostProcessor(@Value("${todo.sql.log.slow-threshold-ms:200}") long slowThresholdMillis,
+                                   @Value("${todo.sql.log.sample-rate:0.001}") double sampleRate) {
+        this.statementLog = new SqlStatementLog(slowThresholdMillis, sampleRate);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && statementLog.isEnabled()) {
+            return InterceptingDataSource.register(dataSource, new SqlLoggingStatementInterceptor(statementLog));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,79 @@
+package com.todoapp.todo_backend.logging;
+
+import com.todoapp.todo_backend.jdbc.StatementInterceptor;
+
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Times the executions of every statement and hands them with the bound parameter values to a
+ * {@link SqlStatementLog}; apart from remembering parameter values it leaves the statement's calls alone.
+ */
+public class SqlLoggingStatementInterceptor implements StatementInterceptor {
+
+    private final SqlStatementLog statementLog;
+
+    public SqlLoggingStatementInterceptor(SqlStatementLog statementLog) {
+        this.statementLog = statementLog;
+    }
+
+    @Override
+    public Hooks open(Statement statement, String sql) {
+        return new LoggingHooks(sql);
+    }
+
+    private final class LoggingHooks implements Hooks {
+
+        // of a prepared statement; plain statements pass theirs to execute
+        private final String sql;
+        private Object[] parameters = new Object[8];
+        private int parameterCount;
+        private int batchSize;
+        private long executionStart;
+
+        LoggingHooks(String sql) {
+            this.sql = sql;
+        }
+
+        @Override
+        public void before(String method, Object[] args) {
+            if (method.startsWith("execute")) {
+                executionStart = System.nanoTime();
+            } else if (method.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                setParameter(index, method.equals("setNull") ? null : args[1]);
+            } else if (method.equals("clearParameters")) {
+                Arrays.fill(parameters, null);
+                parameterCount = 0;
+            } else if (method.equals("addBatch")) {
+                batchSize++;
+            } else if (method.equals("clearBatch")) {
+                batchSize = 0;
+            }
+        }
+
+        @Override
+        public void after(String method, Object[] args, Throwable failure) {
+            if (!method.startsWith("execute")) {
+                return;
+            }
+            long elapsed = System.nanoTime() - executionStart;
+            String executed = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            boolean batch = method.contains("Batch");
+            statementLog.record(executed, parameters, parameterCount, batch ? batchSize : 0, elapsed, failure);
+            if (batch) {
+                batchSize = 0;
+            }
+        }
+
+        private void setParameter(int index, Object value) {
+            if (index <= 0) {
+                return;
+            }
+            if (index >= parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index + 1, parameters.length * 2));
+            }
+            parameters[index] = value;
+            parameterCount = Math.max(parameterCount, index);
+        }
+    }
+}
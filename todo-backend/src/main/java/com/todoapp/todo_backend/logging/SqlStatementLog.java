@@ -0,0 +1,77 @@
+package com.todoapp.todo_backend.logging;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides which executed statements get logged: every one slower than the threshold (WARN) and a random
+ * sample of the others (INFO), each with its bind values and elapsed time.
+ */
+@Slf4j
+public class SqlStatementLog {
+
+    private static final int MAX_VALUE_LENGTH = 100;
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+
+    /**
+     * @param slowThresholdMillis negative to log no statement for being slow
+     * @param sampleRate          share of the other statements that is logged, 0 for none
+     */
+    public SqlStatementLog(long slowThresholdMillis, double sampleRate) {
+        this.slowThresholdNanos = slowThresholdMillis < 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.sampleRate = sampleRate;
+    }
+
+    public boolean isEnabled() {
+        return slowThresholdNanos != Long.MAX_VALUE || sampleRate > 0;
+    }
+
+    public void record(String sql, Object[] parameters, int parameterCount, int batchSize, long elapsedNanos, Throwable failure) {
+        boolean slow = elapsedNanos >= slowThresholdNanos;
+        if (!slow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        String message = String.format("%s %.1f ms%s: %s %s%s",
+                slow ? "Slow SQL" : "Sampled SQL",
+                elapsedNanos / 1e6,
+                batchSize > 0 ? " (batch of " + batchSize + ")" : "",
+                sql,
+                formatParameters(parameters, parameterCount),
+                failure == null ? "" : " failed: " + failure.getMessage());
+        if (slow) {
+            log.warn(message);
+        } else {
+            log.info(message);
+        }
+    }
+
+    static String formatParameters(Object[] parameters, int parameterCount) {
+        StringBuilder formatted = new StringBuilder("[");
+        // JDBC parameter indexes start at 1
+        for (int i = 1; i <= parameterCount; i++) {
+            if (i > 1) {
+                formatted.append(", ");
+            }
+            formatted.append(formatValue(parameters[i]));
+        }
+        return formatted.append(']').toString();
+    }
+
+    private static String formatValue(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        if (value instanceof CharSequence || value instanceof java.time.temporal.Temporal || value instanceof java.util.Date) {
+            String text = value.toString();
+            return "'" + (text.length() > MAX_VALUE_LENGTH ? text.substring(0, MAX_VALUE_LENGTH) + "..." : text) + "'";
+        }
+        return String.valueOf(value);
+    }
+}
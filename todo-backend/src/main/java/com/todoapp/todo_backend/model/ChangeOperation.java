@@ -0,0 +1,6 @@
+package com.todoapp.todo_backend.model;
+
+public enum ChangeOperation {
+    UPSERT,
+    DELETE
+}
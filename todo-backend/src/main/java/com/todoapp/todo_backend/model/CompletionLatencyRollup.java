@@ -0,0 +1,37 @@
+package com.todoapp.todo_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "completion_latency_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_latency_rollup_bucket", columnNames = {"granularity", "bucket_start"}))
+@Data
+@NoArgsConstructor
+public class CompletionLatencyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "sample_count", nullable = false)
+    private Long sampleCount = 0L;
+
+    // LatencyHistogram in its sparse binary encoding, values in milliseconds
+    @Column(nullable = false, columnDefinition = "BLOB")
+    private byte[] histogram;
+
+    @Version
+    private Long version;
+
+}
@@ -0,0 +1,58 @@
+package com.todoapp.todo_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response of a request sent with an Idempotency-Key, replayed to retries of it until it expires.
+ * Inserted in the transaction of the request's own write, so a committed row always has its response.
+ */
+@Entity
+@Table(name = "task_idempotency", indexes = @Index(name = "idx_task_idempotency_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+public class IdempotencyRecord implements Persistable<String> {
+
+    // scope and client key, e.g. "create-task:3f1c..."
+    @Id
+    @Column(name = "idempotency_key", length = 300)
+    private String idempotencyKey;
+
+    // SHA-256 of the request body, to tell a retry from a different request reusing the key
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // the key is assigned, so a claim must insert, and fail on a key another node committed, not merge into it
+    @Transient
+    private boolean newEntry = true;
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntry;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntry = false;
+    }
+
+}
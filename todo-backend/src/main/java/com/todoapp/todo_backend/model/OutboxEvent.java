@@ -0,0 +1,54 @@
+package com.todoapp.todo_backend.model;
+
+import com.todoapp.todo_backend.event.TaskChangeType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Task lifecycle event waiting to be delivered downstream. Inserted in the transaction of the task
+ * write and deleted by the relay once the sink accepted it, or kept as a dead letter once it has
+ * failed too often.
+ */
+@Entity
+@Table(name = "task_outbox", indexes = @Index(name = "idx_task_outbox_available_at", columnList = "available_at, id"))
+@Data
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // varchar, not a native MySQL enum, so adding a TaskChangeType needs no schema change
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "event_type", nullable = false, length = 16)
+    private TaskChangeType eventType;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    // the task as JSON, null for deletes
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // pushed back after a failed delivery
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    // set when the relay gave up on the event; it stays for inspection and is no longer claimed
+    @Column(name = "dead_lettered_at")
+    private LocalDateTime deadLetteredAt;
+
+}
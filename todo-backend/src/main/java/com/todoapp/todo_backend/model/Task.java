@@ -1,17 +1,25 @@
 package com.todoapp.todo_backend.model;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
-@Table(name = "task")
+@Table(name = "task", indexes = {
+        @Index(name = "idx_task_due_at", columnList = "due_at"),
+        @Index(name = "idx_task_completed_rank", columnList = "completed, sort_rank"),
+        @Index(name = "idx_task_completed_created_at", columnList = "completed, created_at"),
+        @Index(name = "idx_task_created_at", columnList = "created_at"),
+        @Index(name = "idx_task_title", columnList = "title"),
+        @Index(name = "idx_task_parent_id", columnList = "parent_id")
+})
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class Task {
 
     @Id
@@ -30,9 +38,45 @@ public class Task {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "due_at")
+    private LocalDateTime dueAt;
+
+    public static final int MAX_RANK_LENGTH = 64;
+
+    // manual ordering, see FractionalRank; "rank" is reserved in MySQL 8
+    @Column(name = "sort_rank", length = MAX_RANK_LENGTH)
+    private String rank;
+
+    // null for top-level tasks; the full hierarchy is in task_closure
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "task_tag", joinColumns = @JoinColumn(name = "task_id"),
+            indexes = @Index(name = "idx_task_tag_tag", columnList = "tag"))
+    @Column(name = "tag", length = 50, nullable = false)
+    @BatchSize(size = 100)
+    private Set<String> tags = new HashSet<>();
+
+    // optimistic lock; the default covers rows that existed before the column
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    public Task(Long id, String title, String description, Boolean completed, LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.completed = completed;
+        this.createdAt = createdAt;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
     }
 
-}
\ No newline at end of file
+}
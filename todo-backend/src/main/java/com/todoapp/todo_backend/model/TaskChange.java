@@ -0,0 +1,60 @@
+package com.todoapp.todo_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "task_change", indexes = {
+        @Index(name = "idx_task_change_task_seq", columnList = "task_id, seq"),
+        @Index(name = "idx_task_change_changed_at", columnList = "changed_at")
+})
+@Data
+@NoArgsConstructor
+public class TaskChange implements Persistable<Long> {
+
+    // assigned from TaskChangeLogState, not generated, so sequence order is commit order
+    @Id
+    private Long seq;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private ChangeOperation operation;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    // the id is assigned, so tell Spring Data that a new entry needs an insert and not a merge
+    @Transient
+    private boolean newEntry = true;
+
+    public TaskChange(Long seq, Long taskId, ChangeOperation operation, LocalDateTime changedAt) {
+        this.seq = seq;
+        this.taskId = taskId;
+        this.operation = operation;
+        this.changedAt = changedAt;
+    }
+
+    @Override
+    public Long getId() {
+        return seq;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntry;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntry = false;
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.todoapp.todo_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single row holding the change log's sequence counter. Writers lock it for the rest of their
+ * transaction, which makes sequence numbers become visible strictly in order.
+ */
+@Entity
+@Table(name = "task_change_log_state")
+@Data
+@NoArgsConstructor
+public class TaskChangeLogState {
+
+    public static final Long ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "last_seq", nullable = false)
+    private Long lastSeq = 0L;
+
+    // entries up to here may have been removed, clients behind it have to resync
+    @Column(name = "purged_through", nullable = false)
+    private Long purgedThrough = 0L;
+
+}
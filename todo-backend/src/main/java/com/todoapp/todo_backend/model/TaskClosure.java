@@ -0,0 +1,25 @@
+package com.todoapp.todo_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per ancestor/descendant pair of the task hierarchy, including each task paired with itself
+ * at depth 0. A subtree is the primary key range of its root's ancestor_id.
+ */
+@Entity
+@Table(name = "task_closure", indexes = @Index(name = "idx_task_closure_descendant", columnList = "descendant_id, depth"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskClosure {
+
+    @EmbeddedId
+    private TaskClosureId id;
+
+    @Column(nullable = false)
+    private Integer depth;
+
+}
@@ -0,0 +1,33 @@
+package com.todoapp.todo_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of tasks and of completed tasks in the subtree of a task, the task itself included. Kept
+ * current by adding deltas along the ancestor path of every change.
+ */
+@Entity
+@Table(name = "task_subtree_count")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSubtreeCount {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(nullable = false)
+    private Long tasks;
+
+    @Column(nullable = false)
+    private Long completed;
+
+    // whether the task itself is counted in completed
+    @Column(name = "self_completed", nullable = false)
+    private Boolean selfCompleted;
+
+}
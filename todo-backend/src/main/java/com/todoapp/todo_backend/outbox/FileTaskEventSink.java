@@ -0,0 +1,56 @@
+package com.todoapp.todo_backend.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.todo_backend.model.OutboxEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events as JSON lines to a local file and forces each batch to disk before it counts as
+ * delivered.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileTaskEventSink implements TaskEventSink {
+
+    private final ObjectMapper objectMapper;
+    private final FileChannel channel;
+
+    public FileTaskEventSink(ObjectMapper objectMapper,
+                             @Value("${todo.outbox.file:./data/task-events.jsonl}") String file) throws IOException {
+        this.objectMapper = objectMapper;
+        Path path = Path.of(file).toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void deliver(List<OutboxEvent> events) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream(events.size() * 256);
+        for (OutboxEvent event : events) {
+            lines.write(objectMapper.writeValueAsBytes(TaskEventEnvelope.of(event)));
+            lines.write('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,33 @@
+package com.todoapp.todo_backend.outbox;
+
+import com.todoapp.todo_backend.model.OutboxEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps delivered events in memory, for tests and local runs.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.outbox.sink", havingValue = "memory")
+public class InMemoryTaskEventSink implements TaskEventSink {
+
+    private final List<TaskEventEnvelope> delivered = new ArrayList<>();
+
+    @Override
+    public synchronized void deliver(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            delivered.add(TaskEventEnvelope.of(event));
+        }
+    }
+
+    public synchronized List<TaskEventEnvelope> getDelivered() {
+        return new ArrayList<>(delivered);
+    }
+
+    public synchronized void clear() {
+        delivered.clear();
+    }
+}
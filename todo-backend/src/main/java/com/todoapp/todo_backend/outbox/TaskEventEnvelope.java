@@ -0,0 +1,19 @@
+package com.todoapp.todo_backend.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.todoapp.todo_backend.event.TaskChangeType;
+import com.todoapp.todo_backend.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Wire format of a delivered event; the task is embedded as the JSON stored in the outbox.
+ */
+public record TaskEventEnvelope(Long id, TaskChangeType type, Long taskId, LocalDateTime occurredAt,
+                                @JsonRawValue String task) {
+
+    public static TaskEventEnvelope of(OutboxEvent event) {
+        return new TaskEventEnvelope(event.getId(), event.getEventType(), event.getTaskId(), event.getCreatedAt(),
+                event.getPayload());
+    }
+}
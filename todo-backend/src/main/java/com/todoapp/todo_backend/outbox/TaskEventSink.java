@@ -0,0 +1,17 @@
+package com.todoapp.todo_backend.outbox;
+
+import com.todoapp.todo_backend.model.OutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Downstream destination of task lifecycle events, selected with {@code todo.outbox.sink}.
+ * A batch either is accepted as a whole or throws; it is then retried, so delivery is at least
+ * once and receivers deduplicate by event id.
+ */
+public interface TaskEventSink {
+
+    void deliver(List<OutboxEvent> events) throws IOException;
+
+}
@@ -0,0 +1,73 @@
+package com.todoapp.todo_backend.query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Task fields that can be filtered or sorted on. Every field here is backed by an index
+ * (completed + created_at, title, primary key) so no accepted query needs a full table scan.
+ */
+public enum QueryField {
+
+    ID("id", EnumSet.noneOf(QueryOperator.class), true),
+    COMPLETED("completed", EnumSet.of(QueryOperator.EQ), false),
+    CREATED_AT("createdAt", EnumSet.of(QueryOperator.EQ, QueryOperator.GT, QueryOperator.GTE, QueryOperator.LT, QueryOperator.LTE), true),
+    TITLE("title", EnumSet.of(QueryOperator.PREFIX), true);
+
+    private final String property;
+    private final Set<QueryOperator> operators;
+    private final boolean sortable;
+
+    QueryField(String property, Set<QueryOperator> operators, boolean sortable) {
+        this.property = property;
+        this.operators = operators;
+        this.sortable = sortable;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public boolean supports(QueryOperator operator) {
+        return operators.contains(operator);
+    }
+
+    public boolean isSortable() {
+        return sortable;
+    }
+
+    public static QueryField fromProperty(String property) {
+        for (QueryField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Converts the raw filter value to the type bound to the query; null if it does not parse.
+     */
+    Object parseValue(String raw) {
+        switch (this) {
+            case COMPLETED:
+                if ("true".equalsIgnoreCase(raw) || "false".equalsIgnoreCase(raw)) {
+                    return Boolean.valueOf(raw);
+                }
+                return null;
+            case CREATED_AT:
+                try {
+                    return raw.length() == 10 ? LocalDate.parse(raw).atStartOfDay() : LocalDateTime.parse(raw);
+                } catch (DateTimeParseException e) {
+                    return null;
+                }
+            case TITLE:
+                return raw;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.todoapp.todo_backend.query;
+
+public enum QueryOperator {
+
+    // longest symbols first so ">=" is not read as ">"
+    GTE(">=", ">="),
+    LTE("<=", "<="),
+    EQ(":", "="),
+    GT(">", ">"),
+    LT("<", "<"),
+    PREFIX("^", "like");
+
+    private final String symbol;
+    private final String jpql;
+
+    QueryOperator(String symbol, String jpql) {
+        this.symbol = symbol;
+        this.jpql = jpql;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public String getJpql() {
+        return jpql;
+    }
+}
@@ -0,0 +1,113 @@
+package com.todoapp.todo_backend.query;
+
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.model.Task;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Task properties a client can ask for with {@code ?fields=}. Names match the JSON properties of {@code Task}.
+ */
+public enum TaskField {
+
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    COMPLETED("completed"),
+    CREATED_AT("createdAt"),
+    COMPLETED_AT("completedAt"),
+    DUE_AT("dueAt"),
+    RANK("rank"),
+    // what a PATCH has to send back
+    VERSION("version"),
+    // a collection, loaded with a second query instead of being selected
+    TAGS("tags");
+
+    private final String property;
+
+    TaskField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Parses a comma separated field list; null or blank means "all fields".
+     */
+    public static Set<TaskField> parse(String fields) throws CustomException {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<TaskField> parsed = EnumSet.noneOf(TaskField.class);
+        for (String name : fields.split(",")) {
+            String property = name.trim();
+            if (property.isEmpty()) {
+                continue;
+            }
+            TaskField field = fromProperty(property);
+            if (field == null) {
+                throw new CustomException("Unknown field '" + property + "'");
+            }
+            parsed.add(field);
+        }
+        if (parsed.isEmpty()) {
+            throw new CustomException("No fields requested");
+        }
+        return parsed;
+    }
+
+    /**
+     * Stable text form of a field set, used in cache keys.
+     */
+    public static String key(Set<TaskField> fields) {
+        if (fields == null) {
+            return "*";
+        }
+        StringBuilder key = new StringBuilder();
+        for (TaskField field : fields) {
+            key.append(key.length() == 0 ? "" : ",").append(field.property);
+        }
+        return key.toString();
+    }
+
+    /**
+     * The same row shape the JPA projection produces, for backends that hold whole tasks anyway.
+     */
+    public static Map<String, Object> project(Task task, Set<TaskField> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (TaskField field : fields) {
+            row.put(field.property, field.valueOf(task));
+        }
+        return row;
+    }
+
+    private Object valueOf(Task task) {
+        return switch (this) {
+            case ID -> task.getId();
+            case TITLE -> task.getTitle();
+            case DESCRIPTION -> task.getDescription();
+            case COMPLETED -> task.getCompleted();
+            case CREATED_AT -> task.getCreatedAt();
+            case COMPLETED_AT -> task.getCompletedAt();
+            case DUE_AT -> task.getDueAt();
+            case RANK -> task.getRank();
+            case VERSION -> task.getVersion();
+            case TAGS -> new TreeSet<>(task.getTags());
+        };
+    }
+
+    private static TaskField fromProperty(String property) {
+        for (TaskField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
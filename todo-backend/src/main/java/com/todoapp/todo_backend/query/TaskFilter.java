@@ -0,0 +1,36 @@
+package com.todoapp.todo_backend.query;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A parsed task query. Clauses are kept in a canonical order so that two requests differing only
+ * in their values share the same {@link #shape()} and therefore the same compiled query.
+ */
+@Getter
+public class TaskFilter {
+
+    private final List<Clause> clauses;
+    private final QueryField sortField;
+    private final boolean descending;
+    private final int limit;
+
+    TaskFilter(List<Clause> clauses, QueryField sortField, boolean descending, int limit) {
+        this.clauses = List.copyOf(clauses);
+        this.sortField = sortField;
+        this.descending = descending;
+        this.limit = limit;
+    }
+
+    public String shape() {
+        return clauses.stream()
+                .map(clause -> clause.field().getProperty() + clause.operator().getSymbol())
+                .collect(Collectors.joining(";"))
+                + "|" + sortField.getProperty() + (descending ? ",desc" : ",asc");
+    }
+
+    public record Clause(QueryField field, QueryOperator operator, Object value) {
+    }
+}
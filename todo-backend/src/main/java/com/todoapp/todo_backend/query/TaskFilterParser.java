@@ -0,0 +1,151 @@
+package com.todoapp.todo_backend.query;
+
+import com.todoapp.todo_backend.exception.CustomException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parses filter expressions like {@code completed:false;createdAt>=2025-01-01;title^Buy} and sort
+ * specs like {@code createdAt,desc}. Only indexed fields and operators are accepted and the page
+ * size is capped, so every query that gets through can be answered from an index range.
+ */
+public final class TaskFilterParser {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+    public static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_CLAUSES = 6;
+
+    private TaskFilterParser() {
+    }
+
+    public static TaskFilter parse(String filter, String sort, Integer limit) throws CustomException {
+        List<TaskFilter.Clause> clauses = new ArrayList<>();
+        if (filter != null && !filter.isBlank()) {
+            String[] parts = filter.split(";");
+            if (parts.length > MAX_CLAUSES) {
+                throw new CustomException("A filter can have at most " + MAX_CLAUSES + " clauses");
+            }
+            for (String part : parts) {
+                if (!part.isBlank()) {
+                    clauses.add(parseClause(part.trim()));
+                }
+            }
+        }
+        validateCombination(clauses);
+        clauses.sort(Comparator.comparing((TaskFilter.Clause c) -> c.field()).thenComparing(TaskFilter.Clause::operator));
+
+        QueryField sortField = QueryField.CREATED_AT;
+        boolean descending = true;
+        if (sort != null && !sort.isBlank()) {
+            String[] parts = sort.split(",");
+            sortField = QueryField.fromProperty(parts[0].trim());
+            if (sortField == null || !sortField.isSortable()) {
+                throw new CustomException("Cannot sort by '" + parts[0].trim() + "'");
+            }
+            if (parts.length > 2) {
+                throw new CustomException("Invalid sort '" + sort + "'");
+            }
+            if (parts.length == 2) {
+                String direction = parts[1].trim();
+                if (!direction.equalsIgnoreCase("asc") && !direction.equalsIgnoreCase("desc")) {
+                    throw new CustomException("Invalid sort direction '" + direction + "'");
+                }
+                descending = direction.equalsIgnoreCase("desc");
+            }
+        }
+        // ordering by title is only cheap while walking the title index for a prefix
+        if (sortField == QueryField.TITLE && clauses.stream().noneMatch(c -> c.field() == QueryField.TITLE)) {
+            throw new CustomException("Sorting by title requires a title prefix filter");
+        }
+
+        int pageSize = limit == null ? DEFAULT_LIMIT : limit;
+        if (pageSize < 1 || pageSize > MAX_LIMIT) {
+            throw new CustomException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return new TaskFilter(clauses, sortField, descending, pageSize);
+    }
+
+    private static TaskFilter.Clause parseClause(String clause) throws CustomException {
+        // the first operator character separates the field from the value
+        int at = -1;
+        for (int i = 0; i < clause.length() && at < 0; i++) {
+            char c = clause.charAt(i);
+            if (c == ':' || c == '>' || c == '<' || c == '^') {
+                at = i;
+            }
+        }
+        if (at <= 0) {
+            throw new CustomException("Invalid filter clause '" + clause + "'");
+        }
+        QueryOperator operator = null;
+        for (QueryOperator candidate : QueryOperator.values()) {
+            if (clause.startsWith(candidate.getSymbol(), at)) {
+                operator = candidate;
+                break;
+            }
+        }
+        String property = clause.substring(0, at).trim();
+        String raw = clause.substring(at + operator.getSymbol().length()).trim();
+        QueryField field = QueryField.fromProperty(property);
+        if (field == null) {
+            throw new CustomException("Cannot filter on '" + property + "'");
+        }
+        if (!field.supports(operator)) {
+            throw new CustomException("Operator '" + operator.getSymbol() + "' is not supported for '" + property + "'");
+        }
+        Object value = raw.isEmpty() ? null : field.parseValue(raw);
+        if (value == null) {
+            throw new CustomException("Invalid value '" + raw + "' for '" + property + "'");
+        }
+        if (field == QueryField.TITLE && raw.length() < MIN_PREFIX_LENGTH) {
+            throw new CustomException("Title prefix must be at least " + MIN_PREFIX_LENGTH + " characters");
+        }
+        return new TaskFilter.Clause(field, operator, value);
+    }
+
+    private static void validateCombination(List<TaskFilter.Clause> clauses) throws CustomException {
+        Set<QueryOperator> createdAtOperators = EnumSet.noneOf(QueryOperator.class);
+        boolean completed = false;
+        boolean title = false;
+        for (TaskFilter.Clause clause : clauses) {
+            switch (clause.field()) {
+                case COMPLETED -> {
+                    if (completed) {
+                        throw new CustomException("completed can only be filtered once");
+                    }
+                    completed = true;
+                }
+                case TITLE -> {
+                    if (title) {
+                        throw new CustomException("title can only be filtered once");
+                    }
+                    title = true;
+                }
+                case CREATED_AT -> createdAtOperators.add(clause.operator());
+                default -> {
+                }
+            }
+        }
+        int lowerBounds = count(createdAtOperators, QueryOperator.GT, QueryOperator.GTE, QueryOperator.EQ);
+        int upperBounds = count(createdAtOperators, QueryOperator.LT, QueryOperator.LTE, QueryOperator.EQ);
+        long createdAtClauses = clauses.stream().filter(c -> c.field() == QueryField.CREATED_AT).count();
+        if (lowerBounds > 1 || upperBounds > 1 || createdAtClauses != createdAtOperators.size()) {
+            throw new CustomException("createdAt takes at most one lower and one upper bound");
+        }
+    }
+
+    private static int count(Set<QueryOperator> present, QueryOperator... operators) {
+        int count = 0;
+        for (QueryOperator operator : operators) {
+            if (present.contains(operator)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
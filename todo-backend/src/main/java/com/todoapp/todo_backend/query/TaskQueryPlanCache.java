@@ -0,0 +1,99 @@
+package com.todoapp.todo_backend.query;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU of query shape to JPQL. Because every request of one shape produces the identical
+ * JPQL string with the values bound as parameters, Hibernate's query plan cache and the driver's
+ * prepared statement cache both get a hit instead of re-parsing and re-planning.
+ */
+@Component
+public class TaskQueryPlanCache {
+
+    private final int maxSize;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // guarded by this
+    private final LinkedHashMap<String, String> plans;
+
+    public TaskQueryPlanCache(@Value("${todo.query.plan-cache-size:256}") int maxSize) {
+        this.maxSize = maxSize;
+        this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > TaskQueryPlanCache.this.maxSize;
+            }
+        };
+    }
+
+    public String jpqlFor(TaskFilter filter) {
+        String shape = filter.shape();
+        synchronized (this) {
+            String jpql = plans.get(shape);
+            if (jpql != null) {
+                hits.incrementAndGet();
+                return jpql;
+            }
+        }
+        misses.incrementAndGet();
+        String jpql = compile(filter);
+        synchronized (this) {
+            plans.put(shape, jpql);
+        }
+        return jpql;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public synchronized int size() {
+        return plans.size();
+    }
+
+    /**
+     * Parameters are named p0..pn in clause order, see {@link #parameterName(int)}.
+     */
+    static String compile(TaskFilter filter) {
+        StringBuilder jpql = new StringBuilder("select t from Task t");
+        for (int i = 0; i < filter.getClauses().size(); i++) {
+            TaskFilter.Clause clause = filter.getClauses().get(i);
+            jpql.append(i == 0 ? " where " : " and ")
+                    .append("t.").append(clause.field().getProperty())
+                    .append(' ').append(clause.operator().getJpql())
+                    .append(" :").append(parameterName(i));
+            if (clause.operator() == QueryOperator.PREFIX) {
+                jpql.append(" escape '\\'");
+            }
+        }
+        String direction = filter.isDescending() ? " desc" : " asc";
+        jpql.append(" order by t.").append(filter.getSortField().getProperty()).append(direction);
+        if (filter.getSortField() != QueryField.ID) {
+            // tie-breaker so pages are stable
+            jpql.append(", t.id").append(direction);
+        }
+        return jpql.toString();
+    }
+
+    public static String parameterName(int index) {
+        return "p" + index;
+    }
+
+    public static Object parameterValue(TaskFilter.Clause clause) {
+        if (clause.operator() == QueryOperator.PREFIX) {
+            String prefix = (String) clause.value();
+            return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        }
+        return clause.value();
+    }
+}
@@ -0,0 +1,134 @@
+package com.todoapp.todo_backend.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token buckets per client, one for reads and one for writes. Each bucket is a single "theoretical
+ * arrival time": the moment it would be full again. Taking a token moves that moment one refill
+ * interval into the future with a CAS, and is refused when it would end up more than a burst ahead of
+ * now. A full bucket and a missing one behave the same, so idle clients can be dropped at any time.
+ * Clients that still owe tokens are never dropped: when the table is full of them, newcomers share one
+ * overflow bucket until a sweep frees room, so a stream of new client names cannot reset anyone's budget.
+ */
+public class ClientRateLimiter {
+
+    private final Budget readBudget;
+    private final Budget writeBudget;
+    private final int maxClients;
+    private final ConcurrentHashMap<String, ClientBuckets> buckets = new ConcurrentHashMap<>();
+    private static final long FULL_SWEEP_INTERVAL_NANOS = 1_000_000_000L;
+
+    // when register last swept a full table, so a flood of new clients costs one scan per interval
+    private final AtomicLong lastFullSweep = new AtomicLong();
+    private final AtomicBoolean sweptWhenFull = new AtomicBoolean();
+    // shared by the clients that find the table full, created on first use
+    private final AtomicReference<ClientBuckets> overflow = new AtomicReference<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    public ClientRateLimiter(Budget readBudget, Budget writeBudget, int maxClients) {
+        this.readBudget = readBudget;
+        this.writeBudget = writeBudget;
+        this.maxClients = maxClients;
+    }
+
+    /**
+     * Takes a token from the client's read or write bucket.
+     *
+     * @return 0 if the request may proceed, otherwise the nanoseconds until the next token
+     */
+    public long tryAcquire(String client, boolean write, long nowNanos) {
+        ClientBuckets clientBuckets = buckets.get(client);
+        if (clientBuckets == null) {
+            clientBuckets = register(client, nowNanos);
+        }
+        return write
+                ? take(clientBuckets.write, writeBudget, nowNanos)
+                : take(clientBuckets.read, readBudget, nowNanos);
+    }
+
+    /**
+     * Drops the buckets of clients whose buckets have both refilled completely.
+     */
+    public void expireIdle(long nowNanos) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(clientBuckets -> clientBuckets.isFull(nowNanos));
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private ClientBuckets register(String client, long nowNanos) {
+        if (buckets.size() >= maxClients) {
+            long last = lastFullSweep.get();
+            if (!sweptWhenFull.get() || nowNanos - last >= FULL_SWEEP_INTERVAL_NANOS) {
+                if (lastFullSweep.compareAndSet(last, nowNanos)) {
+                    sweptWhenFull.set(true);
+                    expireIdle(nowNanos);
+                }
+            }
+            if (buckets.size() >= maxClients) {
+                ClientBuckets shared = overflow.get();
+                if (shared == null) {
+                    overflow.compareAndSet(null, new ClientBuckets(nowNanos));
+                    shared = overflow.get();
+                }
+                return shared;
+            }
+        }
+        return buckets.computeIfAbsent(client, c -> new ClientBuckets(nowNanos));
+    }
+
+    private static long take(AtomicLong fullAt, Budget budget, long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - nowNanos > 0 ? current : nowNanos) + budget.intervalNanos();
+            long excess = next - nowNanos - budget.burstNanos();
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Refill rate and bucket size, both expressed in nanoseconds of refill time.
+     */
+    public record Budget(long intervalNanos, long burstNanos) {
+
+        public static Budget of(double perSecond, int burst) {
+            if (perSecond <= 0 || burst < 1) {
+                throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+            }
+            long intervalNanos = Math.max(1, (long) (1_000_000_000L / perSecond));
+            return new Budget(intervalNanos, intervalNanos * burst);
+        }
+    }
+
+    private static final class ClientBuckets {
+
+        // the time each bucket is full again
+        final AtomicLong read;
+        final AtomicLong write;
+
+        ClientBuckets(long nowNanos) {
+            this.read = new AtomicLong(nowNanos);
+            this.write = new AtomicLong(nowNanos);
+        }
+
+        boolean isFull(long nowNanos) {
+            return read.get() - nowNanos <= 0 && write.get() - nowNanos <= 0;
+        }
+    }
+}
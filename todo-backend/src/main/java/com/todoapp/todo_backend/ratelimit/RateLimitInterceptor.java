@@ -0,0 +1,63 @@
+package com.todoapp.todo_backend.ratelimit;
+
+import com.todoapp.todo_backend.exception.RateLimitExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Rejects requests of clients over their read or write budget before they reach a controller. Clients
+ * are told apart by their API key header when it is one of the configured keys, and by remote address
+ * otherwise: an unknown key is chosen by the caller and would hand out a fresh budget per request.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private final boolean enabled;
+    private final Set<String> apiKeys;
+    private final ClientRateLimiter limiter;
+
+    public RateLimitInterceptor(@Value("${todo.ratelimit.enabled:true}") boolean enabled,
+                                @Value("${todo.ratelimit.read.per-second:50}") double readPerSecond,
+                                @Value("${todo.ratelimit.read.burst:100}") int readBurst,
+                                @Value("${todo.ratelimit.write.per-second:10}") double writePerSecond,
+                                @Value("${todo.ratelimit.write.burst:20}") int writeBurst,
+                                @Value("${todo.ratelimit.max-clients:100000}") int maxClients,
+                                @Value("${todo.ratelimit.api-keys:}") List<String> apiKeys) {
+        this.enabled = enabled;
+        this.apiKeys = apiKeys.stream().map(String::trim).filter(key -> !key.isEmpty()).collect(Collectors.toUnmodifiableSet());
+        this.limiter = new ClientRateLimiter(ClientRateLimiter.Budget.of(readPerSecond, readBurst),
+                ClientRateLimiter.Budget.of(writePerSecond, writeBurst), maxClients);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String method = request.getMethod();
+        if (!enabled || "OPTIONS".equals(method)) {
+            return true;
+        }
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        String client = apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+        boolean write = !"GET".equals(method) && !"HEAD".equals(method);
+        long waitNanos = limiter.tryAcquire(client, write, System.nanoTime());
+        if (waitNanos > 0) {
+            throw new RateLimitExceededException(Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)));
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${todo.ratelimit.sweep-interval-ms:60000}")
+    public void expireIdleClients() {
+        limiter.expireIdle(System.nanoTime());
+    }
+}
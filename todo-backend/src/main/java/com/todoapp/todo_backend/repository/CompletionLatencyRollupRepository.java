@@ -0,0 +1,20 @@
+package com.todoapp.todo_backend.repository;
+
+import com.todoapp.todo_backend.model.CompletionLatencyRollup;
+import com.todoapp.todo_backend.model.RollupGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CompletionLatencyRollupRepository extends JpaRepository<CompletionLatencyRollup, Long> {
+
+    Optional<CompletionLatencyRollup> findByGranularityAndBucketStart(RollupGranularity granularity, LocalDateTime bucketStart);
+
+    List<CompletionLatencyRollup> findByGranularityAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+            RollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+
+}
@@ -0,0 +1,47 @@
+package com.todoapp.todo_backend.repository;
+
+import com.todoapp.todo_backend.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // lock timeout -2 is Hibernate's SKIP LOCKED: relays on other nodes claim the rows after these
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from OutboxEvent e where e.availableAt <= :now and e.deadLetteredAt is null order by e.id asc")
+    List<OutboxEvent> claimAvailable(LocalDateTime now, Pageable pageable);
+
+    // per task, the oldest pending event outside the claimed ones: claimed events after it have to wait
+    @Query("select e.taskId, min(e.id) from OutboxEvent e where e.taskId in :taskIds and e.id not in :claimedIds "
+            + "and e.deadLetteredAt is null group by e.taskId")
+    List<Object[]> findFirstUnclaimedIds(Collection<Long> taskIds, Collection<Long> claimedIds);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1, e.availableAt = :retryAt where e.id in :ids")
+    int markFailed(Collection<Long> ids, LocalDateTime retryAt);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.deadLetteredAt = :now where e.id in :ids and e.attempts >= :maxAttempts")
+    int deadLetterExhausted(Collection<Long> ids, int maxAttempts, LocalDateTime now);
+
+    long countByDeadLetteredAtIsNull();
+
+    long countByDeadLetteredAtIsNotNull();
+
+    Optional<OutboxEvent> findFirstByDeadLetteredAtIsNullOrderByIdAsc();
+
+}
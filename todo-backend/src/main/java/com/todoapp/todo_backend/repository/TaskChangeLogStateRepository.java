@@ -0,0 +1,19 @@
+package com.todoapp.todo_backend.repository;
+
+import com.todoapp.todo_backend.model.TaskChangeLogState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TaskChangeLogStateRepository extends JpaRepository<TaskChangeLogState, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from TaskChangeLogState s where s.id = :id")
+    Optional<TaskChangeLogState> findForUpdate(Long id);
+
+}
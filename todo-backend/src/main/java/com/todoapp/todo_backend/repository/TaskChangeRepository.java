@@ -0,0 +1,26 @@
+package com.todoapp.todo_backend.repository;
+
+import com.todoapp.todo_backend.model.TaskChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskChangeRepository extends JpaRepository<TaskChange, Long> {
+
+    List<TaskChange> findBySeqGreaterThanOrderBySeqAsc(Long since, Pageable pageable);
+
+    // entries superseded by a later entry for the same task
+    @Query("select c.seq from TaskChange c where c.seq > :afterSeq and exists "
+            + "(select n.seq from TaskChange n where n.taskId = c.taskId and n.seq > c.seq) order by c.seq asc")
+    List<Long> findSupersededSeqs(Long afterSeq, Pageable pageable);
+
+    @Query("select c.seq from TaskChange c where c.operation = com.todoapp.todo_backend.model.ChangeOperation.DELETE "
+            + "and c.changedAt < :before order by c.seq asc")
+    List<Long> findDeleteSeqsBefore(LocalDateTime before, Pageable pageable);
+
+}
@@ -0,0 +1,56 @@
+package com.todoapp.todo_backend.repository;
+
+import com.todoapp.todo_backend.model.TaskClosure;
+import com.todoapp.todo_backend.model.TaskClosureId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskClosureRepository extends JpaRepository<TaskClosure, TaskClosureId> {
+
+    // the subtree in depth order, one range scan of the primary key
+    @Query("select t, c.depth, s from TaskClosure c join Task t on t.id = c.id.descendantId " +
+            "left join TaskSubtreeCount s on s.taskId = t.id " +
+            "where c.id.ancestorId = :taskId order by c.depth asc, t.id asc")
+    List<Object[]> findSubtree(Long taskId);
+
+    @Query("select c.id.descendantId from TaskClosure c where c.id.ancestorId = :taskId")
+    List<Long> findSubtreeIds(Long taskId);
+
+    @Query("select c.id.ancestorId from TaskClosure c where c.id.descendantId = :taskId and c.depth > 0")
+    List<Long> findAncestorIds(Long taskId);
+
+    @Query("select c.id.ancestorId from TaskClosure c where c.id.descendantId = :taskId and c.depth = 1")
+    Optional<Long> findParentId(Long taskId);
+
+    @Modifying
+    @Query(value = "insert into task_closure (ancestor_id, descendant_id, depth) values (:taskId, :taskId, 0)", nativeQuery = true)
+    int insertSelf(Long taskId);
+
+    // a path from every ancestor of the parent (the parent included) to every task of the subtree
+    @Modifying
+    @Query(value = "insert into task_closure (ancestor_id, descendant_id, depth) " +
+            "select a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 " +
+            "from task_closure a cross join task_closure d " +
+            "where a.descendant_id = :parentId and d.ancestor_id = :taskId", nativeQuery = true)
+    int insertPathsUnder(Long taskId, Long parentId);
+
+    @Modifying
+    @Query("delete from TaskClosure c where c.id.ancestorId in :ancestorIds and c.id.descendantId in :descendantIds")
+    int deletePaths(Collection<Long> ancestorIds, Collection<Long> descendantIds);
+
+    @Modifying
+    @Query("update TaskClosure c set c.depth = c.depth - 1 where c.id.ancestorId in :ancestorIds and c.id.descendantId in :descendantIds")
+    int shortenPaths(Collection<Long> ancestorIds, Collection<Long> descendantIds);
+
+    @Modifying
+    @Query("delete from TaskClosure c where c.id.ancestorId = :taskId or c.id.descendantId = :taskId")
+    int deleteNode(Long taskId);
+
+}
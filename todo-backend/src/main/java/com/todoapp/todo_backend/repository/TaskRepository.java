@@ -3,13 +3,56 @@ package com.todoapp.todo_backend.repository;
 import com.todoapp.todo_backend.model.Task;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
 
     List<Task> findByCompletedFalseOrderByCreatedAtDesc(Pageable pageable);
 
+    // ties, which only tasks created into an empty order can have, are broken by id
+    List<Task> findByCompletedFalseOrderByRankAscIdAsc(Pageable pageable);
+
+    @Query("select min(t.rank) from Task t where t.completed = false")
+    String findMinIncompleteRank();
+
+    // empty string for a task that has not been ranked yet
+    @Query("select coalesce(t.rank, '') from Task t where t.id = :id")
+    Optional<String> findRankById(Long id);
+
+    @Query("select t.id from Task t where t.completed = false order by t.rank asc, t.id asc")
+    List<Long> findIncompleteIdsInRankOrder();
+
+    boolean existsByCompletedFalseAndRankIsNull();
+
+    @Query("select t.id, t.completed from Task t where t.id > :afterId order by t.id asc")
+    List<Object[]> findIdAndCompletedAfter(Long afterId, Pageable pageable);
+
+    @Query("select t.id, tag from Task t join t.tags tag where t.id > :afterId and t.id <= :lastId")
+    List<Object[]> findTagsInIdRange(Long afterId, Long lastId);
+
+    List<Task> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    List<Task> findByCompletedFalseAndDueAtGreaterThanAndIdGreaterThanOrderByIdAsc(LocalDateTime dueAfter, Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("update Task t set t.parentId = :parentId where t.parentId = :taskId")
+    int reparentChildren(Long taskId, Long parentId);
+
+    // compare-and-set on the version: a null title and unset flags keep the current value, a set flag writes
+    // its value even when null; 0 rows means missing or stale
+    @Modifying(clearAutomatically = true)
+    @Query("update Task t set t.title = coalesce(:title, t.title), "
+            + "t.description = case when :setDescription = true then :description else t.description end, "
+            + "t.dueAt = case when :setDueAt = true then :dueAt else t.dueAt end, "
+            + "t.version = t.version + 1 where t.id = :id and t.version = :version")
+    int patch(Long id, Long version, String title, boolean setDescription, String description,
+              boolean setDueAt, LocalDateTime dueAt);
+
 }
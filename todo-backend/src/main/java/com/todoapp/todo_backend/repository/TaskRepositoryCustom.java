@@ -0,0 +1,22 @@
+package com.todoapp.todo_backend.repository;
+
+import com.todoapp.todo_backend.query.TaskField;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Column-restricted reads: only the requested fields are selected, and each row comes back as a
+ * map holding exactly those fields, in {@link TaskField} order.
+ */
+public interface TaskRepositoryCustom {
+
+    List<Map<String, Object>> findIncompleteFieldsOrderByCreatedAtDesc(Set<TaskField> fields, int limit);
+
+    List<Map<String, Object>> findIncompleteFieldsOrderByRankAsc(Set<TaskField> fields, int limit);
+
+    Optional<Map<String, Object>> findFieldsById(Long id, Set<TaskField> fields);
+
+}
@@ -0,0 +1,81 @@
+package com.todoapp.todo_backend.repository;
+
+import com.todoapp.todo_backend.query.TaskField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findIncompleteFieldsOrderByCreatedAtDesc(Set<TaskField> fields, int limit) {
+        return find(fields, "where t.completed = false order by t.createdAt desc", null, limit);
+    }
+
+    @Override
+    public List<Map<String, Object>> findIncompleteFieldsOrderByRankAsc(Set<TaskField> fields, int limit) {
+        return find(fields, "where t.completed = false order by t.rank asc, t.id asc", null, limit);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, Set<TaskField> fields) {
+        return find(fields, "where t.id = :id", id, 1).stream().findFirst();
+    }
+
+    private List<Map<String, Object>> find(Set<TaskField> fields, String condition, Long id, int limit) {
+        // the id is always selected, it is needed to attach tags; fields are listed in enum order
+        // so a given field set always produces the same statement
+        StringBuilder jpql = new StringBuilder("select t.id as id");
+        for (TaskField field : fields) {
+            if (field != TaskField.ID && field != TaskField.TAGS) {
+                jpql.append(", t.").append(field.getProperty()).append(" as ").append(field.getProperty());
+            }
+        }
+        jpql.append(" from Task t ").append(condition);
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class).setMaxResults(limit);
+        if (id != null) {
+            query.setParameter("id", id);
+        }
+        List<Tuple> tuples = query.getResultList();
+
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        Map<Long, Map<String, Object>> rowsById = new HashMap<>();
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TaskField field : fields) {
+                row.put(field.getProperty(), field == TaskField.TAGS ? new TreeSet<String>() : tuple.get(field.getProperty()));
+            }
+            rows.add(row);
+            rowsById.put(tuple.get("id", Long.class), row);
+        }
+        if (fields.contains(TaskField.TAGS) && !rowsById.isEmpty()) {
+            List<Object[]> tags = entityManager
+                    .createQuery("select t.id, tag from Task t join t.tags tag where t.id in :ids", Object[].class)
+                    .setParameter("ids", rowsById.keySet())
+                    .getResultList();
+            for (Object[] tag : tags) {
+                addTag(rowsById.get((Long) tag[0]), (String) tag[1]);
+            }
+        }
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addTag(Map<String, Object> row, String tag) {
+        ((Set<String>) row.get(TaskField.TAGS.getProperty())).add(tag);
+    }
+}
@@ -0,0 +1,25 @@
+package com.todoapp.todo_backend.repository;
+
+import com.todoapp.todo_backend.model.TaskSubtreeCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface TaskSubtreeCountRepository extends JpaRepository<TaskSubtreeCount, Long> {
+
+    @Modifying
+    @Query("update TaskSubtreeCount s set s.tasks = s.tasks + :tasks, s.completed = s.completed + :completed " +
+            "where s.taskId in :taskIds")
+    int addToCounts(Collection<Long> taskIds, long tasks, long completed);
+
+    // 0 when the task was counted as completed already
+    @Modifying
+    @Query("update TaskSubtreeCount s set s.selfCompleted = true, s.completed = s.completed + 1 " +
+            "where s.taskId = :taskId and s.selfCompleted = false")
+    int markSelfCompleted(Long taskId);
+
+}
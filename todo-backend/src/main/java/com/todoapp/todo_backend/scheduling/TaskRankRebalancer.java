@@ -0,0 +1,120 @@
+package com.todoapp.todo_backend.scheduling;
+
+import com.todoapp.todo_backend.cache.TaskDataVersion;
+import com.todoapp.todo_backend.event.TaskChangeType;
+import com.todoapp.todo_backend.event.TaskChangedEvent;
+import com.todoapp.todo_backend.model.ChangeOperation;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.repository.TaskRepository;
+import com.todoapp.todo_backend.service.TaskChangeService;
+import com.todoapp.todo_backend.util.FractionalRank;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Repeated inserts into the same gap (including new tasks on top) make ranks grow. Once a write produces a rank
+ * longer than the threshold, the incomplete tasks are re-ranked in the background with short, evenly
+ * spaced ranks. The order is read and rewritten in one transaction under the task write lock, so no create
+ * or move lands in between and no reader sees old and new ranks mixed. Works on the task table, so only
+ * there with the jpa backend.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "todo.storage", havingValue = "jpa", matchIfMissing = true)
+public class TaskRankRebalancer {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final TaskRepository taskRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskDataVersion dataVersion;
+    private final TaskChangeService taskChangeService;
+    private final int maxRankLength;
+    private final AtomicBoolean rebalanceRequested = new AtomicBoolean();
+
+    public TaskRankRebalancer(TaskRepository taskRepository,
+                              JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              TaskDataVersion dataVersion,
+                              TaskChangeService taskChangeService,
+                              @Value("${todo.ranks.max-length:24}") int maxRankLength) {
+        this.taskRepository = taskRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.dataVersion = dataVersion;
+        this.taskChangeService = taskChangeService;
+        if (maxRankLength >= Task.MAX_RANK_LENGTH) {
+            throw new IllegalArgumentException("todo.ranks.max-length must be below the rank column's " + Task.MAX_RANK_LENGTH);
+        }
+        this.maxRankLength = maxRankLength;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkUnrankedTasks() {
+        // rows created before manual ordering existed have no rank
+        if (taskRepository.existsByCompletedFalseAndRankIsNull()) {
+            rebalanceRequested.set(true);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if ((event.getType() == TaskChangeType.CREATED || event.getType() == TaskChangeType.MOVED) && event.getTask() != null
+                && event.getTask().getRank() != null && event.getTask().getRank().length() > maxRankLength) {
+            rebalanceRequested.set(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${todo.ranks.rebalance-check-ms:10000}")
+    public void rebalanceIfRequested() {
+        if (rebalanceRequested.compareAndSet(true, false)) {
+            rebalance();
+        }
+    }
+
+    public void rebalance() {
+        Integer tasks = transactionTemplate.execute(status -> rebalanceInTransaction());
+        // ranks are part of the cached list responses
+        dataVersion.advance();
+        log.info("Rebalanced ranks of {} incomplete tasks", tasks);
+    }
+
+    /**
+     * Re-ranks all incomplete tasks in the caller's transaction, also for a write whose new rank would not
+     * fit the rank column. Takes the task write lock before reading the order, like creates and moves.
+     *
+     * @return number of tasks re-ranked
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int rebalanceInTransaction() {
+        taskChangeService.lockForWrite();
+        List<Long> ids = taskRepository.findIncompleteIdsInRankOrder();
+        List<String> ranks = FractionalRank.evenlySpaced(ids.size());
+        for (int start = 0; start < ids.size(); start += BATCH_SIZE) {
+            int end = Math.min(start + BATCH_SIZE, ids.size());
+            List<Object[]> batch = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                batch.add(new Object[]{ranks.get(i), ids.get(i)});
+            }
+            jdbcTemplate.batchUpdate("update task set sort_rank = ? where id = ?", batch);
+            // synced clients keep ranks too
+            taskChangeService.recordChanges(ids.subList(start, end), ChangeOperation.UPSERT);
+        }
+        return ids.size();
+    }
+}
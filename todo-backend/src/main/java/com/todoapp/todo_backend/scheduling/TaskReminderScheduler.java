@@ -0,0 +1,153 @@
+package com.todoapp.todo_backend.scheduling;
+
+import com.todoapp.todo_backend.event.ReminderType;
+import com.todoapp.todo_backend.event.TaskChangedEvent;
+import com.todoapp.todo_backend.event.TaskInvalidatedEvent;
+import com.todoapp.todo_backend.event.TaskReminderEvent;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps one pending reminder per incomplete task with a due date in an in-process timing wheel,
+ * so due dates never have to be polled from the database. The wheel is loaded once at startup
+ * and then kept in sync from task change events. Loaded from the task table, so only there with the
+ * jpa backend.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "todo.storage", havingValue = "jpa", matchIfMissing = true)
+public class TaskReminderScheduler {
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration leadTime;
+
+    // wheel and index are guarded by this
+    private final HierarchicalTimingWheel<Reminder> wheel;
+    private final Map<Long, HierarchicalTimingWheel.Timeout<Reminder>> pendingByTaskId = new HashMap<>();
+
+    public TaskReminderScheduler(TaskRepository taskRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${todo.reminders.tick-ms:1000}") long tickMillis,
+                                 @Value("${todo.reminders.lead-minutes:15}") long leadMinutes) {
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.leadTime = Duration.ofMinutes(leadMinutes);
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingReminders() {
+        // tasks that are already overdue were reminded before the restart, only future due dates are loaded
+        LocalDateTime now = LocalDateTime.now();
+        long afterId = 0;
+        int loaded = 0;
+        List<Task> page;
+        do {
+            page = taskRepository.findByCompletedFalseAndDueAtGreaterThanAndIdGreaterThanOrderByIdAsc(
+                    now, afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (Task task : page) {
+                schedule(task);
+                afterId = task.getId();
+            }
+            loaded += page.size();
+        } while (page.size() == LOAD_PAGE_SIZE);
+        log.info("Loaded {} task reminders", loaded);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        switch (event.getType()) {
+            // an update may have moved the due date, schedule() replaces the pending reminder
+            case CREATED, UPDATED -> schedule(event.getTask());
+            case COMPLETED, DELETED -> cancel(event.getTaskId());
+        }
+    }
+
+    @EventListener
+    public void onTaskInvalidated(TaskInvalidatedEvent event) {
+        if (event.isAll()) {
+            synchronized (this) {
+                pendingByTaskId.values().forEach(wheel::cancel);
+                pendingByTaskId.clear();
+            }
+            loadPendingReminders();
+            return;
+        }
+        event.getTaskIds().forEach(this::cancel);
+        event.getTasks().forEach(this::schedule);
+    }
+
+    @Scheduled(fixedDelayString = "${todo.reminders.tick-ms:1000}")
+    public void tick() {
+        List<Reminder> expired;
+        synchronized (this) {
+            expired = wheel.advanceTo(System.currentTimeMillis());
+            for (Reminder reminder : expired) {
+                pendingByTaskId.remove(reminder.taskId());
+                if (reminder.type() == ReminderType.DUE_SOON) {
+                    Reminder overdue = new Reminder(ReminderType.OVERDUE, reminder.taskId(), reminder.title(), reminder.dueAt());
+                    pendingByTaskId.put(reminder.taskId(), wheel.schedule(toEpochMillis(reminder.dueAt()), overdue));
+                }
+            }
+        }
+        for (Reminder reminder : expired) {
+            eventPublisher.publishEvent(new TaskReminderEvent(reminder.type(), reminder.taskId(), reminder.title(), reminder.dueAt()));
+        }
+    }
+
+    @EventListener
+    public void logReminder(TaskReminderEvent event) {
+        log.info("Task {} '{}' is {} (due {})", event.getTaskId(), event.getTitle(),
+                event.getType() == ReminderType.OVERDUE ? "overdue" : "due soon", event.getDueAt());
+    }
+
+    public synchronized int pendingCount() {
+        return wheel.size();
+    }
+
+    public void schedule(Task task) {
+        if (task == null || task.getDueAt() == null || Boolean.TRUE.equals(task.getCompleted())) {
+            return;
+        }
+        LocalDateTime remindAt = task.getDueAt().minus(leadTime);
+        Reminder reminder = LocalDateTime.now().isBefore(remindAt)
+                ? new Reminder(ReminderType.DUE_SOON, task.getId(), task.getTitle(), task.getDueAt())
+                : new Reminder(ReminderType.OVERDUE, task.getId(), task.getTitle(), task.getDueAt());
+        long deadline = toEpochMillis(reminder.type() == ReminderType.DUE_SOON ? remindAt : task.getDueAt());
+        synchronized (this) {
+            wheel.cancel(pendingByTaskId.remove(task.getId()));
+            pendingByTaskId.put(task.getId(), wheel.schedule(deadline, reminder));
+        }
+    }
+
+    public synchronized void cancel(Long taskId) {
+        wheel.cancel(pendingByTaskId.remove(taskId));
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Reminder(ReminderType type, Long taskId, String title, LocalDateTime dueAt) {
+    }
+}
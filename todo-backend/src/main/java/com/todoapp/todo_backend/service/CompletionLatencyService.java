@@ -0,0 +1,17 @@
+package com.todoapp.todo_backend.service;
+
+import com.todoapp.todo_backend.dto.responseDto.LatencyReportDTO;
+import com.todoapp.todo_backend.model.RollupGranularity;
+import com.todoapp.todo_backend.model.Task;
+
+import java.time.LocalDateTime;
+
+public interface CompletionLatencyService {
+
+    void recordCompletion(Task task);
+
+    void flush();
+
+    LatencyReportDTO getReport(RollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+
+}
@@ -0,0 +1,24 @@
+package com.todoapp.todo_backend.service;
+
+import com.todoapp.todo_backend.exception.CustomException;
+
+public interface IdempotencyService {
+
+    /**
+     * Runs the action once per scope and key; later calls with the same key and request get the first
+     * response back, and calls while it is still running wait for it.
+     */
+    <T> IdempotentResult<T> execute(String scope, String key, Object request, Class<T> responseType,
+                                    IdempotentAction<T> action) throws CustomException;
+
+    int purgeExpired();
+
+    @FunctionalInterface
+    interface IdempotentAction<T> {
+        T run() throws CustomException;
+    }
+
+    record IdempotentResult<T>(T value, boolean replayed) {
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.todoapp.todo_backend.service;
+
+import com.todoapp.todo_backend.dto.responseDto.OutboxStatsDTO;
+
+public interface OutboxService {
+
+    int relay();
+
+    OutboxStatsDTO getStats();
+
+}
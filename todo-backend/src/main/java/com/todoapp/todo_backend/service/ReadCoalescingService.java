@@ -0,0 +1,9 @@
+package com.todoapp.todo_backend.service;
+
+import com.todoapp.todo_backend.dto.responseDto.CoalescingStatsDTO;
+
+public interface ReadCoalescingService {
+
+    CoalescingStatsDTO getStats();
+
+}
@@ -0,0 +1,20 @@
+package com.todoapp.todo_backend.service;
+
+import com.todoapp.todo_backend.dto.responseDto.TaskBackupDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskRestoreDTO;
+import com.todoapp.todo_backend.exception.CustomException;
+
+public interface TaskBackupService {
+
+    /**
+     * Writes a point-in-time snapshot of all tasks to a new file in the backup directory.
+     */
+    TaskBackupDTO createBackup() throws CustomException;
+
+    /**
+     * Replaces all tasks with those of a snapshot file in the backup directory. Nothing changes when
+     * the file is damaged or the restore fails.
+     */
+    TaskRestoreDTO restore(String fileName) throws CustomException;
+
+}
@@ -0,0 +1,37 @@
+package com.todoapp.todo_backend.service;
+
+import com.todoapp.todo_backend.dto.responseDto.TaskChangesDTO;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.model.ChangeOperation;
+
+import java.util.Collection;
+
+public interface TaskChangeService {
+
+    /**
+     * Appends one entry per task, in the caller's transaction.
+     */
+    void recordChanges(Collection<Long> taskIds, ChangeOperation operation);
+
+    /**
+     * Takes the lock that recording a change takes, until the caller's transaction ends. For writes that
+     * read something and must not interleave with another write before they commit; every task write
+     * takes this lock anyway, so taking it earlier adds no waiting.
+     */
+    void lockForWrite();
+
+    /**
+     * Changes after {@code since}, folded to the latest state per task.
+     * Throws ChangeLogExpiredException when entries after {@code since} have already been purged.
+     */
+    TaskChangesDTO getChangesSince(long since, int limit) throws CustomException;
+
+    void compact();
+
+    /**
+     * Drops every entry and moves the purge point past them, in the caller's transaction, so that every
+     * reader has to resync in full. Returns the new last sequence number.
+     */
+    long resetLog();
+
+}
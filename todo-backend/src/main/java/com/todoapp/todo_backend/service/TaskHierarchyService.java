@@ -0,0 +1,19 @@
+package com.todoapp.todo_backend.service;
+
+import com.todoapp.todo_backend.dto.responseDto.TaskCompletionDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskTreeDTO;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.model.Task;
+
+public interface TaskHierarchyService {
+
+    TaskTreeDTO getSubtree(Long id) throws CustomException;
+
+    TaskCompletionDTO getCompletion(Long id) throws CustomException;
+
+    /**
+     * Moves the task with everything below it under another parent, or to the top level when null.
+     */
+    Task moveSubtree(Long id, Long newParentId) throws CustomException;
+
+}
@@ -0,0 +1,15 @@
+package com.todoapp.todo_backend.service;
+
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.model.Task;
+
+import java.util.List;
+
+public interface TaskQueryService {
+
+    /**
+     * @see com.todoapp.todo_backend.query.TaskFilterParser for the filter and sort syntax
+     */
+    List<Task> query(String filter, String sort, Integer limit) throws CustomException;
+
+}
@@ -1,11 +1,17 @@
 package com.todoapp.todo_backend.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import com.todoapp.todo_backend.dto.requestDto.TaskMoveRequestDTO;
+import com.todoapp.todo_backend.dto.requestDto.TaskPatchRequestDTO;
 import com.todoapp.todo_backend.dto.requestDto.TaskRequestDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskBatchDTO;
 import com.todoapp.todo_backend.exception.CustomException;
 import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.query.TaskField;
 
 public interface TaskService {
 
@@ -13,10 +19,27 @@ public interface TaskService {
 
     List<Task> getIncompleteTasks(int limit);
 
+    List<Task> getIncompleteTasksByRank(int limit);
+
     Optional<Task>  getTaskById(Long id) throws CustomException;
 
+    TaskBatchDTO getTasksByIds(List<Long> ids);
+
+    // sparse fieldsets: only the given fields are selected and returned
+
+    List<Map<String, Object>> getIncompleteTasks(int limit, Set<TaskField> fields);
+
+    List<Map<String, Object>> getIncompleteTasksByRank(int limit, Set<TaskField> fields);
+
+    Optional<Map<String, Object>> getTaskById(Long id, Set<TaskField> fields);
+
     Task markTaskAsCompleted(Long id) throws CustomException;
 
     void deleteTask(Long id) throws CustomException;
 
+    Task moveTask(Long id, TaskMoveRequestDTO taskMoveRequestDTO) throws CustomException;
+
+    // changes only the non-null fields, and only if the task is still at the given version
+    Task updateTask(Long id, TaskPatchRequestDTO taskPatchRequestDTO) throws CustomException;
+
 }
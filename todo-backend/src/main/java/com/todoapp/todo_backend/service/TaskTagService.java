@@ -0,0 +1,18 @@
+package com.todoapp.todo_backend.service;
+
+import com.todoapp.todo_backend.dto.responseDto.TaskPageDTO;
+import com.todoapp.todo_backend.exception.CustomException;
+
+import java.util.List;
+import java.util.Map;
+
+public interface TaskTagService {
+
+    /**
+     * Tags prefixed with '-' are excluded, all others are required.
+     */
+    TaskPageDTO findByTags(List<String> tags, Boolean completed, int page, int size) throws CustomException;
+
+    Map<String, Long> getTagCounts() throws CustomException;
+
+}
@@ -0,0 +1,161 @@
+package com.todoapp.todo_backend.service.impl;
+
+import com.todoapp.todo_backend.cache.TaskDataVersion;
+import com.todoapp.todo_backend.coalescing.BatchLoader;
+import com.todoapp.todo_backend.coalescing.SingleFlight;
+import com.todoapp.todo_backend.deadline.Deadline;
+import com.todoapp.todo_backend.dto.requestDto.TaskMoveRequestDTO;
+import com.todoapp.todo_backend.dto.requestDto.TaskPatchRequestDTO;
+import com.todoapp.todo_backend.dto.requestDto.TaskRequestDTO;
+import com.todoapp.todo_backend.dto.responseDto.CoalescingStatsDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskBatchDTO;
+import com.todoapp.todo_backend.exception.CoalescedReadTimeoutException;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.query.TaskField;
+import com.todoapp.todo_backend.service.ReadCoalescingService;
+import com.todoapp.todo_backend.service.TaskService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * The TaskService everything else gets injected: a front for the configured storage backend
+ * ({@code @Qualifier("taskBackend")}) that merges the reads of concurrent requests. Identical reads
+ * running at the same time share one execution through a {@link SingleFlight}, keyed with the
+ * {@link TaskDataVersion} so no read joins one that started before a committed write; single-task
+ * lookups then go through a {@link BatchLoader}, so different ids share multi-get queries. Shared
+ * executions and batches run under a deadline of {@code todo.coalescing.wait-timeout-ms}, not under the
+ * deadline of whichever request happened to start them; each request applies its own deadline only to
+ * its wait. Writes pass straight through.
+ */
+@Service
+@Primary
+public class CoalescingTaskServiceImp implements TaskService, ReadCoalescingService {
+
+    private final TaskService backend;
+    private final BatchLoader<Task> taskLoader;
+    private final SingleFlight<String, Object> reads = new SingleFlight<>();
+    private final TaskDataVersion dataVersion;
+    private final long waitTimeoutMillis;
+
+    public CoalescingTaskServiceImp(@Qualifier("taskBackend") TaskService backend,
+                                    TaskDataVersion dataVersion,
+                                    @Qualifier("applicationTaskExecutor") Executor executor,
+                                    @Value("${todo.coalescing.wait-timeout-ms:2000}") long waitTimeoutMillis,
+                                    @Value("${todo.coalescing.max-batch-size:100}") int maxBatchSize,
+                                    @Value("${todo.coalescing.max-running-batches:4}") int maxRunningBatches) {
+        this.backend = backend;
+        this.dataVersion = dataVersion;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.taskLoader = new BatchLoader<>(ids -> Deadline.runWith(waitTimeoutMillis, () -> loadTasks(ids)),
+                executor, maxBatchSize, maxRunningBatches);
+    }
+
+    @Override
+    public Task createTask(TaskRequestDTO taskRequestDTO) throws CustomException {
+        return backend.createTask(taskRequestDTO);
+    }
+
+    @Override
+    public List<Task> getIncompleteTasks(int limit) {
+        return coalesce("incomplete:" + limit, () -> backend.getIncompleteTasks(limit));
+    }
+
+    @Override
+    public List<Task> getIncompleteTasksByRank(int limit) {
+        return coalesce("ordered:" + limit, () -> backend.getIncompleteTasksByRank(limit));
+    }
+
+    @Override
+    public Optional<Task> getTaskById(Long id) throws CustomException {
+        Task task = coalesce("task:" + id, () -> taskLoader.load(id, Deadline.capMillis(Long.MAX_VALUE)));
+        if (task == null) {
+            throw new CustomException("Task not found with id " + id);
+        }
+        return Optional.of(task);
+    }
+
+    @Override
+    public TaskBatchDTO getTasksByIds(List<Long> ids) {
+        return backend.getTasksByIds(ids);
+    }
+
+    @Override
+    public List<Map<String, Object>> getIncompleteTasks(int limit, Set<TaskField> fields) {
+        return coalesce("incomplete:" + limit + ":" + TaskField.key(fields), () -> backend.getIncompleteTasks(limit, fields));
+    }
+
+    @Override
+    public List<Map<String, Object>> getIncompleteTasksByRank(int limit, Set<TaskField> fields) {
+        return coalesce("ordered:" + limit + ":" + TaskField.key(fields), () -> backend.getIncompleteTasksByRank(limit, fields));
+    }
+
+    @Override
+    public Optional<Map<String, Object>> getTaskById(Long id, Set<TaskField> fields) {
+        return coalesce("task:" + id + ":" + TaskField.key(fields), () -> backend.getTaskById(id, fields));
+    }
+
+    @Override
+    public Task markTaskAsCompleted(Long id) throws CustomException {
+        return backend.markTaskAsCompleted(id);
+    }
+
+    @Override
+    public void deleteTask(Long id) throws CustomException {
+        backend.deleteTask(id);
+    }
+
+    @Override
+    public Task moveTask(Long id, TaskMoveRequestDTO taskMoveRequestDTO) throws CustomException {
+        return backend.moveTask(id, taskMoveRequestDTO);
+    }
+
+    @Override
+    public Task updateTask(Long id, TaskPatchRequestDTO taskPatchRequestDTO) throws CustomException {
+        return backend.updateTask(id, taskPatchRequestDTO);
+    }
+
+    @Override
+    public CoalescingStatsDTO getStats() {
+        long calls = reads.getCalls();
+        long executions = reads.getExecutions();
+        double ratio = calls == 0 ? 0.0 : (double) (calls - executions) / calls;
+        return new CoalescingStatsDTO(calls, executions, reads.getTimeouts(), ratio,
+                taskLoader.getLookups(), taskLoader.getBatches());
+    }
+
+    // shared results are handed to every caller as they are; nothing on the read path modifies them
+    @SuppressWarnings("unchecked")
+    private <T> T coalesce(String key, Supplier<T> loader) {
+        T value;
+        try {
+            // a waiter gives up at its own deadline; the execution it joined goes on for the others
+            value = (T) reads.execute(key + "@" + dataVersion.current(), Deadline.capMillis(waitTimeoutMillis),
+                    () -> Deadline.runWith(waitTimeoutMillis, loader));
+        } catch (CoalescedReadTimeoutException e) {
+            Deadline.check("reading " + key);
+            throw e;
+        }
+        // the caller that ran the execution itself waited for it past its own deadline
+        Deadline.check("returning " + key);
+        return value;
+    }
+
+    private Map<Long, Task> loadTasks(List<Long> ids) {
+        Map<Long, Task> byId = new HashMap<>();
+        for (Task task : backend.getTasksByIds(ids).getTasks()) {
+            byId.put(task.getId(), task);
+        }
+        return byId;
+    }
+}
@@ -0,0 +1,147 @@
+package com.todoapp.todo_backend.service.impl;
+
+import com.todoapp.todo_backend.dto.responseDto.LatencyBucketDTO;
+import com.todoapp.todo_backend.dto.responseDto.LatencyReportDTO;
+import com.todoapp.todo_backend.event.TaskChangeType;
+import com.todoapp.todo_backend.event.TaskChangedEvent;
+import com.todoapp.todo_backend.model.CompletionLatencyRollup;
+import com.todoapp.todo_backend.model.RollupGranularity;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.repository.CompletionLatencyRollupRepository;
+import com.todoapp.todo_backend.service.CompletionLatencyService;
+import com.todoapp.todo_backend.stats.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Slf4j
+@Service
+public class CompletionLatencyServiceImp implements CompletionLatencyService {
+
+    private static final int MAX_BUCKETS_PER_REPORT = 24 * 92;
+
+    private final CompletionLatencyRollupRepository rollupRepository;
+
+    // completions not yet merged into rollup rows, guarded by this
+    private Map<RollupKey, LatencyHistogram> pending = new HashMap<>();
+
+    public CompletionLatencyServiceImp(CompletionLatencyRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangeType.COMPLETED) {
+            recordCompletion(event.getTask());
+        }
+    }
+
+    @Override
+    public void recordCompletion(Task task) {
+        if (task == null || task.getCreatedAt() == null || task.getCompletedAt() == null) {
+            return;
+        }
+        long latencyMillis = Duration.between(task.getCreatedAt(), task.getCompletedAt()).toMillis();
+        synchronized (this) {
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                RollupKey key = new RollupKey(granularity, granularity.bucketStart(task.getCompletedAt()));
+                pending.computeIfAbsent(key, k -> new LatencyHistogram()).record(latencyMillis);
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${todo.reports.latency.flush-interval-ms:60000}")
+    public void flush() {
+        Map<RollupKey, LatencyHistogram> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        // one short transaction per row; a conflicting writer on another node only delays that row
+        for (Map.Entry<RollupKey, LatencyHistogram> entry : batch.entrySet()) {
+            RollupKey key = entry.getKey();
+            try {
+                CompletionLatencyRollup rollup = rollupRepository
+                        .findByGranularityAndBucketStart(key.granularity(), key.bucketStart())
+                        .orElseGet(() -> newRollup(key));
+                LatencyHistogram merged = LatencyHistogram.fromBytes(rollup.getHistogram());
+                merged.merge(entry.getValue());
+                rollup.setHistogram(merged.toBytes());
+                rollup.setSampleCount(merged.getTotalCount());
+                rollupRepository.save(rollup);
+            } catch (RuntimeException e) {
+                // keep the samples for the next flush instead of losing them
+                synchronized (this) {
+                    pending.merge(key, entry.getValue(), (a, b) -> {
+                        a.merge(b);
+                        return a;
+                    });
+                }
+                log.warn("Failed to flush completion latency rollup {}, will retry: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LatencyReportDTO getReport(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from
+                : (granularity == RollupGranularity.HOUR ? end.minusHours(24) : end.minusDays(30));
+        start = granularity.bucketStart(start);
+
+        TreeMap<LocalDateTime, LatencyHistogram> buckets = new TreeMap<>();
+        for (CompletionLatencyRollup rollup : rollupRepository
+                .findByGranularityAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(granularity, start, end)) {
+            buckets.put(rollup.getBucketStart(), LatencyHistogram.fromBytes(rollup.getHistogram()));
+        }
+        synchronized (this) {
+            for (Map.Entry<RollupKey, LatencyHistogram> entry : pending.entrySet()) {
+                RollupKey key = entry.getKey();
+                if (key.granularity() == granularity && !key.bucketStart().isBefore(start) && key.bucketStart().isBefore(end)) {
+                    buckets.computeIfAbsent(key.bucketStart(), k -> new LatencyHistogram()).merge(entry.getValue());
+                }
+            }
+        }
+
+        LatencyHistogram total = new LatencyHistogram();
+        List<LatencyBucketDTO> bucketDTOs = new ArrayList<>();
+        for (Map.Entry<LocalDateTime, LatencyHistogram> entry : buckets.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            total.merge(histogram);
+            if (bucketDTOs.size() < MAX_BUCKETS_PER_REPORT) {
+                bucketDTOs.add(new LatencyBucketDTO(entry.getKey(), histogram.getTotalCount(),
+                        histogram.valueAtQuantile(0.50), histogram.valueAtQuantile(0.90),
+                        histogram.valueAtQuantile(0.99), histogram.getMaxValue()));
+            }
+        }
+
+        return new LatencyReportDTO(granularity, start, end, total.getTotalCount(),
+                total.valueAtQuantile(0.50), total.valueAtQuantile(0.90), total.valueAtQuantile(0.95),
+                total.valueAtQuantile(0.99), total.getMaxValue(), bucketDTOs);
+    }
+
+    private CompletionLatencyRollup newRollup(RollupKey key) {
+        CompletionLatencyRollup rollup = new CompletionLatencyRollup();
+        rollup.setGranularity(key.granularity());
+        rollup.setBucketStart(key.bucketStart());
+        return rollup;
+    }
+
+    private record RollupKey(RollupGranularity granularity, LocalDateTime bucketStart) {
+    }
+}
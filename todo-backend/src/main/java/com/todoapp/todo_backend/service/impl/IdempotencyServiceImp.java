@@ -0,0 +1,249 @@
+package com.todoapp.todo_backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.exception.IdempotencyKeyInProgressException;
+import com.todoapp.todo_backend.exception.IdempotencyKeyReusedException;
+import com.todoapp.todo_backend.model.IdempotencyRecord;
+import com.todoapp.todo_backend.repository.IdempotencyRecordRepository;
+import com.todoapp.todo_backend.service.IdempotencyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Two tiers: a bounded map of the responses this node produced recently, and the task_idempotency
+ * table shared by all nodes. Duplicates arriving on the same node wait on the original's future; a
+ * duplicate on another node blocks on the original's uncommitted key row and then reads its response.
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImp implements IdempotencyService {
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final long waitTimeoutMillis;
+
+    // oldest first, guarded by itself
+    private final LinkedHashMap<String, StoredResponse> recent;
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyServiceImp(IdempotencyRecordRepository repository,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${todo.idempotency.ttl-minutes:1440}") long ttlMinutes,
+                                 @Value("${todo.idempotency.max-entries:10000}") int maxEntries,
+                                 @Value("${todo.idempotency.wait-timeout-ms:5000}") long waitTimeoutMillis) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.recent = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public <T> IdempotentResult<T> execute(String scope, String key, Object request, Class<T> responseType,
+                                           IdempotentAction<T> action) throws CustomException {
+        String storeKey = scope + ":" + key;
+        String requestHash = hash(request);
+
+        StoredResponse stored = findRecent(storeKey);
+        if (stored != null) {
+            return replay(stored, requestHash, responseType);
+        }
+        CompletableFuture<StoredResponse> original = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(storeKey, original);
+        if (running != null) {
+            return replay(await(running), requestHash, responseType);
+        }
+        try {
+            Optional<IdempotencyRecord> existing = repository.findById(storeKey);
+            if (existing.isPresent() && existing.get().getExpiresAt().isAfter(LocalDateTime.now())) {
+                stored = remember(storeKey, existing.get());
+                original.complete(stored);
+                return replay(stored, requestHash, responseType);
+            }
+            existing.ifPresent(expired -> transactionTemplate.executeWithoutResult(status -> repository.delete(expired)));
+
+            T value;
+            IdempotencyRecord record = new IdempotencyRecord();
+            try {
+                value = transactionTemplate.execute(status -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    record.setIdempotencyKey(storeKey);
+                    record.setRequestHash(requestHash);
+                    record.setCreatedAt(now);
+                    record.setExpiresAt(now.plus(ttl));
+                    claim(record);
+                    T result = runAction(action);
+                    record.setResponseBody(toJson(result));
+                    repository.save(record);
+                    return result;
+                });
+            } catch (KeyClaimedElsewhereException e) {
+                IdempotencyRecord winner = repository.findById(storeKey)
+                        .orElseThrow(() -> new IdempotencyKeyInProgressException("Request with this Idempotency-Key is still in progress"));
+                stored = remember(storeKey, winner);
+                original.complete(stored);
+                return replay(stored, requestHash, responseType);
+            }
+            original.complete(remember(storeKey, record));
+            return new IdempotentResult<>(value, false);
+        } catch (ActionFailedException e) {
+            original.completeExceptionally(e.getCause());
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            original.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(storeKey, original);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${todo.idempotency.purge-interval-ms:600000}")
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (recent) {
+            recent.values().removeIf(response -> !response.expiresAt().isAfter(now));
+        }
+        Integer purged = transactionTemplate.execute(status -> repository.deleteExpired(now));
+        if (purged != null && purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+        return purged == null ? 0 : purged;
+    }
+
+    private StoredResponse findRecent(String storeKey) {
+        synchronized (recent) {
+            StoredResponse stored = recent.get(storeKey);
+            if (stored != null && !stored.expiresAt().isAfter(LocalDateTime.now())) {
+                recent.remove(storeKey);
+                return null;
+            }
+            return stored;
+        }
+    }
+
+    private StoredResponse remember(String storeKey, IdempotencyRecord record) {
+        StoredResponse stored = new StoredResponse(record.getRequestHash(), record.getResponseBody(), record.getExpiresAt());
+        synchronized (recent) {
+            recent.put(storeKey, stored);
+        }
+        return stored;
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) throws CustomException {
+        try {
+            return running.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException("Request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("Interrupted while waiting for the original request");
+        } catch (ExecutionException e) {
+            // the original failed and stored nothing; its duplicates fail the same way
+            if (e.getCause() instanceof CustomException customException) {
+                throw customException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private <T> IdempotentResult<T> replay(StoredResponse stored, String requestHash, Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException("Idempotency-Key was already used for a different request");
+        }
+        try {
+            return new IdempotentResult<>(objectMapper.readValue(stored.body(), responseType), true);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void claim(IdempotencyRecord record) {
+        try {
+            // inserted before the action runs: a duplicate on another node blocks on this row until we commit
+            repository.saveAndFlush(record);
+        } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+            throw new KeyClaimedElsewhereException();
+        }
+    }
+
+    private static <T> T runAction(IdempotentAction<T> action) {
+        try {
+            return action.run();
+        } catch (CustomException e) {
+            // rolls the key row back with the write, so the key can be retried
+            throw new ActionFailedException(e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record StoredResponse(String requestHash, String body, LocalDateTime expiresAt) {
+    }
+
+    private static final class ActionFailedException extends RuntimeException {
+
+        ActionFailedException(CustomException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized CustomException getCause() {
+            return (CustomException) super.getCause();
+        }
+    }
+
+    private static final class KeyClaimedElsewhereException extends RuntimeException {
+    }
+}
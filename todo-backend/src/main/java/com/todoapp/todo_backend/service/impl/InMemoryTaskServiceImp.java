@@ -0,0 +1,293 @@
+package com.todoapp.todo_backend.service.impl;
+
+import com.todoapp.todo_backend.dto.requestDto.TaskMoveRequestDTO;
+import com.todoapp.todo_backend.dto.requestDto.TaskPatchRequestDTO;
+import com.todoapp.todo_backend.dto.requestDto.TaskRequestDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskBatchDTO;
+import com.todoapp.todo_backend.event.TaskChangeType;
+import com.todoapp.todo_backend.event.TaskChangedEvent;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.exception.TaskVersionConflictException;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.query.TaskField;
+import com.todoapp.todo_backend.service.TaskService;
+import com.todoapp.todo_backend.storage.StripedLongMap;
+import com.todoapp.todo_backend.util.FractionalRank;
+import com.todoapp.todo_backend.util.TaskTags;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Volatile TaskService for embedded use and benchmarks ({@code todo.storage=memory}). Tasks are kept in a
+ * {@link StripedLongMap} keyed by the primitive id, the incomplete ones additionally in skip lists ordered
+ * newest first and by rank, so lists are read straight off the front. Stored tasks are never modified;
+ * every write replaces the task with a copy under the lock of its map stripe, so the returned tasks are
+ * consistent snapshots and must be treated as read-only.
+ */
+@Service
+@Qualifier("taskBackend")
+@ConditionalOnProperty(name = "todo.storage", havingValue = "memory")
+public class InMemoryTaskServiceImp implements TaskService {
+
+    private static final Comparator<Task> NEWEST_FIRST = (a, b) -> {
+        int byCreatedAt = b.getCreatedAt().compareTo(a.getCreatedAt());
+        return byCreatedAt != 0 ? byCreatedAt : Long.compare(b.getId(), a.getId());
+    };
+    private static final Comparator<Task> BY_RANK = (a, b) -> {
+        int byRank = a.getRank().compareTo(b.getRank());
+        return byRank != 0 ? byRank : Long.compare(a.getId(), b.getId());
+    };
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final StripedLongMap<Task> tasks = new StripedLongMap<>(64, 1024);
+    private final ConcurrentSkipListSet<Task> incompleteNewestFirst = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+    private final ConcurrentSkipListSet<Task> incompleteByRank = new ConcurrentSkipListSet<>(BY_RANK);
+    private final AtomicLong lastId = new AtomicLong();
+    // a new rank depends on its neighbours, so creates and moves pick ranks one at a time
+    private final Object rankLock = new Object();
+
+    public InMemoryTaskServiceImp(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Task createTask(TaskRequestDTO taskRequestDTO) throws CustomException {
+        if (taskRequestDTO.getTitle() == null || taskRequestDTO.getTitle().trim().isEmpty()) {
+            throw new CustomException("Task title cannot be empty");
+        }
+
+        Task task = new Task();
+        task.setId(lastId.incrementAndGet());
+        task.setTitle(taskRequestDTO.getTitle());
+        task.setDescription(taskRequestDTO.getDescription());
+        task.setDueAt(taskRequestDTO.getDueAt());
+        task.setTags(TaskTags.normalize(taskRequestDTO.getTags()));
+        task.setCompleted(false);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setVersion(0L);
+        synchronized (rankLock) {
+            task.setRank(FractionalRank.between(null, minIncompleteRank()));
+            tasks.compute(task.getId(), (id, current) -> {
+                incompleteNewestFirst.add(task);
+                incompleteByRank.add(task);
+                return task;
+            });
+        }
+        eventPublisher.publishEvent(new TaskChangedEvent(TaskChangeType.CREATED, task.getId(), task));
+        return task;
+    }
+
+    @Override
+    public List<Task> getIncompleteTasks(int limit) {
+        return first(incompleteNewestFirst, limit);
+    }
+
+    @Override
+    public List<Task> getIncompleteTasksByRank(int limit) {
+        return first(incompleteByRank, limit);
+    }
+
+    @Override
+    public Optional<Task> getTaskById(Long id) throws CustomException {
+        Task task = tasks.get(id);
+        if (task == null) {
+            throw new CustomException("Task not found with id " + id);
+        }
+        return Optional.of(task);
+    }
+
+    @Override
+    public TaskBatchDTO getTasksByIds(List<Long> ids) {
+        List<Task> found = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Task task = tasks.get(id);
+            if (task != null) {
+                found.add(task);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new TaskBatchDTO(found, missingIds);
+    }
+
+    @Override
+    public List<Map<String, Object>> getIncompleteTasks(int limit, Set<TaskField> fields) {
+        return first(incompleteNewestFirst, limit).stream().map(task -> TaskField.project(task, fields)).toList();
+    }
+
+    @Override
+    public List<Map<String, Object>> getIncompleteTasksByRank(int limit, Set<TaskField> fields) {
+        return first(incompleteByRank, limit).stream().map(task -> TaskField.project(task, fields)).toList();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> getTaskById(Long id, Set<TaskField> fields) {
+        return Optional.ofNullable(tasks.get(id)).map(task -> TaskField.project(task, fields));
+    }
+
+    @Override
+    public Task markTaskAsCompleted(Long id) throws CustomException {
+        boolean[] changed = new boolean[1];
+        Task completedTask = tasks.compute(id, (key, current) -> {
+            if (current == null || Boolean.TRUE.equals(current.getCompleted())) {
+                return current;
+            }
+            changed[0] = true;
+            Task completed = copy(current);
+            completed.setCompleted(true);
+            completed.setCompletedAt(LocalDateTime.now());
+            completed.setVersion(current.getVersion() + 1);
+            incompleteNewestFirst.remove(current);
+            incompleteByRank.remove(current);
+            return completed;
+        });
+        if (completedTask == null) {
+            throw new CustomException("Task not found with id " + id);
+        }
+        if (changed[0]) {
+            eventPublisher.publishEvent(new TaskChangedEvent(TaskChangeType.COMPLETED, id, completedTask));
+        }
+        return completedTask;
+    }
+
+    @Override
+    public void deleteTask(Long id) throws CustomException {
+        Task deletedTask = tasks.remove(id);
+        if (deletedTask == null) {
+            throw new CustomException("Task not found with id " + id);
+        }
+        incompleteNewestFirst.remove(deletedTask);
+        incompleteByRank.remove(deletedTask);
+        eventPublisher.publishEvent(new TaskChangedEvent(TaskChangeType.DELETED, id, null));
+    }
+
+    @Override
+    public Task moveTask(Long id, TaskMoveRequestDTO taskMoveRequestDTO) throws CustomException {
+        Long previousId = taskMoveRequestDTO.getPreviousId();
+        Long nextId = taskMoveRequestDTO.getNextId();
+        if (previousId == null && nextId == null) {
+            throw new CustomException("Either previousId or nextId is required");
+        }
+        if (id.equals(previousId) || id.equals(nextId)) {
+            throw new CustomException("A task cannot be moved next to itself");
+        }
+        Task movedTask;
+        synchronized (rankLock) {
+            getTaskById(id);
+            String lowerRank = previousId == null ? null : getRank(previousId);
+            String upperRank = nextId == null ? null : getRank(nextId);
+            if (lowerRank != null && upperRank != null && lowerRank.compareTo(upperRank) >= 0) {
+                throw new CustomException("Task " + previousId + " is not ordered before task " + nextId);
+            }
+            String rank = FractionalRank.between(lowerRank, upperRank);
+            movedTask = tasks.compute(id, (key, current) -> {
+                if (current == null) {
+                    return null;
+                }
+                Task moved = copy(current);
+                moved.setRank(rank);
+                moved.setVersion(current.getVersion() + 1);
+                if (incompleteByRank.remove(current)) {
+                    incompleteByRank.add(moved);
+                    incompleteNewestFirst.remove(current);
+                    incompleteNewestFirst.add(moved);
+                }
+                return moved;
+            });
+        }
+        if (movedTask == null) {
+            throw new CustomException("Task not found with id " + id);
+        }
+        eventPublisher.publishEvent(new TaskChangedEvent(TaskChangeType.MOVED, id, movedTask));
+        return movedTask;
+    }
+
+    @Override
+    public Task updateTask(Long id, TaskPatchRequestDTO taskPatchRequestDTO) throws CustomException {
+        taskPatchRequestDTO.validate();
+        Long version = taskPatchRequestDTO.getVersion();
+        Task updatedTask = tasks.compute(id, (key, current) -> {
+            if (current == null) {
+                return null;
+            }
+            if (!version.equals(current.getVersion())) {
+                throw new TaskVersionConflictException("Task " + id + " is no longer at version " + version);
+            }
+            Task updated = copy(current);
+            if (taskPatchRequestDTO.isProvided(TaskField.TITLE)) {
+                updated.setTitle(taskPatchRequestDTO.getTitle());
+            }
+            if (taskPatchRequestDTO.isProvided(TaskField.DESCRIPTION)) {
+                updated.setDescription(taskPatchRequestDTO.getDescription());
+            }
+            if (taskPatchRequestDTO.isProvided(TaskField.DUE_AT)) {
+                updated.setDueAt(taskPatchRequestDTO.getDueAt());
+            }
+            updated.setVersion(version + 1);
+            if (incompleteByRank.remove(current)) {
+                incompleteByRank.add(updated);
+                incompleteNewestFirst.remove(current);
+                incompleteNewestFirst.add(updated);
+            }
+            return updated;
+        });
+        if (updatedTask == null) {
+            throw new CustomException("Task not found with id " + id);
+        }
+        eventPublisher.publishEvent(new TaskChangedEvent(TaskChangeType.UPDATED, id, updatedTask));
+        return updatedTask;
+    }
+
+    private String minIncompleteRank() {
+        Task first = incompleteByRank.isEmpty() ? null : incompleteByRank.first();
+        return first == null ? null : first.getRank();
+    }
+
+    private String getRank(Long id) throws CustomException {
+        String rank = getTaskById(id).get().getRank();
+        if (rank == null) {
+            throw new CustomException("Task " + id + " has no rank yet");
+        }
+        return rank;
+    }
+
+    private static List<Task> first(ConcurrentSkipListSet<Task> index, int limit) {
+        List<Task> result = new ArrayList<>(Math.min(limit, 64));
+        Iterator<Task> iterator = index.iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    private static Task copy(Task task) {
+        Task copy = new Task();
+        copy.setId(task.getId());
+        copy.setTitle(task.getTitle());
+        copy.setDescription(task.getDescription());
+        copy.setCompleted(task.getCompleted());
+        copy.setCreatedAt(task.getCreatedAt());
+        copy.setCompletedAt(task.getCompletedAt());
+        copy.setDueAt(task.getDueAt());
+        copy.setRank(task.getRank());
+        copy.setVersion(task.getVersion());
+        // tags are set once at create and never modified, so the set can be shared
+        copy.setTags(task.getTags());
+        return copy;
+    }
+}
@@ -0,0 +1,245 @@
+package com.todoapp.todo_backend.service.impl;
+
+import com.todoapp.todo_backend.dto.requestDto.TaskMoveRequestDTO;
+import com.todoapp.todo_backend.dto.requestDto.TaskPatchRequestDTO;
+import com.todoapp.todo_backend.dto.requestDto.TaskRequestDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskBatchDTO;
+import com.todoapp.todo_backend.event.TaskChangeType;
+import com.todoapp.todo_backend.event.TaskChangedEvent;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.exception.TaskVersionConflictException;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.query.TaskField;
+import com.todoapp.todo_backend.service.TaskService;
+import com.todoapp.todo_backend.storage.TaskLogStore;
+import com.todoapp.todo_backend.util.FractionalRank;
+import com.todoapp.todo_backend.util.TaskTags;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * TaskService on the embedded {@link TaskLogStore}, for deployments without a database server
+ * ({@code todo.storage=log}). The store serializes single writes; writes that read the task first, and
+ * deletes, hold this service's monitor so that a delete cannot land between such a read and its put and
+ * be undone by it. Task hierarchies live in the jpa backend's closure table and are not supported here.
+ */
+@Service
+@Qualifier("taskBackend")
+@ConditionalOnProperty(name = "todo.storage", havingValue = "log")
+public class LogTaskServiceImp implements TaskService {
+
+    private final TaskLogStore store;
+    private final ApplicationEventPublisher eventPublisher;
+    private final double compactionLiveRatio;
+
+    @Autowired
+    public LogTaskServiceImp(ApplicationEventPublisher eventPublisher,
+                             @Value("${todo.storage.log.dir:./data/task-log}") String directory,
+                             @Value("${todo.storage.log.segment-size-mb:64}") int segmentSizeMb,
+                             @Value("${todo.storage.log.force-on-write:false}") boolean forceOnWrite,
+                             @Value("${todo.storage.log.compaction-live-ratio:0.5}") double compactionLiveRatio) throws IOException {
+        this(new TaskLogStore(Path.of(directory), segmentSizeMb * 1024 * 1024, forceOnWrite), eventPublisher, compactionLiveRatio);
+    }
+
+    public LogTaskServiceImp(TaskLogStore store, ApplicationEventPublisher eventPublisher, double compactionLiveRatio) {
+        this.store = store;
+        this.eventPublisher = eventPublisher;
+        this.compactionLiveRatio = compactionLiveRatio;
+    }
+
+    @Override
+    public Task createTask(TaskRequestDTO taskRequestDTO) throws CustomException {
+        if (taskRequestDTO.getTitle() == null || taskRequestDTO.getTitle().trim().isEmpty()) {
+            throw new CustomException("Task title cannot be empty");
+        }
+        if (taskRequestDTO.getParentId() != null) {
+            throw new CustomException("Subtasks are not supported with todo.storage=log");
+        }
+
+        Task task = new Task();
+        task.setTitle(taskRequestDTO.getTitle());
+        task.setDescription(taskRequestDTO.getDescription());
+        task.setDueAt(taskRequestDTO.getDueAt());
+        task.setTags(TaskTags.normalize(taskRequestDTO.getTags()));
+        task.setCompleted(false);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setVersion(0L);
+        Task savedTask;
+        // rank and insert must not interleave with another create
+        synchronized (this) {
+            task.setRank(FractionalRank.between(null, store.findMinIncompleteRank()));
+            savedTask = store.put(task);
+        }
+        eventPublisher.publishEvent(new TaskChangedEvent(TaskChangeType.CREATED, savedTask.getId(), savedTask));
+        return savedTask;
+    }
+
+    @Override
+    public List<Task> getIncompleteTasks(int limit) {
+        return store.findIncompleteNewestFirst(limit);
+    }
+
+    @Override
+    public List<Task> getIncompleteTasksByRank(int limit) {
+        return store.findIncompleteByRank(limit);
+    }
+
+    @Override
+    public Optional<Task> getTaskById(Long id) throws CustomException {
+        Task task = store.get(id).orElseThrow(
+                () -> new CustomException("Task not found with id " + id)
+        );
+        return Optional.of(task);
+    }
+
+    @Override
+    public TaskBatchDTO getTasksByIds(List<Long> ids) {
+        List<Task> found = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Task task = store.get(id).orElse(null);
+            if (task != null) {
+                found.add(task);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new TaskBatchDTO(found, missingIds);
+    }
+
+    @Override
+    public List<Map<String, Object>> getIncompleteTasks(int limit, Set<TaskField> fields) {
+        return store.findIncompleteNewestFirst(limit).stream().map(task -> TaskField.project(task, fields)).toList();
+    }
+
+    @Override
+    public List<Map<String, Object>> getIncompleteTasksByRank(int limit, Set<TaskField> fields) {
+        return store.findIncompleteByRank(limit).stream().map(task -> TaskField.project(task, fields)).toList();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> getTaskById(Long id, Set<TaskField> fields) {
+        return store.get(id).map(task -> TaskField.project(task, fields));
+    }
+
+    @Override
+    public Task markTaskAsCompleted(Long id) throws CustomException {
+        Task completedTask;
+        synchronized (this) {
+            Task task = store.get(id).orElseThrow(
+                    () -> new CustomException("Task not found with id " + id)
+            );
+            if (Boolean.TRUE.equals(task.getCompleted())) {
+                return task;
+            }
+            task.setCompleted(true);
+            task.setCompletedAt(LocalDateTime.now());
+            task.setVersion(task.getVersion() + 1);
+            completedTask = store.put(task);
+        }
+        eventPublisher.publishEvent(new TaskChangedEvent(TaskChangeType.COMPLETED, id, completedTask));
+        return completedTask;
+    }
+
+    @Override
+    public void deleteTask(Long id) throws CustomException {
+        synchronized (this) {
+            if (!store.delete(id)) {
+                throw new CustomException("Task not found with id " + id);
+            }
+        }
+        eventPublisher.publishEvent(new TaskChangedEvent(TaskChangeType.DELETED, id, null));
+    }
+
+    @Override
+    public Task moveTask(Long id, TaskMoveRequestDTO taskMoveRequestDTO) throws CustomException {
+        Long previousId = taskMoveRequestDTO.getPreviousId();
+        Long nextId = taskMoveRequestDTO.getNextId();
+        if (previousId == null && nextId == null) {
+            throw new CustomException("Either previousId or nextId is required");
+        }
+        if (id.equals(previousId) || id.equals(nextId)) {
+            throw new CustomException("A task cannot be moved next to itself");
+        }
+        Task movedTask;
+        synchronized (this) {
+            Task task = store.get(id).orElseThrow(
+                    () -> new CustomException("Task not found with id " + id)
+            );
+            String lowerRank = previousId == null ? null : getRank(previousId);
+            String upperRank = nextId == null ? null : getRank(nextId);
+            if (lowerRank != null && upperRank != null && lowerRank.compareTo(upperRank) >= 0) {
+                throw new CustomException("Task " + previousId + " is not ordered before task " + nextId);
+            }
+            task.setRank(FractionalRank.between(lowerRank, upperRank));
+            task.setVersion(task.getVersion() + 1);
+            movedTask = store.put(task);
+        }
+        eventPublisher.publishEvent(new TaskChangedEvent(TaskChangeType.MOVED, id, movedTask));
+        return movedTask;
+    }
+
+    @Override
+    public Task updateTask(Long id, TaskPatchRequestDTO taskPatchRequestDTO) throws CustomException {
+        taskPatchRequestDTO.validate();
+        Long version = taskPatchRequestDTO.getVersion();
+        Task updatedTask;
+        synchronized (this) {
+            Task task = store.get(id).orElseThrow(
+                    () -> new CustomException("Task not found with id " + id)
+            );
+            if (!version.equals(task.getVersion())) {
+                throw new TaskVersionConflictException("Task " + id + " is no longer at version " + version);
+            }
+            if (taskPatchRequestDTO.isProvided(TaskField.TITLE)) {
+                task.setTitle(taskPatchRequestDTO.getTitle());
+            }
+            if (taskPatchRequestDTO.isProvided(TaskField.DESCRIPTION)) {
+                task.setDescription(taskPatchRequestDTO.getDescription());
+            }
+            if (taskPatchRequestDTO.isProvided(TaskField.DUE_AT)) {
+                task.setDueAt(taskPatchRequestDTO.getDueAt());
+            }
+            task.setVersion(version + 1);
+            updatedTask = store.put(task);
+        }
+        eventPublisher.publishEvent(new TaskChangedEvent(TaskChangeType.UPDATED, id, updatedTask));
+        return updatedTask;
+    }
+
+    @Scheduled(fixedDelayString = "${todo.storage.log.compaction-check-ms:60000}")
+    public void compactLog() {
+        store.compact(compactionLiveRatio);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        store.close();
+    }
+
+    private String getRank(Long id) throws CustomException {
+        String rank = store.get(id).orElseThrow(
+                () -> new CustomException("Task not found with id " + id)
+        ).getRank();
+        if (rank == null) {
+            throw new CustomException("Task " + id + " has no rank yet");
+        }
+        return rank;
+    }
+}
@@ -0,0 +1,208 @@
+package com.todoapp.todo_backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.todo_backend.dto.responseDto.OutboxStatsDTO;
+import com.todoapp.todo_backend.event.TaskChangeType;
+import com.todoapp.todo_backend.event.TaskChangedEvent;
+import com.todoapp.todo_backend.model.OutboxEvent;
+import com.todoapp.todo_backend.outbox.TaskEventSink;
+import com.todoapp.todo_backend.repository.OutboxEventRepository;
+import com.todoapp.todo_backend.service.OutboxService;
+import com.todoapp.todo_backend.stats.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Relays outbox events to the sink in id order. Events of one task are delivered in the order they
+ * were written: an event is held back while an earlier one of its task is still pending, whether it
+ * waits for a retry or is being delivered by another node. An event that failed
+ * {@code todo.outbox.max-attempts} times is parked as a dead letter and no longer holds back the
+ * events of its task after it.
+ */
+@Slf4j
+@Service
+public class OutboxServiceImp implements OutboxService {
+
+    private final OutboxEventRepository outboxRepository;
+    private final TaskEventSink sink;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retryDelay;
+    private final int maxAttempts;
+
+    // guarded by this
+    private final LatencyHistogram lag = new LatencyHistogram();
+    private long failedBatches;
+
+    public OutboxServiceImp(OutboxEventRepository outboxRepository,
+                            TaskEventSink sink,
+                            ObjectMapper objectMapper,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${todo.outbox.batch-size:200}") int batchSize,
+                            @Value("${todo.outbox.retry-delay-ms:5000}") long retryDelayMillis,
+                            @Value("${todo.outbox.max-attempts:60}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retryDelay = Duration.ofMillis(retryDelayMillis);
+        this.maxAttempts = maxAttempts;
+    }
+
+    // same transaction as the task write, so an event exists exactly when its write committed
+    @EventListener
+    @Transactional
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangeType.MOVED) {
+            return;
+        }
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setEventType(event.getType());
+        outboxEvent.setTaskId(event.getTaskId());
+        outboxEvent.setPayload(event.getTask() == null ? null : toJson(event.getTask()));
+        LocalDateTime now = LocalDateTime.now();
+        outboxEvent.setCreatedAt(now);
+        outboxEvent.setAvailableAt(now);
+        outboxRepository.save(outboxEvent);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${todo.outbox.poll-interval-ms:500}")
+    public int relay() {
+        int total = 0;
+        Relayed relayed;
+        do {
+            relayed = relayBatch();
+            total += relayed.delivered();
+            // a full claim may be followed by more; one that delivered nothing was all held back
+        } while (relayed.claimed() == batchSize && relayed.delivered() > 0);
+        return total;
+    }
+
+    @Override
+    public OutboxStatsDTO getStats() {
+        long pending = outboxRepository.countByDeadLetteredAtIsNull();
+        long deadLettered = outboxRepository.countByDeadLetteredAtIsNotNull();
+        long oldestPendingMillis = outboxRepository.findFirstByDeadLetteredAtIsNullOrderByIdAsc()
+                .map(event -> Math.max(0, Duration.between(event.getCreatedAt(), LocalDateTime.now()).toMillis()))
+                .orElse(0L);
+        synchronized (this) {
+            return new OutboxStatsDTO(pending, oldestPendingMillis, deadLettered, lag.getTotalCount(), failedBatches,
+                    lag.valueAtQuantile(0.50), lag.valueAtQuantile(0.90), lag.valueAtQuantile(0.99), lag.getMaxValue());
+        }
+    }
+
+    private Relayed relayBatch() {
+        List<Long> deliveringIds = new ArrayList<>();
+        List<OutboxEvent> delivered;
+        int[] claimedCount = new int[1];
+        try {
+            // the claimed rows stay locked until the batch is delivered and deleted; relays on other
+            // nodes skip them instead of waiting or sending them twice
+            delivered = transactionTemplate.execute(status -> {
+                List<OutboxEvent> claimed = outboxRepository.claimAvailable(LocalDateTime.now(), PageRequest.of(0, batchSize));
+                claimedCount[0] = claimed.size();
+                List<OutboxEvent> batch = inTaskOrder(claimed);
+                batch.forEach(event -> deliveringIds.add(event.getId()));
+                if (!batch.isEmpty()) {
+                    deliver(batch);
+                    outboxRepository.deleteAllInBatch(batch);
+                }
+                return batch;
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                failedBatches++;
+            }
+            log.warn("Delivering {} task events failed, retrying in {} ms: {}", deliveringIds.size(), retryDelay.toMillis(), e.getMessage());
+            if (!deliveringIds.isEmpty()) {
+                int deadLettered = transactionTemplate.execute(status -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    outboxRepository.markFailed(deliveringIds, now.plus(retryDelay));
+                    return outboxRepository.deadLetterExhausted(deliveringIds, maxAttempts, now);
+                });
+                if (deadLettered > 0) {
+                    log.error("Gave up on {} task events after {} failed deliveries", deadLettered, maxAttempts);
+                }
+            }
+            return new Relayed(claimedCount[0], 0);
+        }
+        if (delivered == null || delivered.isEmpty()) {
+            return new Relayed(claimedCount[0], 0);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            for (OutboxEvent event : delivered) {
+                lag.record(Duration.between(event.getCreatedAt(), now).toMillis());
+            }
+        }
+        return new Relayed(claimedCount[0], delivered.size());
+    }
+
+    // drops the claimed events that an earlier pending event of the same task has to go before
+    private List<OutboxEvent> inTaskOrder(List<OutboxEvent> claimed) {
+        if (claimed.isEmpty()) {
+            return claimed;
+        }
+        Set<Long> taskIds = new HashSet<>();
+        List<Long> claimedIds = new ArrayList<>(claimed.size());
+        for (OutboxEvent event : claimed) {
+            taskIds.add(event.getTaskId());
+            claimedIds.add(event.getId());
+        }
+        Map<Long, Long> firstUnclaimedIds = new HashMap<>();
+        for (Object[] row : outboxRepository.findFirstUnclaimedIds(taskIds, claimedIds)) {
+            firstUnclaimedIds.put((Long) row[0], (Long) row[1]);
+        }
+        if (firstUnclaimedIds.isEmpty()) {
+            return claimed;
+        }
+        List<OutboxEvent> batch = new ArrayList<>(claimed.size());
+        for (OutboxEvent event : claimed) {
+            Long blocking = firstUnclaimedIds.get(event.getTaskId());
+            if (blocking == null || event.getId() < blocking) {
+                batch.add(event);
+            }
+        }
+        return batch;
+    }
+
+    private void deliver(List<OutboxEvent> batch) {
+        try {
+            sink.deliver(batch);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Relayed(int claimed, int delivered) {
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize task event", e);
+        }
+    }
+}
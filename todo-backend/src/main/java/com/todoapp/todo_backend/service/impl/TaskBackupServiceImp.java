@@ -0,0 +1,329 @@
+package com.todoapp.todo_backend.service.impl;
+
+import com.todoapp.todo_backend.backup.TaskSnapshotReader;
+import com.todoapp.todo_backend.backup.TaskSnapshotWriter;
+import com.todoapp.todo_backend.cache.TaskInvalidationPoller;
+import com.todoapp.todo_backend.dto.responseDto.TaskBackupDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskRestoreDTO;
+import com.todoapp.todo_backend.event.TaskInvalidatedEvent;
+import com.todoapp.todo_backend.exception.BackupInProgressException;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.repository.TaskRepository;
+import com.todoapp.todo_backend.service.TaskBackupService;
+import com.todoapp.todo_backend.service.TaskChangeService;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Backups page through all tasks by id inside one read-only repeatable-read transaction, which gives
+ * a consistent snapshot from MVCC without locking anything writers need. Restores check the whole
+ * file first and then replace the tasks in a single transaction with batched JDBC inserts; the
+ * hierarchy tables are rebuilt with set-based statements once the tasks are in, and the in-memory
+ * views are rebuilt after commit.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "todo.storage", havingValue = "jpa", matchIfMissing = true)
+public class TaskBackupServiceImp implements TaskBackupService {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+
+    private static final String INSERT_TASK = "insert into task (id, title, description, completed, created_at, "
+            + "completed_at, due_at, sort_rank, parent_id, version) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TAG = "insert into task_tag (task_id, tag) values (?, ?)";
+    // every path of depth d + 1 is a path of depth d extended by one child
+    private static final String INSERT_CLOSURE_LEVEL = "insert into task_closure (ancestor_id, descendant_id, depth) "
+            + "select c.ancestor_id, t.id, c.depth + 1 from task_closure c join task t on t.parent_id = c.descendant_id "
+            + "where c.depth = ?";
+    private static final String INSERT_SUBTREE_COUNTS = "insert into task_subtree_count (task_id, tasks, completed, self_completed) "
+            + "select a.id, count(*), sum(case when d.completed = true then 1 else 0 end), a.completed "
+            + "from task a join task_closure c on c.ancestor_id = a.id join task d on d.id = c.descendant_id "
+            + "group by a.id, a.completed";
+
+    private final TaskRepository taskRepository;
+    private final TaskChangeService taskChangeService;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    // null when cross-replica invalidation is off
+    private final TaskInvalidationPoller invalidationPoller;
+    private final TransactionTemplate snapshotTemplate;
+    private final TransactionTemplate restoreTemplate;
+    private final Path directory;
+    private final int tasksPerChunk;
+    private final int batchSize;
+
+    // one backup or restore at a time per node
+    private final ReentrantLock running = new ReentrantLock();
+
+    public TaskBackupServiceImp(TaskRepository taskRepository,
+                                TaskChangeService taskChangeService,
+                                EntityManager entityManager,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher,
+                                ObjectProvider<TaskInvalidationPoller> invalidationPoller,
+                                @Value("${todo.backup.dir:./data/backups}") String directory,
+                                @Value("${todo.backup.tasks-per-chunk:5000}") int tasksPerChunk,
+                                @Value("${todo.backup.restore-batch-size:1000}") int batchSize) {
+        this.taskRepository = taskRepository;
+        this.taskChangeService = taskChangeService;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.invalidationPoller = invalidationPoller.getIfAvailable();
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTemplate.setReadOnly(true);
+        this.restoreTemplate = new TransactionTemplate(transactionManager);
+        this.directory = Paths.get(directory);
+        this.tasksPerChunk = tasksPerChunk;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public TaskBackupDTO createBackup() throws CustomException {
+        acquire();
+        Path partial = null;
+        try {
+            Files.createDirectories(directory);
+            LocalDateTime createdAt = LocalDateTime.now();
+            String fileName = "tasks-" + FILE_TIME.format(createdAt) + ".snap";
+            Path target = directory.resolve(fileName);
+            // written under another name first, so an interrupted backup never looks like a complete one
+            partial = directory.resolve(fileName + ".part");
+            long startedAt = System.nanoTime();
+            Path file = partial;
+            TaskSnapshotWriter writer = snapshotTemplate.execute(status -> writeSnapshot(file, createdAt));
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            log.info("Backed up {} tasks to {} in {} ms", writer.getTasks(), target, elapsedMillis);
+            return new TaskBackupDTO(fileName, createdAt, writer.getTasks(), writer.getChunks(), Files.size(target), elapsedMillis);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(partial);
+            log.warn("Task backup failed", e);
+            throw new CustomException("Backup failed: " + e.getMessage());
+        } finally {
+            running.unlock();
+        }
+    }
+
+    @Override
+    public TaskRestoreDTO restore(String fileName) throws CustomException {
+        Path file = resolve(fileName);
+        acquire();
+        try {
+            long startedAt = System.nanoTime();
+            // a damaged file is found before anything is deleted
+            long createdAtMillis = verify(file);
+            Restored restored = restoreTemplate.execute(status -> load(file));
+            restartIdentity();
+            refreshViews(restored.seq());
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            log.info("Restored {} tasks from {} in {} ms", restored.tasks(), file, elapsedMillis);
+            return new TaskRestoreDTO(fileName, toLocalDateTime(createdAtMillis), restored.tasks(), elapsedMillis);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Restoring tasks from {} failed", file, e);
+            throw new CustomException("Backup file " + fileName + " cannot be restored: " + e.getMessage());
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private TaskSnapshotWriter writeSnapshot(Path file, LocalDateTime createdAt) {
+        try (TaskSnapshotWriter writer = new TaskSnapshotWriter(Files.newOutputStream(file), tasksPerChunk, toEpochMillis(createdAt))) {
+            long afterId = 0;
+            List<Task> page;
+            do {
+                page = taskRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, tasksPerChunk));
+                for (Task task : page) {
+                    writer.write(task);
+                    afterId = task.getId();
+                }
+                // nothing is written back, so the page can leave the persistence context before the next one
+                entityManager.clear();
+            } while (page.size() == tasksPerChunk);
+            writer.finish();
+            return writer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long verify(Path file) throws IOException {
+        try (TaskSnapshotReader reader = new TaskSnapshotReader(Files.newInputStream(file))) {
+            while (reader.readChunk() != null) {
+                // checksums, lengths and the trailer are checked while reading
+            }
+            return reader.getCreatedAtMillis();
+        }
+    }
+
+    private Restored load(Path file) {
+        // first, as in the task writes: a create or move that had read the old tasks would otherwise commit
+        // its rank or change-log entry into the restored table after resetLog
+        taskChangeService.lockForWrite();
+        // deletes rather than truncates: TRUNCATE commits on MySQL and the old tasks have to survive a failure
+        jdbcTemplate.update("delete from task_closure");
+        jdbcTemplate.update("delete from task_subtree_count");
+        jdbcTemplate.update("delete from task_tag");
+        jdbcTemplate.update("delete from task");
+
+        long tasks = 0;
+        try (TaskSnapshotReader reader = new TaskSnapshotReader(Files.newInputStream(file))) {
+            List<Task> chunk;
+            while ((chunk = reader.readChunk()) != null) {
+                insert(chunk);
+                tasks += chunk.size();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        jdbcTemplate.update("insert into task_closure (ancestor_id, descendant_id, depth) select id, id, 0 from task");
+        for (int depth = 0; jdbcTemplate.update(INSERT_CLOSURE_LEVEL, depth) > 0; depth++) {
+            if (depth > tasks) {
+                throw new IllegalStateException("Parent references of the restored tasks form a cycle");
+            }
+        }
+        jdbcTemplate.update(INSERT_SUBTREE_COUNTS);
+
+        // entries of the change log refer to the replaced tasks
+        long seq = taskChangeService.resetLog();
+        return new Restored(tasks, seq);
+    }
+
+    private void insert(List<Task> tasks) {
+        List<TaskTag> tags = new ArrayList<>();
+        for (Task task : tasks) {
+            for (String tag : task.getTags()) {
+                tags.add(new TaskTag(task.getId(), tag));
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_TASK, tasks, batchSize, (ps, task) -> {
+            ps.setLong(1, task.getId());
+            ps.setString(2, task.getTitle());
+            ps.setString(3, task.getDescription());
+            ps.setBoolean(4, Boolean.TRUE.equals(task.getCompleted()));
+            setTime(ps, 5, task.getCreatedAt());
+            setTime(ps, 6, task.getCompletedAt());
+            setTime(ps, 7, task.getDueAt());
+            ps.setString(8, task.getRank());
+            if (task.getParentId() != null) {
+                ps.setLong(9, task.getParentId());
+            } else {
+                ps.setNull(9, Types.BIGINT);
+            }
+            // restored at their version, so a client still holding one sees a conflict only if it is stale
+            ps.setLong(10, task.getVersion() == null ? 0L : task.getVersion());
+        });
+        jdbcTemplate.batchUpdate(INSERT_TAG, tags, batchSize, (ps, tag) -> {
+            ps.setLong(1, tag.taskId());
+            ps.setString(2, tag.tag());
+        });
+    }
+
+    // MySQL moves AUTO_INCREMENT past explicitly inserted ids by itself, H2 keeps handing out the old
+    // values; as DDL this commits, so it runs after the restore transaction
+    private void restartIdentity() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("H2".equals(product)) {
+            Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from task", Long.class);
+            jdbcTemplate.execute("alter table task alter column id restart with " + (maxId + 1));
+        }
+    }
+
+    private void refreshViews(long seq) {
+        if (invalidationPoller != null) {
+            // sees the log cut off and publishes the full invalidation, which reaches the other replicas the same way
+            invalidationPoller.catchUp();
+        } else {
+            eventPublisher.publishEvent(new TaskInvalidatedEvent(Set.of(), List.of(), seq, true));
+        }
+    }
+
+    private Path resolve(String fileName) throws CustomException {
+        if (fileName == null || !FILE_NAME.matcher(fileName).matches()) {
+            throw new CustomException("Invalid backup file name");
+        }
+        Path file = directory.resolve(fileName);
+        if (!Files.isRegularFile(file)) {
+            throw new CustomException("Backup file not found: " + fileName);
+        }
+        return file;
+    }
+
+    private void acquire() {
+        if (!running.tryLock()) {
+            throw new BackupInProgressException("A backup or restore is already running");
+        }
+    }
+
+    private static void setTime(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value != null) {
+            ps.setTimestamp(index, Timestamp.valueOf(value));
+        } else {
+            ps.setNull(index, Types.TIMESTAMP);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private record Restored(long tasks, long seq) {
+    }
+
+    private record TaskTag(long taskId, String tag) {
+    }
+}
@@ -0,0 +1,206 @@
+package com.todoapp.todo_backend.service.impl;
+
+import com.todoapp.todo_backend.dto.responseDto.TaskChangesDTO;
+import com.todoapp.todo_backend.event.TaskChangeType;
+import com.todoapp.todo_backend.event.TaskChangedEvent;
+import com.todoapp.todo_backend.exception.ChangeLogExpiredException;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.model.ChangeOperation;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.model.TaskChange;
+import com.todoapp.todo_backend.model.TaskChangeLogState;
+import com.todoapp.todo_backend.repository.TaskChangeLogStateRepository;
+import com.todoapp.todo_backend.repository.TaskChangeRepository;
+import com.todoapp.todo_backend.service.TaskChangeService;
+import com.todoapp.todo_backend.service.TaskService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class TaskChangeServiceImp implements TaskChangeService {
+
+    public static final int MAX_LIMIT = 1000;
+    private static final int COMPACTION_BATCH_SIZE = 1000;
+
+    private final TaskChangeRepository taskChangeRepository;
+    private final TaskChangeLogStateRepository stateRepository;
+    // the storage backend, which is not the task table with todo.storage=log or memory
+    private final TaskService taskBackend;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration deleteRetention;
+
+    public TaskChangeServiceImp(TaskChangeRepository taskChangeRepository,
+                                TaskChangeLogStateRepository stateRepository,
+                                // lazy: the jpa backend takes its write lock from this service
+                                @Lazy @Qualifier("taskBackend") TaskService taskBackend,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${todo.changes.delete-retention-hours:168}") long deleteRetentionHours) {
+        this.taskChangeRepository = taskChangeRepository;
+        this.stateRepository = stateRepository;
+        this.taskBackend = taskBackend;
+        this.transactionTemplate = transactionTemplate;
+        this.deleteRetention = Duration.ofHours(deleteRetentionHours);
+    }
+
+    // a plain listener runs inside the publishing transaction, so the entry commits or rolls back with the write;
+    // backends without one (todo.storage=log) get a transaction of its own
+    @EventListener
+    @Transactional
+    public void onTaskChanged(TaskChangedEvent event) {
+        ChangeOperation operation = event.getType() == TaskChangeType.DELETED ? ChangeOperation.DELETE : ChangeOperation.UPSERT;
+        recordChanges(List.of(event.getTaskId()), operation);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockForWrite() {
+        lockState();
+    }
+
+    @Override
+    @Transactional
+    public void recordChanges(Collection<Long> taskIds, ChangeOperation operation) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        // the row lock is held until commit, so a lower sequence number can never become visible after a higher one
+        TaskChangeLogState state = lockState();
+        long seq = state.getLastSeq();
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskChange> changes = new ArrayList<>(taskIds.size());
+        for (Long taskId : taskIds) {
+            changes.add(new TaskChange(++seq, taskId, operation, now));
+        }
+        state.setLastSeq(seq);
+        taskChangeRepository.saveAll(changes);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskChangesDTO getChangesSince(long since, int limit) throws CustomException {
+        if (since < 0) {
+            throw new CustomException("since cannot be negative");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new CustomException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        TaskChangeLogState state = stateRepository.findById(TaskChangeLogState.ID).orElseGet(TaskChangeLogState::new);
+        if (since < state.getPurgedThrough()) {
+            throw new ChangeLogExpiredException("Changes after " + since + " have been compacted away, a full resync is needed",
+                    state.getLastSeq());
+        }
+
+        List<TaskChange> page = taskChangeRepository.findBySeqGreaterThanOrderBySeqAsc(since, PageRequest.of(0, limit));
+        // only the latest entry per task matters, in the order of those entries
+        Map<Long, ChangeOperation> latest = new LinkedHashMap<>();
+        for (TaskChange change : page) {
+            latest.remove(change.getTaskId());
+            latest.put(change.getTaskId(), change.getOperation());
+        }
+        List<Long> upsertIds = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        latest.forEach((taskId, operation) -> (operation == ChangeOperation.DELETE ? deletes : upsertIds).add(taskId));
+
+        Map<Long, Task> byId = new HashMap<>();
+        if (!upsertIds.isEmpty()) {
+            for (Task task : taskBackend.getTasksByIds(upsertIds).getTasks()) {
+                byId.put(task.getId(), task);
+            }
+        }
+        List<Task> upserts = new ArrayList<>(upsertIds.size());
+        for (Long id : upsertIds) {
+            Task task = byId.get(id);
+            if (task != null) {
+                upserts.add(task);
+            } else {
+                // deleted by a change further on in the log
+                deletes.add(id);
+            }
+        }
+
+        long nextSince = page.isEmpty() ? since : page.get(page.size() - 1).getSeq();
+        return new TaskChangesDTO(nextSince, page.size() == limit, upserts, deletes, state.getLastSeq());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${todo.changes.compaction-interval-ms:3600000}",
+            initialDelayString = "${todo.changes.compaction-interval-ms:3600000}")
+    public void compact() {
+        // entries superseded by a later entry for the same task can go at any time: a client reading from
+        // any point still reaches the later entry. Ids are selected first since MySQL cannot delete from
+        // a table it reads in a subquery of the same statement.
+        long folded = 0;
+        long afterSeq = 0;
+        List<Long> seqs;
+        do {
+            long from = afterSeq;
+            seqs = transactionTemplate.execute(status -> {
+                List<Long> batch = taskChangeRepository.findSupersededSeqs(from, PageRequest.of(0, COMPACTION_BATCH_SIZE));
+                taskChangeRepository.deleteAllByIdInBatch(batch);
+                return batch;
+            });
+            folded += seqs.size();
+            if (!seqs.isEmpty()) {
+                afterSeq = seqs.get(seqs.size() - 1);
+            }
+        } while (seqs.size() == COMPACTION_BATCH_SIZE);
+
+        // deletes are the last entry of their task, dropping one means clients behind it cannot sync incrementally
+        LocalDateTime cutoff = LocalDateTime.now().minus(deleteRetention);
+        long purged = 0;
+        do {
+            seqs = transactionTemplate.execute(status -> {
+                List<Long> batch = taskChangeRepository.findDeleteSeqsBefore(cutoff, PageRequest.of(0, COMPACTION_BATCH_SIZE));
+                if (!batch.isEmpty()) {
+                    TaskChangeLogState state = lockState();
+                    state.setPurgedThrough(Math.max(state.getPurgedThrough(), batch.get(batch.size() - 1)));
+                    taskChangeRepository.deleteAllByIdInBatch(batch);
+                }
+                return batch;
+            });
+            purged += seqs.size();
+        } while (seqs.size() == COMPACTION_BATCH_SIZE);
+
+        if (folded > 0 || purged > 0) {
+            log.info("Compacted task change log: {} superseded entries folded, {} old deletes purged", folded, purged);
+        }
+    }
+
+    @Override
+    @Transactional
+    public long resetLog() {
+        TaskChangeLogState state = lockState();
+        long seq = state.getLastSeq() + 1;
+        state.setLastSeq(seq);
+        state.setPurgedThrough(seq);
+        taskChangeRepository.deleteAllInBatch();
+        return seq;
+    }
+
+    private TaskChangeLogState lockState() {
+        return stateRepository.findForUpdate(TaskChangeLogState.ID).orElseGet(() -> {
+            TaskChangeLogState state = new TaskChangeLogState();
+            state.setId(TaskChangeLogState.ID);
+            return stateRepository.saveAndFlush(state);
+        });
+    }
+}
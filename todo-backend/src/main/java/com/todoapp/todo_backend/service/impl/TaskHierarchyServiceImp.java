@@ -0,0 +1,208 @@
+package com.todoapp.todo_backend.service.impl;
+
+import com.todoapp.todo_backend.dto.responseDto.TaskCompletionDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskTreeDTO;
+import com.todoapp.todo_backend.event.TaskChangeType;
+import com.todoapp.todo_backend.event.TaskChangedEvent;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.model.TaskSubtreeCount;
+import com.todoapp.todo_backend.repository.TaskClosureRepository;
+import com.todoapp.todo_backend.repository.TaskRepository;
+import com.todoapp.todo_backend.repository.TaskSubtreeCountRepository;
+import com.todoapp.todo_backend.service.TaskChangeService;
+import com.todoapp.todo_backend.service.TaskHierarchyService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Task hierarchy in a closure table plus per-task subtree counts, both updated in the transaction of
+ * the task write that changes them. Tasks created before the hierarchy existed get their rows the
+ * first time they become a parent or are moved.
+ */
+@Service
+@ConditionalOnProperty(name = "todo.storage", havingValue = "jpa", matchIfMissing = true)
+public class TaskHierarchyServiceImp implements TaskHierarchyService {
+
+    private final TaskRepository taskRepository;
+    private final TaskClosureRepository closureRepository;
+    private final TaskSubtreeCountRepository countRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskChangeService taskChangeService;
+
+    public TaskHierarchyServiceImp(TaskRepository taskRepository,
+                                   TaskClosureRepository closureRepository,
+                                   TaskSubtreeCountRepository countRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   TaskChangeService taskChangeService) {
+        this.taskRepository = taskRepository;
+        this.closureRepository = closureRepository;
+        this.countRepository = countRepository;
+        this.eventPublisher = eventPublisher;
+        this.taskChangeService = taskChangeService;
+    }
+
+    // same transaction as the task write, so the hierarchy never disagrees with the tasks
+    @EventListener
+    @Transactional
+    public void onTaskChanged(TaskChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED -> addNode(event.getTask());
+            case COMPLETED -> markCompleted(event.getTaskId());
+            case DELETED -> removeNode(event.getTaskId());
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskTreeDTO getSubtree(Long id) throws CustomException {
+        Map<Long, TaskTreeDTO> nodes = new HashMap<>();
+        TaskTreeDTO root = null;
+        for (Object[] row : closureRepository.findSubtree(id)) {
+            Task task = (Task) row[0];
+            TaskSubtreeCount count = (TaskSubtreeCount) row[2];
+            TaskTreeDTO node = new TaskTreeDTO(task, (Integer) row[1],
+                    count == null ? 1 : count.getTasks(), count == null ? selfCompleted(task) : count.getCompleted(),
+                    new ArrayList<>());
+            nodes.put(task.getId(), node);
+            // depth order puts every parent before its children
+            if (root == null) {
+                root = node;
+            } else {
+                nodes.get(task.getParentId()).getChildren().add(node);
+            }
+        }
+        if (root == null) {
+            Task task = findTask(id);
+            root = new TaskTreeDTO(task, 0, 1, selfCompleted(task), new ArrayList<>());
+        }
+        return root;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskCompletionDTO getCompletion(Long id) throws CustomException {
+        Optional<TaskSubtreeCount> count = countRepository.findById(id);
+        long tasks;
+        long completed;
+        if (count.isPresent()) {
+            tasks = count.get().getTasks();
+            completed = count.get().getCompleted();
+        } else {
+            tasks = 1;
+            completed = selfCompleted(findTask(id));
+        }
+        return new TaskCompletionDTO(id, tasks, completed, (double) completed / tasks);
+    }
+
+    @Override
+    @Transactional(rollbackFor = CustomException.class)
+    public Task moveSubtree(Long id, Long newParentId) throws CustomException {
+        // two concurrent moves (A below B, B below A) would each pass the cycle check on the closure
+        // table as it was before the other; taken before any read, as in the task writes
+        taskChangeService.lockForWrite();
+        Task task = findTask(id);
+        if (Objects.equals(task.getParentId(), newParentId)) {
+            return task;
+        }
+        if (newParentId != null) {
+            ensureNode(findTask(newParentId));
+        }
+        TaskSubtreeCount count = ensureNode(task);
+        List<Long> subtreeIds = closureRepository.findSubtreeIds(id);
+        if (newParentId != null && subtreeIds.contains(newParentId)) {
+            throw new CustomException("Task " + id + " cannot be moved below itself");
+        }
+
+        List<Long> oldAncestorIds = closureRepository.findAncestorIds(id);
+        if (!oldAncestorIds.isEmpty()) {
+            countRepository.addToCounts(oldAncestorIds, -count.getTasks(), -count.getCompleted());
+            closureRepository.deletePaths(oldAncestorIds, subtreeIds);
+        }
+        if (newParentId != null) {
+            closureRepository.insertPathsUnder(id, newParentId);
+            countRepository.addToCounts(closureRepository.findAncestorIds(id), count.getTasks(), count.getCompleted());
+        }
+
+        task.setParentId(newParentId);
+        Task movedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(new TaskChangedEvent(TaskChangeType.MOVED, id, movedTask));
+        return movedTask;
+    }
+
+    private void addNode(Task task) {
+        if (task == null) {
+            return;
+        }
+        closureRepository.insertSelf(task.getId());
+        long completed = selfCompleted(task);
+        countRepository.save(new TaskSubtreeCount(task.getId(), 1L, completed, completed == 1));
+        if (task.getParentId() == null) {
+            return;
+        }
+        taskRepository.findById(task.getParentId()).ifPresent(this::ensureNode);
+        closureRepository.insertPathsUnder(task.getId(), task.getParentId());
+        countRepository.addToCounts(closureRepository.findAncestorIds(task.getId()), 1, completed);
+    }
+
+    private void markCompleted(Long id) {
+        // two concurrent completes can both find the task open and both publish; counted only once
+        if (countRepository.markSelfCompleted(id) == 1) {
+            List<Long> ancestorIds = closureRepository.findAncestorIds(id);
+            if (!ancestorIds.isEmpty()) {
+                countRepository.addToCounts(ancestorIds, 0, 1);
+            }
+        }
+    }
+
+    // the children of a deleted task move up to its parent
+    private void removeNode(Long id) {
+        Optional<TaskSubtreeCount> count = countRepository.findById(id);
+        if (count.isEmpty()) {
+            return;
+        }
+        Long parentId = closureRepository.findParentId(id).orElse(null);
+        List<Long> ancestorIds = closureRepository.findAncestorIds(id);
+        List<Long> descendantIds = new ArrayList<>(closureRepository.findSubtreeIds(id));
+        descendantIds.remove(id);
+        if (!ancestorIds.isEmpty()) {
+            countRepository.addToCounts(ancestorIds, -1, Boolean.TRUE.equals(count.get().getSelfCompleted()) ? -1 : 0);
+            if (!descendantIds.isEmpty()) {
+                closureRepository.shortenPaths(ancestorIds, descendantIds);
+            }
+        }
+        closureRepository.deleteNode(id);
+        countRepository.deleteById(id);
+        taskRepository.reparentChildren(id, parentId);
+    }
+
+    private TaskSubtreeCount ensureNode(Task task) {
+        return countRepository.findById(task.getId()).orElseGet(() -> {
+            closureRepository.insertSelf(task.getId());
+            long completed = selfCompleted(task);
+            return countRepository.save(new TaskSubtreeCount(task.getId(), 1L, completed, completed == 1));
+        });
+    }
+
+    private Task findTask(Long id) throws CustomException {
+        return taskRepository.findById(id).orElseThrow(
+                () -> new CustomException("Task not found with id " + id)
+        );
+    }
+
+    private static long selfCompleted(Task task) {
+        return Boolean.TRUE.equals(task.getCompleted()) ? 1 : 0;
+    }
+}
@@ -0,0 +1,50 @@
+package com.todoapp.todo_backend.service.impl;
+
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.query.TaskFilter;
+import com.todoapp.todo_backend.query.TaskFilterParser;
+import com.todoapp.todo_backend.query.TaskQueryPlanCache;
+import com.todoapp.todo_backend.service.TaskQueryService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@ConditionalOnProperty(name = "todo.storage", havingValue = "jpa", matchIfMissing = true)
+public class TaskQueryServiceImp implements TaskQueryService {
+
+    private final EntityManager entityManager;
+    private final TaskQueryPlanCache planCache;
+    private final int timeoutMillis;
+
+    public TaskQueryServiceImp(EntityManager entityManager,
+                               TaskQueryPlanCache planCache,
+                               @Value("${todo.query.timeout-ms:2000}") int timeoutMillis) {
+        this.entityManager = entityManager;
+        this.planCache = planCache;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Task> query(String filter, String sort, Integer limit) throws CustomException {
+        TaskFilter taskFilter = TaskFilterParser.parse(filter, sort, limit);
+        TypedQuery<Task> query = entityManager.createQuery(planCache.jpqlFor(taskFilter), Task.class);
+        for (int i = 0; i < taskFilter.getClauses().size(); i++) {
+            TaskFilter.Clause clause = taskFilter.getClauses().get(i);
+            query.setParameter(TaskQueryPlanCache.parameterName(i), TaskQueryPlanCache.parameterValue(clause));
+        }
+        return query.setMaxResults(taskFilter.getLimit())
+                .setHint(SpecHints.HINT_SPEC_QUERY_TIMEOUT, timeoutMillis)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+}
@@ -1,40 +1,97 @@
 package com.todoapp.todo_backend.service.impl;
 
+import com.todoapp.todo_backend.deadline.Deadline;
+import com.todoapp.todo_backend.event.TaskChangeType;
+import com.todoapp.todo_backend.event.TaskChangedEvent;
 import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.exception.TaskVersionConflictException;
 import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.dto.requestDto.TaskMoveRequestDTO;
+import com.todoapp.todo_backend.dto.requestDto.TaskPatchRequestDTO;
 import com.todoapp.todo_backend.dto.requestDto.TaskRequestDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskBatchDTO;
+import com.todoapp.todo_backend.query.TaskField;
 import com.todoapp.todo_backend.repository.TaskRepository;
+import com.todoapp.todo_backend.scheduling.TaskRankRebalancer;
+import com.todoapp.todo_backend.service.TaskChangeService;
 import com.todoapp.todo_backend.service.TaskService;
+import com.todoapp.todo_backend.util.FractionalRank;
+import com.todoapp.todo_backend.util.TaskTags;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
+@Qualifier("taskBackend")
+@ConditionalOnProperty(name = "todo.storage", havingValue = "jpa", matchIfMissing = true)
 public class TaskServiceImp implements TaskService {
 
+    // ids per IN list; a multi-get of up to this many tasks is a single query
+    public static final int IDS_CHUNK_SIZE = 200;
+
     @Autowired
     private final TaskRepository taskRepository;
 
-    public TaskServiceImp(TaskRepository taskRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TaskChangeService taskChangeService;
+
+    private final TaskRankRebalancer rankRebalancer;
+
+    public TaskServiceImp(TaskRepository taskRepository, ApplicationEventPublisher eventPublisher,
+                          TaskChangeService taskChangeService, TaskRankRebalancer rankRebalancer) {
         this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.taskChangeService = taskChangeService;
+        this.rankRebalancer = rankRebalancer;
     }
 
     @Override
+    @Transactional(rollbackFor = CustomException.class)
     public Task createTask(TaskRequestDTO taskRequestDTO) throws CustomException {
+        Deadline.check("creating a task");
         if (taskRequestDTO.getTitle() == null || taskRequestDTO.getTitle().trim().isEmpty()) {
             throw new CustomException("Task title cannot be empty");
         }
+        // creates read the top rank and insert above it one at a time; taken before any read, so that
+        // on MySQL the transaction's snapshot already includes the create that held the lock before
+        taskChangeService.lockForWrite();
+        if (taskRequestDTO.getParentId() != null && !taskRepository.existsById(taskRequestDTO.getParentId())) {
+            throw new CustomException("Parent task not found with id " + taskRequestDTO.getParentId());
+        }
 
         Task task = new Task();
         task.setTitle(taskRequestDTO.getTitle());
         task.setDescription(taskRequestDTO.getDescription());
+        task.setDueAt(taskRequestDTO.getDueAt());
+        task.setTags(TaskTags.normalize(taskRequestDTO.getTags()));
+        task.setParentId(taskRequestDTO.getParentId());
         task.setCompleted(false);
+        // new tasks go on top of the manual order
+        String rank = FractionalRank.between(null, taskRepository.findMinIncompleteRank());
+        if (rank.length() > Task.MAX_RANK_LENGTH) {
+            rankRebalancer.rebalanceInTransaction();
+            rank = FractionalRank.between(null, taskRepository.findMinIncompleteRank());
+        }
+        task.setRank(rank);
 
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(new TaskChangedEvent(TaskChangeType.CREATED, savedTask.getId(), savedTask));
+        return savedTask;
     }
 
     @Override
@@ -43,30 +100,158 @@ public class TaskServiceImp implements TaskService {
         return taskRepository.findByCompletedFalseOrderByCreatedAtDesc(pageable);
     }
 
+    @Override
+    public List<Task> getIncompleteTasksByRank(int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        return taskRepository.findByCompletedFalseOrderByRankAscIdAsc(pageable);
+    }
+
     @Override
     public Optional<Task> getTaskById(Long id) throws CustomException {
         Task task = taskRepository.findById(id).orElseThrow(
                 () -> new CustomException("Task not found with id " + id)
         );
-        return taskRepository.findById(id);
+        return Optional.of(task);
+    }
+
+    @Override
+    public TaskBatchDTO getTasksByIds(List<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, Task> byId = new HashMap<>();
+        for (int start = 0; start < distinctIds.size(); start += IDS_CHUNK_SIZE) {
+            Deadline.check("loading tasks " + start + " to " + distinctIds.size());
+            List<Long> chunk = distinctIds.subList(start, Math.min(start + IDS_CHUNK_SIZE, distinctIds.size()));
+            for (Task task : taskRepository.findAllById(chunk)) {
+                byId.put(task.getId(), task);
+            }
+        }
+        List<Task> tasks = new ArrayList<>(byId.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            Task task = byId.get(id);
+            if (task != null) {
+                tasks.add(task);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new TaskBatchDTO(tasks, missingIds);
+    }
+
+    @Override
+    public List<Map<String, Object>> getIncompleteTasks(int limit, Set<TaskField> fields) {
+        return taskRepository.findIncompleteFieldsOrderByCreatedAtDesc(fields, limit);
+    }
+
+    @Override
+    public List<Map<String, Object>> getIncompleteTasksByRank(int limit, Set<TaskField> fields) {
+        return taskRepository.findIncompleteFieldsOrderByRankAsc(fields, limit);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> getTaskById(Long id, Set<TaskField> fields) {
+        return taskRepository.findFieldsById(id, fields);
     }
 
 
 
     @Override
+    @Transactional(rollbackFor = CustomException.class)
     public Task markTaskAsCompleted(Long id) throws CustomException {
+        Deadline.check("completing task " + id);
         Task task = taskRepository.findById(id).orElseThrow(
                 ()-> new CustomException("Task not found with id " + id)
         );
+        // completing again is a no-op: no write, no event, no second completion sample
+        if (Boolean.TRUE.equals(task.getCompleted())) {
+            return task;
+        }
         task.setCompleted(true);
-        return taskRepository.save(task);
+        task.setCompletedAt(LocalDateTime.now());
+        Task completedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(new TaskChangedEvent(TaskChangeType.COMPLETED, id, completedTask));
+        return completedTask;
     }
 
     @Override
+    @Transactional(rollbackFor = CustomException.class)
     public void deleteTask(Long id) throws CustomException {
-        if (taskRepository.existsById(id)) {
+        Deadline.check("deleting task " + id);
+        if (!taskRepository.existsById(id)) {
             throw new CustomException("Task not found with id " + id);
         }
         taskRepository.deleteById(id);
+        eventPublisher.publishEvent(new TaskChangedEvent(TaskChangeType.DELETED, id, null));
+    }
+
+    @Override
+    @Transactional(rollbackFor = CustomException.class)
+    public Task moveTask(Long id, TaskMoveRequestDTO taskMoveRequestDTO) throws CustomException {
+        Long previousId = taskMoveRequestDTO.getPreviousId();
+        Long nextId = taskMoveRequestDTO.getNextId();
+        if (previousId == null && nextId == null) {
+            throw new CustomException("Either previousId or nextId is required");
+        }
+        if (id.equals(previousId) || id.equals(nextId)) {
+            throw new CustomException("A task cannot be moved next to itself");
+        }
+        // two moves into the same gap would otherwise get the same rank
+        taskChangeService.lockForWrite();
+        Task task = taskRepository.findById(id).orElseThrow(
+                () -> new CustomException("Task not found with id " + id)
+        );
+        String rank = rankBetween(previousId, nextId);
+        if (rank.length() > Task.MAX_RANK_LENGTH) {
+            // the background rebalance did not catch up with moves into this gap; the neighbours get new ranks
+            rankRebalancer.rebalanceInTransaction();
+            rank = rankBetween(previousId, nextId);
+        }
+
+        Deadline.check("moving task " + id);
+        task.setRank(rank);
+        Task movedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(new TaskChangedEvent(TaskChangeType.MOVED, id, movedTask));
+        return movedTask;
+    }
+
+    @Override
+    @Transactional(rollbackFor = CustomException.class)
+    public Task updateTask(Long id, TaskPatchRequestDTO taskPatchRequestDTO) throws CustomException {
+        Deadline.check("updating task " + id);
+        taskPatchRequestDTO.validate();
+        // a single conditional update, so nothing changed between a read and the write can be overwritten
+        int updated = taskRepository.patch(id, taskPatchRequestDTO.getVersion(), taskPatchRequestDTO.getTitle(),
+                taskPatchRequestDTO.isProvided(TaskField.DESCRIPTION), taskPatchRequestDTO.getDescription(),
+                taskPatchRequestDTO.isProvided(TaskField.DUE_AT), taskPatchRequestDTO.getDueAt());
+        if (updated == 0) {
+            if (!taskRepository.existsById(id)) {
+                throw new CustomException("Task not found with id " + id);
+            }
+            throw new TaskVersionConflictException("Task " + id + " is no longer at version " + taskPatchRequestDTO.getVersion());
+        }
+        Task updatedTask = taskRepository.findById(id).orElseThrow(
+                () -> new CustomException("Task not found with id " + id)
+        );
+        eventPublisher.publishEvent(new TaskChangedEvent(TaskChangeType.UPDATED, id, updatedTask));
+        return updatedTask;
+    }
+
+    private String rankBetween(Long previousId, Long nextId) throws CustomException {
+        String lowerRank = previousId == null ? null : getRank(previousId);
+        String upperRank = nextId == null ? null : getRank(nextId);
+        if (lowerRank != null && upperRank != null && lowerRank.compareTo(upperRank) >= 0) {
+            throw new CustomException("Task " + previousId + " is not ordered before task " + nextId);
+        }
+        return FractionalRank.between(lowerRank, upperRank);
+    }
+
+    private String getRank(Long id) throws CustomException {
+        String rank = taskRepository.findRankById(id).orElseThrow(
+                () -> new CustomException("Task not found with id " + id)
+        );
+        if (rank.isEmpty()) {
+            throw new CustomException("Task " + id + " has no rank yet, retry after ranks are rebalanced");
+        }
+        return rank;
     }
 }
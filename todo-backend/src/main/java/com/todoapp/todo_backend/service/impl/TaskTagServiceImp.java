@@ -0,0 +1,81 @@
+package com.todoapp.todo_backend.service.impl;
+
+import com.todoapp.todo_backend.dto.responseDto.TaskPageDTO;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.index.CompressedBitmap;
+import com.todoapp.todo_backend.index.TaskTagIndex;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.repository.TaskRepository;
+import com.todoapp.todo_backend.service.TaskTagService;
+import com.todoapp.todo_backend.util.TaskTags;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@ConditionalOnProperty(name = "todo.storage", havingValue = "jpa", matchIfMissing = true)
+public class TaskTagServiceImp implements TaskTagService {
+
+    private final TaskTagIndex taskTagIndex;
+    private final TaskRepository taskRepository;
+
+    public TaskTagServiceImp(TaskTagIndex taskTagIndex, TaskRepository taskRepository) {
+        this.taskTagIndex = taskTagIndex;
+        this.taskRepository = taskRepository;
+    }
+
+    @Override
+    public TaskPageDTO findByTags(List<String> tags, Boolean completed, int page, int size) throws CustomException {
+        if (!taskTagIndex.isReady()) {
+            throw new CustomException("Tag index is still loading");
+        }
+        Set<String> required = new LinkedHashSet<>();
+        Set<String> excluded = new LinkedHashSet<>();
+        for (String tag : tags) {
+            String value = TaskTags.normalize(tag);
+            if (value.startsWith("-")) {
+                value = TaskTags.normalize(value.substring(1));
+                if (!value.isEmpty()) {
+                    excluded.add(value);
+                }
+            } else if (!value.isEmpty()) {
+                required.add(value);
+            }
+        }
+
+        CompressedBitmap matches = taskTagIndex.query(required, excluded, completed);
+        long[] ids = matches.pageDescending((long) page * size, size);
+
+        List<Long> pageIds = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            pageIds.add(id);
+        }
+        Map<Long, Task> byId = new HashMap<>();
+        for (Task task : taskRepository.findAllById(pageIds)) {
+            byId.put(task.getId(), task);
+        }
+        // newest (highest id) first, like the rest of the list endpoints
+        List<Task> tasks = new ArrayList<>(ids.length);
+        for (Long id : pageIds) {
+            Task task = byId.get(id);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return new TaskPageDTO(tasks, matches.cardinality());
+    }
+
+    @Override
+    public Map<String, Long> getTagCounts() throws CustomException {
+        if (!taskTagIndex.isReady()) {
+            throw new CustomException("Tag index is still loading");
+        }
+        return taskTagIndex.tagCounts();
+    }
+}
@@ -0,0 +1,157 @@
+package com.todoapp.todo_backend.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * One memory-mapped, preallocated log file. Records are {@code length:int crc32:int body}; the file
+ * starts zeroed, so a zero length marks the end of the written data. Reads use absolute positions
+ * and may run concurrently; appends must be serialized by the caller.
+ */
+final class LogSegment implements Closeable {
+
+    static final int HEADER_SIZE = 8;
+
+    private final long sequence;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int writePosition;
+    // bytes of records that are still the latest version of their task
+    private long liveBytes;
+
+    private LogSegment(long sequence, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.sequence = sequence;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static LogSegment create(Path directory, long sequence, int size) throws IOException {
+        Path path = directory.resolve(fileName(sequence));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new LogSegment(sequence, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    }
+
+    static LogSegment open(Path path, long sequence) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new LogSegment(sequence, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+    }
+
+    static String fileName(long sequence) {
+        return String.format("segment-%020d.log", sequence);
+    }
+
+    /**
+     * Walks the valid records from the start, stopping at the end marker or at the first record that is
+     * cut off or fails its checksum (a torn write); the tail from there on is zeroed and reused.
+     *
+     * @return true if a damaged tail was found
+     */
+    boolean recover(RecordVisitor visitor) {
+        int position = 0;
+        boolean damaged = false;
+        while (position + HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            if (length < 0 || position + HEADER_SIZE + length > buffer.capacity()) {
+                damaged = true;
+                break;
+            }
+            byte[] body = new byte[length];
+            buffer.get(position + HEADER_SIZE, body);
+            if (crc(body) != buffer.getInt(position + 4)) {
+                damaged = true;
+                break;
+            }
+            visitor.visit(position, body);
+            position += HEADER_SIZE + length;
+        }
+        writePosition = position;
+        if (damaged) {
+            for (int i = position; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        return damaged;
+    }
+
+    /**
+     * @return the record's offset, or -1 if it does not fit in the remaining space
+     */
+    int append(byte[] body) {
+        int size = HEADER_SIZE + body.length;
+        if (writePosition + size > buffer.capacity()) {
+            return -1;
+        }
+        int offset = writePosition;
+        buffer.put(offset + HEADER_SIZE, body);
+        buffer.putInt(offset + 4, crc(body));
+        // the length goes last, so a record is not visible to recovery before its body is written
+        buffer.putInt(offset, body.length);
+        writePosition += size;
+        return offset;
+    }
+
+    byte[] read(int offset) {
+        byte[] body = new byte[buffer.getInt(offset)];
+        buffer.get(offset + HEADER_SIZE, body);
+        return body;
+    }
+
+    int recordSize(int offset) {
+        return HEADER_SIZE + buffer.getInt(offset);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    int getWritePosition() {
+        return writePosition;
+    }
+
+    int getCapacity() {
+        return buffer.capacity();
+    }
+
+    long getLiveBytes() {
+        return liveBytes;
+    }
+
+    void addLiveBytes(long delta) {
+        liveBytes += delta;
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static int crc(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    interface RecordVisitor {
+        void visit(int offset, byte[] body);
+    }
+}
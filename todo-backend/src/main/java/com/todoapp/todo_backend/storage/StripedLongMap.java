@@ -0,0 +1,251 @@
+package com.todoapp.todo_backend.storage;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Concurrent map from {@code long} keys to values without boxing the keys. The key space is split over
+ * stripes, each an open-addressing table with linear probing and backward-shift deletion, guarded by
+ * its own {@link StampedLock}: lookups are optimistic and usually take no lock at all, writes only lock
+ * one stripe. Key 0 is reserved as the empty marker.
+ */
+public class StripedLongMap<V> {
+
+    private static final long EMPTY = 0L;
+
+    private final Stripe<V>[] stripes;
+    private final int stripeShift;
+
+    @SuppressWarnings("unchecked")
+    public StripedLongMap(int stripeCount, int initialStripeCapacity) {
+        if (Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("stripeCount must be a power of two");
+        }
+        this.stripes = new Stripe[stripeCount];
+        this.stripeShift = 64 - Integer.numberOfTrailingZeros(stripeCount);
+        int capacity = Integer.highestOneBit(Math.max(4, initialStripeCapacity - 1) << 1);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe<>(capacity);
+        }
+    }
+
+    public V get(long key) {
+        long hash = hash(key);
+        Stripe<V> stripe = stripe(hash);
+        long stamp = stripe.lock.tryOptimisticRead();
+        if (stamp != 0) {
+            V value = stripe.find(key, hash);
+            if (stripe.lock.validate(stamp)) {
+                return value;
+            }
+        }
+        stamp = stripe.lock.readLock();
+        try {
+            return stripe.find(key, hash);
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    public V put(long key, V value) {
+        return compute(key, (k, current) -> value);
+    }
+
+    public V remove(long key) {
+        Object[] removed = new Object[1];
+        compute(key, (k, current) -> {
+            removed[0] = current;
+            return null;
+        });
+        @SuppressWarnings("unchecked")
+        V value = (V) removed[0];
+        return value;
+    }
+
+    /**
+     * Atomically replaces the value of a key; the function sees null for an absent key and removes the
+     * key by returning null. It runs under the stripe's write lock, so it must be short and must not
+     * touch this map.
+     *
+     * @return the new value
+     */
+    public V compute(long key, Remapping<V> remapping) {
+        checkKey(key);
+        long hash = hash(key);
+        Stripe<V> stripe = stripe(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            int slot = stripe.slotOf(key, hash);
+            V current = slot >= 0 ? stripe.valueAt(slot) : null;
+            V updated = remapping.apply(key, current);
+            if (updated == null) {
+                if (slot >= 0) {
+                    stripe.delete(slot);
+                }
+            } else if (slot >= 0) {
+                stripe.replace(slot, updated);
+            } else {
+                stripe.insert(key, hash, updated);
+            }
+            return updated;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe<V> stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    private Stripe<V> stripe(long hash) {
+        return stripes.length == 1 ? stripes[0] : stripes[(int) (hash >>> stripeShift)];
+    }
+
+    private static void checkKey(long key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+    }
+
+    // murmur3 finalizer, so sequential ids spread over stripes and slots
+    static long hash(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    @FunctionalInterface
+    public interface Remapping<V> {
+        V apply(long key, V current);
+    }
+
+    // keys and values of one table, swapped together on resize so that a lookup without a lock can never
+    // pair the keys of one table with the values of another; final fields, so a racing read still sees
+    // both arrays fully allocated
+    private static final class Table<V> {
+
+        final long[] keys;
+        final V[] values;
+
+        @SuppressWarnings("unchecked")
+        Table(int capacity) {
+            keys = new long[capacity];
+            values = (V[]) new Object[capacity];
+        }
+    }
+
+    private static final class Stripe<V> {
+
+        private final StampedLock lock = new StampedLock();
+        private Table<V> table;
+        private int size;
+
+        Stripe(int capacity) {
+            table = new Table<>(capacity);
+        }
+
+        // may run without a lock: reads the table once and gives up after one full pass
+        V find(long key, long hash) {
+            Table<V> table = this.table;
+            long[] keys = table.keys;
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            for (int probes = 0; probes < keys.length; probes++) {
+                long k = keys[slot];
+                if (k == key) {
+                    return table.values[slot];
+                }
+                if (k == EMPTY) {
+                    return null;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        int slotOf(long key, long hash) {
+            long[] keys = table.keys;
+            int mask = keys.length - 1;
+            for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+                if (keys[slot] == EMPTY) {
+                    return -1;
+                }
+            }
+        }
+
+        V valueAt(int slot) {
+            return table.values[slot];
+        }
+
+        void replace(int slot, V value) {
+            table.values[slot] = value;
+        }
+
+        void insert(long key, long hash, V value) {
+            if ((size + 1) * 2 > table.keys.length) {
+                resize();
+            }
+            long[] keys = table.keys;
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            table.values[slot] = value;
+            size++;
+        }
+
+        void delete(int slot) {
+            long[] keys = table.keys;
+            V[] values = table.values;
+            int mask = keys.length - 1;
+            int hole = slot;
+            // shift later entries of the probe run back into the hole so lookups never need tombstones
+            for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+                int home = (int) hash(keys[next]) & mask;
+                boolean reachableFromHole = hole <= next ? (home <= hole || home > next) : (home <= hole && home > next);
+                if (reachableFromHole) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    hole = next;
+                }
+            }
+            keys[hole] = EMPTY;
+            values[hole] = null;
+            size--;
+        }
+
+        private void resize() {
+            Table<V> old = table;
+            Table<V> resized = new Table<>(old.keys.length * 2);
+            int mask = resized.keys.length - 1;
+            for (int i = 0; i < old.keys.length; i++) {
+                if (old.keys[i] != EMPTY) {
+                    int slot = (int) hash(old.keys[i]) & mask;
+                    while (resized.keys[slot] != EMPTY) {
+                        slot = (slot + 1) & mask;
+                    }
+                    resized.keys[slot] = old.keys[i];
+                    resized.values[slot] = old.values[i];
+                }
+            }
+            table = resized;
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.todoapp.todo_backend.storage;
+
+import com.todoapp.todo_backend.model.Task;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Append-only task storage on memory-mapped segment files. Every write appends a CRC-checked record;
+ * an in-memory index maps task ids to the location of their latest record, and ordered indexes of the
+ * incomplete tasks serve the list queries. On startup the segments are replayed in order to rebuild
+ * the indexes, which is also the crash recovery. Compaction copies the live records of mostly-dead
+ * segments to the head of the log and deletes them, keeping the tombstone of the highest id so that ids of
+ * deleted tasks are not handed out again after a restart.
+ */
+@Slf4j
+public class TaskLogStore implements Closeable {
+
+    private static final Comparator<IndexKey> NEWEST_FIRST = Comparator
+            .comparing(IndexKey::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(IndexKey::id, Comparator.reverseOrder());
+    private static final Comparator<IndexKey> BY_RANK = Comparator
+            .comparing(IndexKey::rank, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(IndexKey::id);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean forceOnWrite;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // all guarded by lock
+    private final TreeMap<Long, LogSegment> segments = new TreeMap<>();
+    private final Map<Long, Location> index = new HashMap<>();
+    private final NavigableSet<IndexKey> incompleteByCreated = new TreeSet<>(NEWEST_FIRST);
+    private final NavigableSet<IndexKey> incompleteByRank = new TreeSet<>(BY_RANK);
+    private LogSegment active;
+    private long lastId;
+
+    public TaskLogStore(Path directory, int segmentSize, boolean forceOnWrite) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.forceOnWrite = forceOnWrite;
+        Files.createDirectories(directory);
+        replay();
+    }
+
+    /**
+     * Stores a new version of the task, assigning the next id to a task without one.
+     */
+    public Task put(Task task) {
+        lock.writeLock().lock();
+        try {
+            if (task.getId() == null) {
+                task.setId(++lastId);
+            } else {
+                lastId = Math.max(lastId, task.getId());
+            }
+            byte[] body = TaskRecordCodec.encodePut(task);
+            Location location = append(body);
+            unindex(index.put(task.getId(), location));
+            indexTask(location, task);
+            return task;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean delete(long id) {
+        lock.writeLock().lock();
+        try {
+            Location previous = index.remove(id);
+            if (previous == null) {
+                return false;
+            }
+            append(TaskRecordCodec.encodeDelete(id));
+            unindex(previous);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Task> get(long id) {
+        lock.readLock().lock();
+        try {
+            Location location = index.get(id);
+            return location == null ? Optional.empty() : Optional.of(read(location));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return index.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Task> findIncompleteNewestFirst(int limit) {
+        return readIncomplete(incompleteByCreated, limit);
+    }
+
+    public List<Task> findIncompleteByRank(int limit) {
+        return readIncomplete(incompleteByRank, limit);
+    }
+
+    public String findMinIncompleteRank() {
+        lock.readLock().lock();
+        try {
+            return incompleteByRank.isEmpty() ? null : incompleteByRank.first().rank();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void flush() {
+        lock.writeLock().lock();
+        try {
+            active.force();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites every sealed segment whose live records make up less than the given fraction of it.
+     *
+     * @return number of segments removed
+     */
+    public int compact(double minLiveRatio) {
+        lock.writeLock().lock();
+        try {
+            List<LogSegment> candidates = new ArrayList<>();
+            for (LogSegment segment : segments.values()) {
+                if (segment != active && segment.getLiveBytes() < minLiveRatio * segment.getWritePosition()) {
+                    candidates.add(segment);
+                }
+            }
+            for (LogSegment segment : candidates) {
+                compact(segment);
+            }
+            return candidates.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            for (LogSegment segment : segments.values()) {
+                segment.force();
+                segment.close();
+            }
+            segments.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void compact(LogSegment segment) {
+        boolean oldest = segment == segments.firstEntry().getValue();
+        segment.recover((offset, body) -> {
+            long id = TaskRecordCodec.id(body);
+            if (TaskRecordCodec.type(body) == TaskRecordCodec.PUT) {
+                Location current = index.get(id);
+                if (current != null && current.segment() == segment && current.offset() == offset) {
+                    Location moved = append(body);
+                    index.put(id, new Location(moved.segment(), moved.offset(), current.createdKey(), current.rankKey()));
+                }
+            } else if ((!oldest || id == lastId) && !index.containsKey(id)) {
+                // the tombstone still hides a put in an older segment, or it is the only record left of the
+                // highest id handed out, which replay takes the next id from
+                append(body);
+            }
+        });
+        segments.remove(segment.getSequence());
+        try {
+            active.force();
+            segment.delete();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Compacted task log segment {}", segment.getSequence());
+    }
+
+    private List<Task> readIncomplete(NavigableSet<IndexKey> keys, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Task> tasks = new ArrayList<>(Math.min(limit, keys.size()));
+            Iterator<IndexKey> iterator = keys.iterator();
+            while (iterator.hasNext() && tasks.size() < limit) {
+                tasks.add(read(index.get(iterator.next().id())));
+            }
+            return tasks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Task read(Location location) {
+        return TaskRecordCodec.decodeTask(location.segment().read(location.offset()));
+    }
+
+    private Location append(byte[] body) {
+        if (LogSegment.HEADER_SIZE + body.length > segmentSize) {
+            throw new IllegalArgumentException("Record of " + body.length + " bytes does not fit in a log segment");
+        }
+        int offset = active.append(body);
+        if (offset < 0) {
+            roll();
+            offset = active.append(body);
+        }
+        if (TaskRecordCodec.type(body) == TaskRecordCodec.PUT) {
+            active.addLiveBytes(LogSegment.HEADER_SIZE + body.length);
+        }
+        if (forceOnWrite) {
+            active.force();
+        }
+        return new Location(active, offset, null, null);
+    }
+
+    private void roll() {
+        try {
+            active.force();
+            active = LogSegment.create(directory, active.getSequence() + 1, segmentSize);
+            segments.put(active.getSequence(), active);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void indexTask(Location location, Task task) {
+        if (Boolean.TRUE.equals(task.getCompleted())) {
+            return;
+        }
+        IndexKey key = new IndexKey(task.getId(), task.getCreatedAt(), task.getRank());
+        incompleteByCreated.add(key);
+        incompleteByRank.add(key);
+        index.put(task.getId(), new Location(location.segment(), location.offset(), key, key));
+    }
+
+    private void unindex(Location previous) {
+        if (previous == null) {
+            return;
+        }
+        previous.segment().addLiveBytes(-previous.segment().recordSize(previous.offset()));
+        if (previous.createdKey() != null) {
+            incompleteByCreated.remove(previous.createdKey());
+        }
+        if (previous.rankKey() != null) {
+            incompleteByRank.remove(previous.rankKey());
+        }
+    }
+
+    private void replay() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "segment-*.log")) {
+            stream.forEach(files::add);
+        }
+        files.sort(Comparator.naturalOrder());
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long sequence = Long.parseLong(name.substring("segment-".length(), name.length() - ".log".length()));
+            LogSegment segment = LogSegment.open(file, sequence);
+            segments.put(sequence, segment);
+            boolean damaged = segment.recover((offset, body) -> {
+                long id = TaskRecordCodec.id(body);
+                lastId = Math.max(lastId, id);
+                if (TaskRecordCodec.type(body) == TaskRecordCodec.PUT) {
+                    segment.addLiveBytes(LogSegment.HEADER_SIZE + body.length);
+                    Location location = new Location(segment, offset, null, null);
+                    unindex(index.put(id, location));
+                    indexTask(location, TaskRecordCodec.decodeTask(body));
+                } else {
+                    unindex(index.remove(id));
+                }
+            });
+            if (damaged) {
+                log.warn("Task log segment {} had a damaged tail after {} bytes, it was truncated", sequence, segment.getWritePosition());
+            }
+        }
+        if (segments.isEmpty()) {
+            active = LogSegment.create(directory, 1, segmentSize);
+            segments.put(active.getSequence(), active);
+        } else {
+            active = segments.lastEntry().getValue();
+        }
+        log.info("Replayed task log: {} tasks in {} segments", index.size(), segments.size());
+    }
+
+    private record Location(LogSegment segment, int offset, IndexKey createdKey, IndexKey rankKey) {
+    }
+
+    private record IndexKey(long id, LocalDateTime createdAt, String rank) {
+    }
+}
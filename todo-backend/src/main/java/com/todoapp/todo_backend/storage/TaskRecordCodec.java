@@ -0,0 +1,138 @@
+package com.todoapp.todo_backend.storage;
+
+import com.todoapp.todo_backend.model.Task;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Binary form of a log record body: {@code type:byte id:long} followed, for puts, by the task fields.
+ * Nullable fields are preceded by a presence byte; the version comes last.
+ */
+final class TaskRecordCodec {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    private TaskRecordCodec() {
+    }
+
+    static byte[] encodePut(Task task) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(PUT);
+            out.writeLong(task.getId());
+            writeString(out, task.getTitle());
+            writeString(out, task.getDescription());
+            out.writeBoolean(Boolean.TRUE.equals(task.getCompleted()));
+            writeTime(out, task.getCreatedAt());
+            writeTime(out, task.getCompletedAt());
+            writeTime(out, task.getDueAt());
+            writeString(out, task.getRank());
+            Set<String> tags = task.getTags() == null ? Set.of() : task.getTags();
+            out.writeShort(tags.size());
+            for (String tag : tags) {
+                writeString(out, tag);
+            }
+            out.writeLong(task.getVersion() == null ? 0 : task.getVersion());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static byte[] encodeDelete(long id) {
+        byte[] body = new byte[9];
+        body[0] = DELETE;
+        for (int i = 0; i < 8; i++) {
+            body[1 + i] = (byte) (id >>> (56 - 8 * i));
+        }
+        return body;
+    }
+
+    static byte type(byte[] body) {
+        return body[0];
+    }
+
+    static long id(byte[] body) {
+        long id = 0;
+        for (int i = 1; i <= 8; i++) {
+            id = (id << 8) | (body[i] & 0xFF);
+        }
+        return id;
+    }
+
+    static Task decodeTask(byte[] body) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(body))) {
+            if (in.readByte() != PUT) {
+                throw new IllegalArgumentException("Not a put record");
+            }
+            Task task = new Task();
+            task.setId(in.readLong());
+            task.setTitle(readString(in));
+            task.setDescription(readString(in));
+            task.setCompleted(in.readBoolean());
+            task.setCreatedAt(readTime(in));
+            task.setCompletedAt(readTime(in));
+            task.setDueAt(readTime(in));
+            task.setRank(readString(in));
+            int tagCount = in.readUnsignedShort();
+            Set<String> tags = new HashSet<>(Math.max(4, tagCount * 2));
+            for (int i = 0; i < tagCount; i++) {
+                tags.add(readString(in));
+            }
+            task.setTags(tags);
+            // records written before versions were stored end after the tags
+            task.setVersion(in.available() >= 8 ? in.readLong() : 0L);
+            return task;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeBoolean(false);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeBoolean(true);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        byte[] utf8 = new byte[in.readInt()];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        long seconds = in.readLong();
+        int nanos = in.readInt();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,159 @@
+package com.todoapp.todo_backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lexicographic ranks over the digits 0-9a-z. A rank strictly between any two ranks can always be
+ * generated, so moving an item only rewrites that item. Generated ranks never end in '0', which
+ * guarantees there is always room below them.
+ */
+public final class FractionalRank {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    private FractionalRank() {
+    }
+
+    /**
+     * Rank strictly between {@code lower} and {@code upper}; either bound may be null for "unbounded".
+     */
+    public static String between(String lower, String upper) {
+        if (lower != null && upper != null && lower.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("Lower rank '" + lower + "' must sort before upper rank '" + upper + "'");
+        }
+        if (lower == null && upper != null) {
+            return step(upper, -1);
+        }
+        if (upper == null && lower != null) {
+            return step(lower, 1);
+        }
+        StringBuilder rank = new StringBuilder();
+        boolean upperBounded = upper != null;
+        for (int i = 0; ; i++) {
+            int low = lower != null && i < lower.length() ? digit(lower.charAt(i)) : 0;
+            int high;
+            if (!upperBounded) {
+                high = BASE;
+            } else if (i < upper.length()) {
+                high = digit(upper.charAt(i));
+            } else {
+                throw new IllegalArgumentException("No rank fits below '" + upper + "'");
+            }
+            if (high - low > 1) {
+                rank.append(DIGITS.charAt((low + high) / 2));
+                return rank.toString();
+            }
+            rank.append(DIGITS.charAt(low));
+            if (high - low == 1) {
+                // the prefix is already below upper, only lower constrains the remaining digits
+                upperBounded = false;
+            }
+        }
+    }
+
+    /**
+     * Next rank below (delta -1) or above (delta 1) an outermost rank. Ranks with m leading '0's (or 'z's
+     * when appending) form band m and use width 2m+1, so a band holds about 36^(m+1) ranks before the next
+     * one is started: a run of new tasks on top lengthens ranks logarithmically, not by a digit every few dozen.
+     */
+    private static String step(String bound, int delta) {
+        int edge = delta < 0 ? 0 : BASE - 1;
+        int band = leading(bound, edge);
+        int width = Math.max(bound.length(), 2 * band + 1);
+        int[] digits = new int[width];
+        for (int i = 0; i < bound.length(); i++) {
+            digits[i] = digit(bound.charAt(i));
+        }
+        boolean fits;
+        do {
+            fits = add(digits, delta);
+        } while (fits && digits[width - 1] == 0);
+        if (!fits || leading(digits, edge) != band) {
+            // band used up, continue at the near end of the next one
+            int next = band + 1;
+            digits = new int[2 * next + 1];
+            for (int i = 0; i < digits.length; i++) {
+                digits[i] = i < next ? edge : (delta < 0 ? BASE - 1 : 0);
+            }
+            if (delta > 0) {
+                digits[digits.length - 1] = 1;
+            }
+        }
+        StringBuilder rank = new StringBuilder(digits.length);
+        for (int digit : digits) {
+            rank.append(DIGITS.charAt(digit));
+        }
+        return rank.toString();
+    }
+
+    private static int leading(String rank, int digit) {
+        int count = 0;
+        while (count < rank.length() && digit(rank.charAt(count)) == digit) {
+            count++;
+        }
+        return count;
+    }
+
+    private static int leading(int[] digits, int digit) {
+        int count = 0;
+        while (count < digits.length && digits[count] == digit) {
+            count++;
+        }
+        return count;
+    }
+
+    private static boolean add(int[] digits, int delta) {
+        for (int i = digits.length - 1; i >= 0; i--) {
+            int digit = digits[i] + delta;
+            if (digit >= 0 && digit < BASE) {
+                digits[i] = digit;
+                return true;
+            }
+            digits[i] = delta > 0 ? 0 : BASE - 1;
+        }
+        return false;
+    }
+
+    /**
+     * {@code count} short ranks spread evenly over the whole key space, in ascending order.
+     */
+    public static List<String> evenlySpaced(int count) {
+        int width = 1;
+        long space = BASE;
+        // leave at least BASE free positions between neighbours
+        while (space / ((long) count + 1) < BASE) {
+            width++;
+            space *= BASE;
+        }
+        long step = space / ((long) count + 1);
+        List<String> ranks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            ranks.add(encode(step * i, width));
+        }
+        return ranks;
+    }
+
+    private static String encode(long value, int width) {
+        char[] chars = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            chars[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        // stripping trailing zeros keeps the order of fixed-width strings
+        int length = width;
+        while (length > 1 && chars[length - 1] == '0') {
+            length--;
+        }
+        return new String(chars, 0, length);
+    }
+
+    private static int digit(char c) {
+        int digit = DIGITS.indexOf(c);
+        if (digit < 0) {
+            throw new IllegalArgumentException("Invalid rank character '" + c + "'");
+        }
+        return digit;
+    }
+}
@@ -0,0 +1,42 @@
+package com.todoapp.todo_backend.util;
+
+import com.todoapp.todo_backend.exception.CustomException;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+public final class TaskTags {
+
+    public static final int MAX_TAGS_PER_TASK = 20;
+    public static final int MAX_TAG_LENGTH = 50;
+
+    private TaskTags() {
+    }
+
+    public static String normalize(String tag) {
+        return tag == null ? "" : tag.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static Set<String> normalize(Collection<String> tags) throws CustomException {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (tags == null) {
+            return normalized;
+        }
+        for (String tag : tags) {
+            String value = normalize(tag);
+            if (value.isEmpty()) {
+                continue;
+            }
+            if (value.length() > MAX_TAG_LENGTH) {
+                throw new CustomException("Tag cannot be longer than " + MAX_TAG_LENGTH + " characters");
+            }
+            normalized.add(value);
+        }
+        if (normalized.size() > MAX_TAGS_PER_TASK) {
+            throw new CustomException("A task cannot have more than " + MAX_TAGS_PER_TASK + " tags");
+        }
+        return normalized;
+    }
+}
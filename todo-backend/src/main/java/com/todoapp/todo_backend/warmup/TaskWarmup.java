@@ -0,0 +1,173 @@
+package com.todoapp.todo_backend.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.todo_backend.controller.TaskController;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.query.TaskField;
+import com.todoapp.todo_backend.service.TaskService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup work done before the application reports itself ready, so the first requests after a deploy
+ * do not pay for it: opening the pool's connections, running the hot read paths and their JSON
+ * serialization often enough for the JIT to compile them, and loading the response cache entries the
+ * first list requests look up. Only reads, nothing is written.
+ */
+@Component
+@Slf4j
+public class TaskWarmup {
+
+    public enum Phase {
+        PENDING, CONNECTION_POOL, READ_PATHS, CACHES, DONE, DISABLED
+    }
+
+    private static final Set<TaskField> SPARSE_FIELDS = EnumSet.of(TaskField.ID, TaskField.TITLE, TaskField.COMPLETED);
+
+    private final TaskService taskService;
+    private final TaskController taskController;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int iterations;
+    private final long maxDurationMillis;
+
+    private volatile Phase phase = Phase.PENDING;
+    private volatile int completedIterations;
+    private volatile int poolConnections;
+    private volatile long startedAtNanos;
+    // -1 until finished
+    private volatile long elapsedMillis = -1;
+    private volatile String error;
+
+    public TaskWarmup(TaskService taskService,
+                      TaskController taskController,
+                      DataSource dataSource,
+                      ObjectMapper objectMapper,
+                      @Value("${todo.warmup.enabled:true}") boolean enabled,
+                      @Value("${todo.warmup.iterations:2000}") int iterations,
+                      @Value("${todo.warmup.max-duration-ms:30000}") long maxDurationMillis) {
+        this.taskService = taskService;
+        this.taskController = taskController;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.maxDurationMillis = maxDurationMillis;
+    }
+
+    public void warmUp() {
+        if (!enabled) {
+            phase = Phase.DISABLED;
+            return;
+        }
+        startedAtNanos = System.nanoTime();
+        try {
+            phase = Phase.CONNECTION_POOL;
+            fillConnectionPool();
+            phase = Phase.READ_PATHS;
+            runReadPaths();
+            phase = Phase.CACHES;
+            primeCaches();
+        } catch (Exception e) {
+            // a cold start is slow, not broken, so startup goes on
+            error = e.getMessage();
+            log.warn("Warm-up stopped in phase {}: {}", phase, e.getMessage());
+        } finally {
+            elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+            phase = Phase.DONE;
+        }
+        log.info("Warm-up took {} ms: {} pool connections opened, {} of {} read iterations",
+                elapsedMillis, poolConnections, completedIterations, iterations);
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public int getCompletedIterations() {
+        return completedIterations;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public int getPoolConnections() {
+        return poolConnections;
+    }
+
+    /**
+     * @return how long warm-up took, or has taken so far while it is running
+     */
+    public long getElapsedMillis() {
+        if (elapsedMillis >= 0 || startedAtNanos == 0) {
+            return Math.max(0, elapsedMillis);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    private void fillConnectionPool() throws SQLException {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return;
+        }
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        HikariPoolMXBean poolBean = pool.getHikariPoolMXBean();
+        // connections other threads are using already exist; waiting for them could take long
+        int target = Math.min(pool.getMinimumIdle(), pool.getMaximumPoolSize())
+                - (poolBean == null ? 0 : poolBean.getActiveConnections());
+        List<Connection> held = new ArrayList<>(Math.max(0, target));
+        try {
+            // held at the same time, so the pool has to open a new one for each instead of reusing one
+            for (int i = 0; i < target; i++) {
+                held.add(dataSource.getConnection());
+                poolConnections = held.size();
+            }
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+    }
+
+    private void runReadPaths() throws Exception {
+        long deadline = startedAtNanos + TimeUnit.MILLISECONDS.toNanos(maxDurationMillis);
+        for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+            List<Task> newest = taskService.getIncompleteTasks(5);
+            objectMapper.writeValueAsBytes(newest);
+            objectMapper.writeValueAsBytes(taskService.getIncompleteTasksByRank(20));
+            objectMapper.writeValueAsBytes(taskService.getIncompleteTasks(5, SPARSE_FIELDS));
+            List<Long> ids = newest.isEmpty() ? List.of(1L) : newest.stream().map(Task::getId).toList();
+            objectMapper.writeValueAsBytes(taskService.getTasksByIds(ids));
+            try {
+                objectMapper.writeValueAsBytes(taskService.getTaskById(ids.get(i % ids.size())));
+            } catch (CustomException e) {
+                // not there (any more), the lookup still ran
+            }
+            completedIterations = i + 1;
+        }
+    }
+
+    private void primeCaches() {
+        // through the controller, so the entries have exactly the keys the first requests look up
+        taskController.getAllTask(null, null);
+        taskController.getOrderedTasks(20, null, null);
+    }
+}
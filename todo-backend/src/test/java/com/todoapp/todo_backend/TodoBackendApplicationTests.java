@@ -3,7 +3,7 @@ package com.todoapp.todo_backend;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "todo.warmup.enabled=false")
 class TodoBackendApplicationTests {
 
 	@Test
@@ -0,0 +1,106 @@
+package com.todoapp.todo_backend.cache;
+
+import com.todoapp.todo_backend.TodoBackendApplication;
+import com.todoapp.todo_backend.dto.requestDto.TaskRequestDTO;
+import com.todoapp.todo_backend.index.TaskTagIndex;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.service.TaskService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application contexts in one JVM sharing an in-memory H2 database, standing in for two replicas.
+ * Started by hand on the h2 profile, since a test class gets only one Spring-managed context.
+ */
+class TaskInvalidationClusterTest {
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode("create", 60_000);
+        // node B checks the change log on every cached read
+        nodeB = startNode("none", 0);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    @Test
+    void cachedResponseOnOneNodeSeesWriteOnTheOther() throws Exception {
+        TaskResponseCache cacheB = nodeB.getBean(TaskResponseCache.class);
+        TaskService serviceB = nodeB.getBean(TaskService.class);
+        String before = body(cacheB.getOrLoad("cluster-list", () -> serviceB.getIncompleteTasks(50)));
+        assertEquals(before, body(cacheB.getOrLoad("cluster-list", () -> List.of())), "second read is a hit");
+
+        createTask(nodeA, "Written on node A", null);
+
+        String after = body(cacheB.getOrLoad("cluster-list", () -> serviceB.getIncompleteTasks(50)));
+        assertTrue(after.contains("Written on node A"));
+    }
+
+    @Test
+    void pollingKeepsTagIndexOfTheOtherNodeCurrent() throws Exception {
+        TaskTagIndex indexB = nodeB.getBean(TaskTagIndex.class);
+        Task task = createTask(nodeA, "Tagged on node A", Set.of("cluster"));
+
+        await(() -> indexB.query(Set.of("cluster"), Set.of(), false).contains(task.getId()));
+
+        nodeA.getBean(TaskService.class).markTaskAsCompleted(task.getId());
+
+        await(() -> indexB.query(Set.of("cluster"), Set.of(), true).contains(task.getId()));
+        assertFalse(indexB.query(Set.of("cluster"), Set.of(), false).contains(task.getId()));
+    }
+
+    private static ConfigurableApplicationContext startNode(String ddlAuto, long maxStalenessMillis) {
+        return new SpringApplicationBuilder(TodoBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .run("--spring.datasource.url=jdbc:h2:mem:invalidation-cluster;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "--todo.storage=jpa",
+                        "--todo.warmup.enabled=false",
+                        "--todo.cache.invalidation.poll-interval-ms=50",
+                        "--todo.cache.invalidation.max-staleness-ms=" + maxStalenessMillis,
+                        "--logging.level.root=WARN");
+    }
+
+    private static Task createTask(ConfigurableApplicationContext node, String title, Set<String> tags) throws Exception {
+        TaskRequestDTO request = new TaskRequestDTO();
+        request.setTitle(title);
+        request.setDescription("Cluster test");
+        request.setTags(tags);
+        return node.getBean(TaskService.class).createTask(request);
+    }
+
+    private static String body(CachedResponse response) {
+        return new String(response.body(), StandardCharsets.UTF_8);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not reached within 5 s");
+            Thread.sleep(20);
+        }
+    }
+}
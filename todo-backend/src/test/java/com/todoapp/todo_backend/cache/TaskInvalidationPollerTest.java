@@ -0,0 +1,52 @@
+package com.todoapp.todo_backend.cache;
+
+import com.todoapp.todo_backend.model.TaskChangeLogState;
+import com.todoapp.todo_backend.repository.TaskChangeLogStateRepository;
+import com.todoapp.todo_backend.repository.TaskChangeRepository;
+import com.todoapp.todo_backend.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class TaskInvalidationPollerTest {
+
+    private final TaskChangeLogStateRepository stateRepository = mock(TaskChangeLogStateRepository.class);
+    private final TaskInvalidationPoller poller = new TaskInvalidationPoller(mock(TaskChangeRepository.class),
+            stateRepository, mock(TaskRepository.class), mock(ApplicationEventPublisher.class), 500);
+
+    @Test
+    void readersWaitingForACatchUpDoNotRepeatIt() throws Exception {
+        when(stateRepository.findById(TaskChangeLogState.ID)).thenReturn(Optional.of(new TaskChangeLogState()));
+        poller.start();
+        Thread.sleep(600);
+
+        CountDownLatch catchingUp = new CountDownLatch(1);
+        when(stateRepository.findById(TaskChangeLogState.ID)).thenAnswer(invocation -> {
+            catchingUp.countDown();
+            Thread.sleep(100);
+            return Optional.of(new TaskChangeLogState());
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(poller::ensureFresh);
+            assertTrue(catchingUp.await(5, TimeUnit.SECONDS));
+            Future<?> second = executor.submit(poller::ensureFresh);
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // once by start, once by the first reader
+        verify(stateRepository, times(2)).findById(TaskChangeLogState.ID);
+    }
+}
@@ -0,0 +1,56 @@
+package com.todoapp.todo_backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskResponseCacheTest {
+
+    private final TaskDataVersion dataVersion = new TaskDataVersion();
+    private final TaskResponseCache cache = new TaskResponseCache(new ObjectMapper(), dataVersion, true, 16);
+
+    @Test
+    void servesSameBytesUntilDataVersionAdvances() {
+        AtomicInteger loads = new AtomicInteger();
+
+        CachedResponse first = cache.getOrLoad("list", () -> List.of("a", loads.incrementAndGet()));
+        CachedResponse second = cache.getOrLoad("list", () -> List.of("a", loads.incrementAndGet()));
+        assertSame(first, second);
+        assertEquals("[\"a\",1]", new String(first.body()));
+
+        dataVersion.advance();
+        CachedResponse third = cache.getOrLoad("list", () -> List.of("a", loads.incrementAndGet()));
+        assertEquals("[\"a\",2]", new String(third.body()));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void doesNotKeepBodyLoadedAcrossAWrite() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad("list", () -> {
+            dataVersion.advance();
+            return loads.incrementAndGet();
+        });
+        cache.getOrLoad("list", loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void precomputesGzipVariant() throws IOException {
+        CachedResponse response = cache.getOrLoad("list", () -> List.of("x".repeat(1000)));
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.gzipBody()))) {
+            assertArrayEquals(response.body(), gzip.readAllBytes());
+        }
+        assertTrue(response.gzipBody().length < response.body().length);
+    }
+}
@@ -0,0 +1,98 @@
+package com.todoapp.todo_backend.coalescing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchLoaderTest {
+
+    @Test
+    void singleLookupRunsRightAway() {
+        List<List<Long>> calls = new ArrayList<>();
+        BatchLoader<String> loader = new BatchLoader<>(ids -> {
+            calls.add(ids);
+            return ids.contains(1L) ? Map.of(1L, "one") : Map.of();
+        }, Runnable::run, 10, 1);
+
+        assertEquals("one", loader.load(1L));
+        assertNull(loader.load(2L));
+        assertEquals(List.of(List.of(1L), List.of(2L)), calls);
+    }
+
+    @Test
+    void lookupsArrivingDuringARunningBatchShareTheNextOne() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        List<List<Long>> calls = new ArrayList<>();
+        ExecutorService pool = Executors.newCachedThreadPool();
+        BatchLoader<Long> loader = new BatchLoader<>(ids -> {
+            synchronized (calls) {
+                calls.add(ids);
+            }
+            if (ids.contains(0L)) {
+                firstBatchStarted.countDown();
+                await(releaseFirstBatch);
+            }
+            Map<Long, Long> result = new HashMap<>();
+            ids.forEach(id -> result.put(id, id * 10));
+            return result;
+        }, pool, 100, 1);
+
+        try {
+            Future<Long> first = pool.submit(() -> loader.load(0L));
+            assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+            List<Future<Long>> waiting = new ArrayList<>();
+            for (long id = 1; id <= 20; id++) {
+                long lookup = id % 10 + 1;
+                waiting.add(pool.submit(() -> loader.load(lookup)));
+            }
+            // all twenty are queued behind the running batch before it is released
+            long deadline = System.currentTimeMillis() + 5000;
+            while (loader.getLookups() < 21) {
+                assertTrue(System.currentTimeMillis() < deadline);
+                Thread.sleep(5);
+            }
+            releaseFirstBatch.countDown();
+
+            assertEquals(0L, first.get(5, TimeUnit.SECONDS));
+            for (int i = 0; i < waiting.size(); i++) {
+                assertEquals(((i + 1) % 10 + 1) * 10L, waiting.get(i).get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(2, calls.size());
+        assertEquals(10, calls.get(1).size(), "duplicate ids are looked up once");
+        assertEquals(2, loader.getBatches());
+    }
+
+    @Test
+    void failureReachesEveryCallerOfTheBatch() {
+        BatchLoader<String> loader = new BatchLoader<>(ids -> {
+            throw new IllegalStateException("database down");
+        }, Runnable::run, 10, 1);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> loader.load(1L));
+        assertEquals("database down", e.getMessage());
+        // the loader recovers for later lookups
+        assertThrows(IllegalStateException.class, () -> loader.load(2L));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
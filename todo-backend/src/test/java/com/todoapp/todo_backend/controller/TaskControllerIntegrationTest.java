@@ -16,6 +16,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -187,11 +188,11 @@ class TaskControllerIntegrationTest {
         task.setCompleted(false);
         Task savedTask = taskRepository.save(task);
 
-        // Note: Current implementation has a bug in deleteTask logic
-        // This test reflects the actual behavior
         mockMvc.perform(delete("/api/tasks/" + savedTask.getId())
                         .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNoContent());
+
+        assertFalse(taskRepository.existsById(savedTask.getId()));
     }
 
     @Test
@@ -199,7 +200,7 @@ class TaskControllerIntegrationTest {
     void deleteTask_NotFound() throws Exception {
         mockMvc.perform(delete("/api/tasks/999")
                         .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isNotFound());
     }
 
     @Test
@@ -0,0 +1,88 @@
+package com.todoapp.todo_backend.controller;
+
+import com.todoapp.todo_backend.cache.TaskDataVersion;
+import com.todoapp.todo_backend.cache.TaskResponseCache;
+import com.todoapp.todo_backend.ratelimit.RateLimitInterceptor;
+import com.todoapp.todo_backend.service.IdempotencyService;
+import com.todoapp.todo_backend.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TaskController.class)
+@Import({TaskResponseCache.class, TaskDataVersion.class})
+@TestPropertySource(properties = {
+        "todo.cache.response.enabled=false",
+        "todo.ratelimit.read.per-second=0.01",
+        "todo.ratelimit.read.burst=2",
+        "todo.ratelimit.write.per-second=0.01",
+        "todo.ratelimit.write.burst=1",
+        "todo.ratelimit.api-keys=reader,other,writer"
+})
+class TaskControllerRateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TaskService taskService;
+
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @Test
+    void rejectsReadsOverBudgetWithRetryAfter() throws Exception {
+        when(taskService.getIncompleteTasks(anyInt())).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/tasks/gettask").header(RateLimitInterceptor.API_KEY_HEADER, "reader"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks/gettask").header(RateLimitInterceptor.API_KEY_HEADER, "reader"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks/gettask").header(RateLimitInterceptor.API_KEY_HEADER, "reader"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "100"));
+
+        // another client has its own budget
+        mockMvc.perform(get("/api/tasks/gettask").header(RateLimitInterceptor.API_KEY_HEADER, "other"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unknownApiKeysShareTheBudgetOfTheirAddress() throws Exception {
+        when(taskService.getIncompleteTasks(anyInt())).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/tasks/gettask").header(RateLimitInterceptor.API_KEY_HEADER, "made-up-1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks/gettask").header(RateLimitInterceptor.API_KEY_HEADER, "made-up-2"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks/gettask").header(RateLimitInterceptor.API_KEY_HEADER, "made-up-3"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void writesHaveTheirOwnBudget() throws Exception {
+        mockMvc.perform(post("/api/tasks/create").header(RateLimitInterceptor.API_KEY_HEADER, "writer")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"a\",\"description\":\"b\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/tasks/create").header(RateLimitInterceptor.API_KEY_HEADER, "writer")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"a\",\"description\":\"b\"}"))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/tasks/gettask").header(RateLimitInterceptor.API_KEY_HEADER, "writer"))
+                .andExpect(status().isOk());
+    }
+}
@@ -1,24 +1,39 @@
 package com.todoapp.todo_backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.todo_backend.cache.TaskDataVersion;
+import com.todoapp.todo_backend.cache.TaskResponseCache;
+import com.todoapp.todo_backend.dto.requestDto.TaskPatchRequestDTO;
 import com.todoapp.todo_backend.dto.requestDto.TaskRequestDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskBatchDTO;
 import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.exception.TaskVersionConflictException;
 import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.query.TaskField;
+import com.todoapp.todo_backend.service.IdempotencyService;
 import com.todoapp.todo_backend.service.TaskService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -26,6 +41,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TaskController.class)
+@Import({TaskResponseCache.class, TaskDataVersion.class})
+@TestPropertySource(properties = "todo.cache.response.enabled=false")
 class TaskControllerTest {
 
     @Autowired
@@ -37,6 +54,9 @@ class TaskControllerTest {
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private IdempotencyService idempotencyService;
+
     private Task testTask;
     private TaskRequestDTO taskRequestDTO;
 
@@ -83,6 +103,31 @@ class TaskControllerTest {
         verify(taskService, times(1)).createTask(any(TaskRequestDTO.class));
     }
 
+    @Test
+    void createTask_WithIdempotencyKey_ReplaysStoredResponse() throws Exception {
+        when(idempotencyService.execute(eq("create-task"), eq("retry-1"), any(), eq(Task.class), any()))
+                .thenReturn(new IdempotencyService.IdempotentResult<>(testTask, true));
+
+        mockMvc.perform(post("/api/tasks/create")
+                        .header(TaskController.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskRequestDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(TaskController.IDEMPOTENT_REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id").value(1));
+
+        verify(taskService, never()).createTask(any(TaskRequestDTO.class));
+    }
+
+    @Test
+    void createTask_WithOversizedIdempotencyKey_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/tasks/create")
+                        .header(TaskController.IDEMPOTENCY_KEY_HEADER, "k".repeat(TaskController.MAX_IDEMPOTENCY_KEY_LENGTH + 1))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskRequestDTO)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getAllTask_Success() throws Exception {
         Task task1 = new Task(1L, "Task 1", "Description 1", false, LocalDateTime.now());
@@ -101,6 +146,28 @@ class TaskControllerTest {
         verify(taskService, times(1)).getIncompleteTasks(5);
     }
 
+    @Test
+    void getAllTask_WithFields() throws Exception {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 1L);
+        row.put("title", "Task 1");
+        when(taskService.getIncompleteTasks(5, EnumSet.of(TaskField.ID, TaskField.TITLE))).thenReturn(List.of(row));
+
+        mockMvc.perform(get("/api/tasks/gettask").param("fields", "title,id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].title").value("Task 1"))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+
+        verify(taskService, never()).getIncompleteTasks(5);
+    }
+
+    @Test
+    void getAllTask_UnknownField() throws Exception {
+        mockMvc.perform(get("/api/tasks/gettask").param("fields", "id,secret"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getAllTask_EmptyList() throws Exception {
         when(taskService.getIncompleteTasks(5)).thenReturn(Arrays.asList());
@@ -150,6 +217,37 @@ class TaskControllerTest {
         verify(taskService, times(1)).getTaskById(1L);
     }
 
+    @Test
+    void getTasksByIds_Success() throws Exception {
+        when(taskService.getTasksByIds(List.of(1L, 3L))).thenReturn(new TaskBatchDTO(List.of(testTask), List.of(3L)));
+
+        mockMvc.perform(get("/api/tasks").param("ids", "1, 3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks", hasSize(1)))
+                .andExpect(jsonPath("$.tasks[0].id").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(3));
+
+        verify(taskService, times(1)).getTasksByIds(List.of(1L, 3L));
+    }
+
+    @Test
+    void getTasksByIds_MalformedIds() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("ids", "1,x"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks").param("ids", ","))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).getTasksByIds(any());
+    }
+
+    @Test
+    void getTasksByIds_NotMappedTogetherWithTags() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("ids", "1").param("tags", "work"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).getTasksByIds(any());
+    }
+
     @Test
     void markTaskAsCompleted_Success() throws Exception {
         testTask.setCompleted(true);
@@ -198,4 +296,53 @@ class TaskControllerTest {
 
         verify(taskService, times(1)).deleteTask(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateTask_Success() throws Exception {
+        testTask.setVersion(2L);
+        when(taskService.updateTask(eq(1L), any(TaskPatchRequestDTO.class))).thenReturn(testTask);
+
+        mockMvc.perform(patch("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Test Task\",\"version\":1}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(2));
+    }
+
+    @Test
+    void updateTask_StaleVersion_Conflict() throws Exception {
+        when(taskService.updateTask(eq(1L), any(TaskPatchRequestDTO.class)))
+                .thenThrow(new TaskVersionConflictException("Task 1 is no longer at version 1"));
+
+        mockMvc.perform(patch("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Test Task\",\"version\":1}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void updateTask_MissingVersion_BadRequest() throws Exception {
+        mockMvc.perform(patch("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Test Task\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void updateTask_ExplicitNull_IsPassedAsProvided() throws Exception {
+        when(taskService.updateTask(eq(1L), any(TaskPatchRequestDTO.class))).thenReturn(testTask);
+
+        mockMvc.perform(patch("/api/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":null,\"version\":1}"))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<TaskPatchRequestDTO> captor = ArgumentCaptor.forClass(TaskPatchRequestDTO.class);
+        verify(taskService).updateTask(eq(1L), captor.capture());
+        assertTrue(captor.getValue().isProvided(TaskField.DESCRIPTION));
+        assertFalse(captor.getValue().isProvided(TaskField.TITLE));
+        assertFalse(captor.getValue().isProvided(TaskField.DUE_AT));
+    }
+}
@@ -0,0 +1,82 @@
+package com.todoapp.todo_backend.deadline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineInterceptorTest {
+
+    private final DeadlineInterceptor interceptor = new DeadlineInterceptor(5000, 30_000);
+
+    @AfterEach
+    void clearDeadline() {
+        Deadline.clear();
+    }
+
+    @Test
+    void usesEndpointDefaultWithoutHeader() throws Exception {
+        interceptor.setEmbeddedValueResolver(value -> value.equals("${read}") ? "2000" : value);
+
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler("read")));
+        assertEquals(2000, Deadline.current().getBudgetMillis());
+
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler("write")));
+        assertEquals(5000, Deadline.current().getBudgetMillis());
+    }
+
+    @Test
+    void clientHeaderIsCappedAtMaximum() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(DeadlineInterceptor.TIMEOUT_HEADER, "120000");
+
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), handler("read")));
+        assertEquals(30_000, Deadline.current().getBudgetMillis());
+        assertEquals(1, interceptor.getStats().getClientTimeouts());
+    }
+
+    @Test
+    void rejectsMalformedHeader() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(DeadlineInterceptor.TIMEOUT_HEADER, "soon");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request, response, handler("read")));
+        assertEquals(400, response.getStatus());
+        assertNull(Deadline.current());
+    }
+
+    @Test
+    void countsRequestsAnsweredAfterTheirDeadline() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(DeadlineInterceptor.TIMEOUT_HEADER, "1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, handler("write"));
+        Thread.sleep(5);
+        interceptor.afterCompletion(request, response, handler("write"), null);
+
+        interceptor.preHandle(new MockHttpServletRequest(), response, handler("write"));
+        interceptor.afterCompletion(new MockHttpServletRequest(), response, handler("write"), null);
+
+        assertEquals(2, interceptor.getStats().getRequests());
+        assertEquals(1, interceptor.getStats().getExceeded());
+        assertNull(Deadline.current());
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Endpoints(), Endpoints.class.getMethod(name));
+    }
+
+    static class Endpoints {
+
+        @RequestTimeout("${read}")
+        public void read() {
+        }
+
+        public void write() {
+        }
+    }
+}
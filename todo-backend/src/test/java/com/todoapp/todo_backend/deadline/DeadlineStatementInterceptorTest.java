@@ -0,0 +1,117 @@
+package com.todoapp.todo_backend.deadline;
+
+import com.todoapp.todo_backend.exception.DeadlineExceededException;
+import com.todoapp.todo_backend.jdbc.InterceptingDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineStatementInterceptorTest {
+
+    private final InterceptingDataSource dataSource =
+            InterceptingDataSource.register(h2(), new DeadlineStatementInterceptor());
+
+    @AfterEach
+    void clearDeadline() {
+        Deadline.clear();
+    }
+
+    @Test
+    void leavesStatementsAloneWithoutDeadline() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            statement.executeQuery().close();
+            assertEquals(0, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    void setsQueryTimeoutToTimeLeftRoundedUp() throws SQLException {
+        Deadline.start(2500);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            try (ResultSet rs = statement.executeQuery()) {
+                assertTrue(rs.next());
+            }
+            assertEquals(3, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    void keepsShorterTimeoutAlreadySet() throws SQLException {
+        Deadline.start(10_000);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            statement.setQueryTimeout(1);
+            statement.executeQuery().close();
+            assertEquals(1, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    void followsDeadlineOfEachExecutionOnReusedStatement() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            Deadline.start(1500);
+            PreparedStatement statement = connection.prepareStatement("SELECT 1");
+            statement.executeQuery().close();
+            assertEquals(2, statement.getQueryTimeout());
+
+            // the next request, with a longer budget
+            Deadline.start(5000);
+            statement.executeQuery().close();
+            assertEquals(5, statement.getQueryTimeout());
+
+            // and one without a deadline
+            Deadline.clear();
+            statement.executeQuery().close();
+            assertEquals(0, statement.getQueryTimeout());
+            statement.close();
+        }
+    }
+
+    @Test
+    void restoresOwnTimeoutAfterDeadline() throws SQLException {
+        Deadline.start(10_000);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            statement.setQueryTimeout(30);
+            statement.executeQuery().close();
+            assertEquals(10, statement.getQueryTimeout());
+
+            Deadline.clear();
+            statement.executeQuery().close();
+            assertEquals(30, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    void refusesToExecuteAfterDeadline() throws Exception {
+        Deadline.start(1);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            Thread.sleep(5);
+            assertThrows(DeadlineExceededException.class, statement::executeQuery);
+        }
+    }
+
+    @Test
+    void capsWaitsAtTimeLeft() {
+        assertEquals(1000, Deadline.capMillis(1000));
+        Deadline.start(200);
+        assertTrue(Deadline.capMillis(1000) <= 200);
+        assertEquals(50, Deadline.capMillis(50));
+    }
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:deadline;DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
@@ -0,0 +1,95 @@
+package com.todoapp.todo_backend.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedBitmapTest {
+
+    @Test
+    void addRemoveContains() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        bitmap.add(1);
+        bitmap.add(70_000);
+        bitmap.add(1);
+
+        assertTrue(bitmap.contains(1));
+        assertTrue(bitmap.contains(70_000));
+        assertFalse(bitmap.contains(2));
+        assertEquals(2, bitmap.cardinality());
+
+        bitmap.remove(1);
+        bitmap.remove(70_000);
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    void operationsMatchSetSemanticsAcrossContainerTypes() {
+        Random random = new Random(11);
+        TreeSet<Long> a = new TreeSet<>();
+        TreeSet<Long> b = new TreeSet<>();
+        CompressedBitmap bitmapA = new CompressedBitmap();
+        CompressedBitmap bitmapB = new CompressedBitmap();
+        // dense ranges become bitsets, sparse ones stay arrays
+        for (int i = 0; i < 30_000; i++) {
+            long dense = random.nextInt(40_000);
+            long sparse = 1_000_000 + random.nextInt(5_000_000);
+            a.add(dense);
+            bitmapA.add(dense);
+            b.add(sparse);
+            bitmapB.add(sparse);
+            if (i % 3 == 0) {
+                b.add(dense);
+                bitmapB.add(dense);
+            }
+        }
+        for (int i = 0; i < 5_000; i++) {
+            long value = random.nextInt(40_000);
+            a.remove(value);
+            bitmapA.remove(value);
+        }
+
+        TreeSet<Long> and = new TreeSet<>(a);
+        and.retainAll(b);
+        TreeSet<Long> andNot = new TreeSet<>(a);
+        andNot.removeAll(b);
+        TreeSet<Long> or = new TreeSet<>(a);
+        or.addAll(b);
+
+        assertEquals(and, toSet(bitmapA.and(bitmapB)));
+        assertEquals(andNot, toSet(bitmapA.andNot(bitmapB)));
+        assertEquals(or, toSet(bitmapA.or(bitmapB)));
+        assertEquals(a, toSet(bitmapA.copy()));
+        assertEquals(a.size(), bitmapA.cardinality());
+    }
+
+    @Test
+    void pagesFromHighestId() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (long id = 1; id <= 100; id++) {
+            bitmap.add(id * 1_000);
+        }
+
+        assertArrayEquals(new long[]{100_000, 99_000, 98_000}, bitmap.pageDescending(0, 3));
+        assertArrayEquals(new long[]{97_000, 96_000}, bitmap.pageDescending(3, 2));
+        assertArrayEquals(new long[]{1_000}, bitmap.pageDescending(99, 10));
+        assertEquals(0, bitmap.pageDescending(100, 10).length);
+    }
+
+    private static TreeSet<Long> toSet(CompressedBitmap bitmap) {
+        List<Long> values = new ArrayList<>();
+        bitmap.forEachDescending(value -> {
+            values.add(value);
+            return true;
+        });
+        for (int i = 1; i < values.size(); i++) {
+            assertTrue(values.get(i - 1) > values.get(i));
+        }
+        return new TreeSet<>(values);
+    }
+}
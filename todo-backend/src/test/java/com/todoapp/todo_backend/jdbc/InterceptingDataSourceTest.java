@@ -0,0 +1,102 @@
+package com.todoapp.todo_backend.jdbc;
+
+import com.todoapp.todo_backend.deadline.DeadlinePostProcessor;
+import com.todoapp.todo_backend.deadline.DeadlineStatementInterceptor;
+import com.todoapp.todo_backend.logging.SqlLoggingPostProcessor;
+import com.todoapp.todo_backend.logging.SqlLoggingStatementInterceptor;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterceptingDataSourceTest {
+
+    @Test
+    void postProcessorsRegisterOnOneWrapper() {
+        JdbcDataSource target = h2("shared");
+        Object logged = new SqlLoggingPostProcessor(200, 0).postProcessAfterInitialization(target, "dataSource");
+        Object both = new DeadlinePostProcessor(true).postProcessAfterInitialization(logged, "dataSource");
+
+        assertSame(logged, both);
+        List<StatementInterceptor> interceptors = ((InterceptingDataSource) both).getInterceptors();
+        assertEquals(2, interceptors.size());
+        assertInstanceOf(SqlLoggingStatementInterceptor.class, interceptors.get(0));
+        assertInstanceOf(DeadlineStatementInterceptor.class, interceptors.get(1));
+    }
+
+    @Test
+    void runsHooksAroundEachCallInNestedOrder() throws SQLException {
+        List<String> calls = new ArrayList<>();
+        InterceptingDataSource dataSource = InterceptingDataSource.register(h2("nested"), recording("outer", calls));
+        InterceptingDataSource.register(dataSource, recording("inner", calls));
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            calls.clear();
+            statement.execute("SELECT 1");
+        }
+
+        assertEquals(List.of("outer before execute", "inner before execute",
+                "inner after execute", "outer after execute"), calls.subList(0, 4));
+    }
+
+    @Test
+    void failingBeforeHookSkipsTheCallAndTheLaterHooks() throws SQLException {
+        List<String> calls = new ArrayList<>();
+        InterceptingDataSource dataSource = InterceptingDataSource.register(h2("failing"), recording("outer", calls));
+        InterceptingDataSource.register(dataSource, (statement, sql) -> new StatementInterceptor.Hooks() {
+            @Override
+            public void before(String method, Object[] args) throws SQLException {
+                if (method.equals("execute")) {
+                    throw new SQLException("refused");
+                }
+            }
+        });
+        InterceptingDataSource.register(dataSource, recording("inner", calls));
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            calls.clear();
+            SQLException failure = assertThrows(SQLException.class, () -> statement.execute("SELECT 1"));
+            assertEquals("refused", failure.getMessage());
+        }
+
+        assertEquals(List.of("outer before execute", "outer after execute failed"), calls.subList(0, 2));
+    }
+
+    @Test
+    void leavesStatementsWithoutHooksUnwrapped() throws SQLException {
+        InterceptingDataSource dataSource = InterceptingDataSource.register(h2("unwrapped"), (statement, sql) -> null);
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            assertFalse(Proxy.isProxyClass(statement.getClass()));
+        }
+    }
+
+    private static StatementInterceptor recording(String name, List<String> calls) {
+        return (statement, sql) -> new StatementInterceptor.Hooks() {
+            @Override
+            public void before(String method, Object[] args) {
+                calls.add(name + " before " + method);
+            }
+
+            @Override
+            public void after(String method, Object[] args, Throwable failure) {
+                calls.add(name + " after " + method + (failure == null ? "" : " failed"));
+            }
+        };
+    }
+
+    private static JdbcDataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:intercepting-" + name + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
@@ -0,0 +1,156 @@
+package com.todoapp.todo_backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests are started on a fixed schedule of {@code rate} per second whether or not
+ * earlier ones have completed, the way independent users arrive. Every latency is measured from the
+ * scheduled start, so a stall shows up in the latencies of all the requests that should have been sent
+ * during it instead of silently lowering the request rate.
+ * <p>
+ * Requests are spread over {@code clients} API keys, loadtest-0 and up, so per-client rate limits see many
+ * moderate clients rather than one very busy one; the server only tells them apart when those keys are in
+ * {@code todo.ratelimit.api-keys}, otherwise they all share the budget of this machine's address. Ids of created tasks are kept for the complete and delete operations;
+ * when none is left those are replaced by a create.
+ */
+public class ConstantRateLoad {
+
+    public enum Operation {
+        CREATE, LIST, COMPLETE, DELETE
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpClient client;
+    private final URI baseUrl;
+    private final Operation[] weightedOperations;
+    private final int clients;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+    private final SplittableRandom random;
+    private final ConcurrentLinkedDeque<Long> taskIds = new ConcurrentLinkedDeque<>();
+    private long sequence;
+
+    public ConstantRateLoad(HttpClient client, URI baseUrl, Map<Operation, Integer> mix, int clients,
+                            int maxInFlight, Duration requestTimeout, long seed) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.weightedOperations = mix.entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Operation[]::new);
+        if (weightedOperations.length == 0) {
+            throw new IllegalArgumentException("The operation mix is empty");
+        }
+        this.clients = clients;
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = requestTimeout;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Creates tasks one after another, so complete and delete have something to work on from the start.
+     */
+    public void seed(int tasks) throws Exception {
+        for (int n = 0; n < tasks; n++) {
+            HttpResponse<String> response = client.send(request(Operation.CREATE, sequence++), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode() + ": " + response.body());
+            }
+            rememberCreated(response.body());
+        }
+    }
+
+    public LoadResult run(double rate, Duration duration) throws InterruptedException {
+        LoadResult result = new LoadResult(rate);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long intended = start; intended < end; intended += intervalNanos) {
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // a full window delays sending, which the latency from the intended start still accounts for
+            inFlight.acquire();
+            Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+            Long taskId = null;
+            if (operation == Operation.COMPLETE || operation == Operation.DELETE) {
+                taskId = taskIds.pollFirst();
+                if (taskId == null) {
+                    operation = Operation.CREATE;
+                }
+            }
+            send(operation, taskId, intended, result, inFlight);
+        }
+
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    private void send(Operation operation, Long taskId, long intended, LoadResult result, Semaphore inFlight) {
+        HttpRequest request = request(operation, taskId != null ? taskId : sequence++);
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            long done = System.nanoTime();
+            try {
+                int status = response != null ? response.statusCode() : 0;
+                result.record(operation, status, done - intended, done - sent);
+                boolean ok = status / 100 == 2;
+                if (ok && operation == Operation.CREATE) {
+                    rememberCreated(response.body());
+                } else if (taskId != null && (operation == Operation.COMPLETE || !ok)) {
+                    // a completed task can still be deleted; a failed delete leaves it in place
+                    taskIds.offerLast(taskId);
+                }
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private HttpRequest request(Operation operation, long n) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(requestTimeout)
+                .header("X-API-Key", "loadtest-" + (n % clients));
+        return switch (operation) {
+            case CREATE -> builder.uri(baseUrl.resolve("/api/tasks/create"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Load task " + n + "\","
+                            + "\"description\":\"Created by the load test\",\"tags\":[\"load\",\"group-" + (n % 10) + "\"]}"))
+                    .build();
+            case LIST -> builder.uri(baseUrl.resolve("/api/tasks/gettask")).GET().build();
+            case COMPLETE -> builder.uri(baseUrl.resolve("/api/tasks/" + n + "/complete"))
+                    .PUT(HttpRequest.BodyPublishers.noBody()).build();
+            case DELETE -> builder.uri(baseUrl.resolve("/api/tasks/" + n)).DELETE().build();
+        };
+    }
+
+    private void rememberCreated(String body) {
+        try {
+            JsonNode id = OBJECT_MAPPER.readTree(body).get("id");
+            if (id != null && id.canConvertToLong()) {
+                taskIds.offerLast(id.asLong());
+            }
+        } catch (Exception e) {
+            // not worth failing the run over; the task just is not reused
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.todoapp.todo_backend.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConstantRateLoadTest {
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/tasks/gettask", exchange -> {
+            if (requests.incrementAndGet() == 1) {
+                sleep(300);
+            }
+            byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void stallIsChargedToTheRequestsThatShouldHaveBeenSentDuringIt() throws InterruptedException {
+        // one request at a time: while the first one stalls, the sender cannot send the next ones
+        ConstantRateLoad load = new ConstantRateLoad(HttpClient.newHttpClient(),
+                URI.create("http://127.0.0.1:" + server.getAddress().getPort()),
+                Map.of(ConstantRateLoad.Operation.LIST, 1), 10, 1, Duration.ofSeconds(5), 1);
+
+        LoadResult result = load.run(100, Duration.ofSeconds(1));
+
+        LoadResult.OperationStats list = result.get(ConstantRateLoad.Operation.LIST);
+        // every scheduled request is sent, none is silently dropped
+        assertEquals(100, list.getResponseTime().getTotalCount());
+        assertEquals(0, list.getErrors());
+        // the requests queued behind the stall carry the wait, their own round trips are fast
+        assertTrue(list.getResponseTime().valueAtQuantile(0.90) > 100_000, list.getResponseTime().toString());
+        assertTrue(list.getServiceTime().valueAtQuantile(0.50) < 50_000);
+        assertTrue(list.getResponseTime().getMaxValue() >= 300_000);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
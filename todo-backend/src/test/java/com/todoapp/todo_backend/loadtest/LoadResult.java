@@ -0,0 +1,99 @@
+package com.todoapp.todo_backend.loadtest;
+
+import com.todoapp.todo_backend.stats.LatencyHistogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Outcome of one constant-rate phase, per operation. Response time runs from the moment a request was
+ * scheduled to be sent, so time spent queued behind a stalled server or a late sender is counted
+ * (coordinated omission); service time runs from the moment it actually went out. Values in microseconds.
+ * Thread-safe.
+ */
+public class LoadResult {
+
+    private final double targetRate;
+    private final Map<ConstantRateLoad.Operation, OperationStats> byOperation = new EnumMap<>(ConstantRateLoad.Operation.class);
+    private long elapsedNanos;
+
+    public LoadResult(double targetRate) {
+        this.targetRate = targetRate;
+        for (ConstantRateLoad.Operation operation : ConstantRateLoad.Operation.values()) {
+            byOperation.put(operation, new OperationStats());
+        }
+    }
+
+    /**
+     * @param status HTTP status, or 0 when no response arrived
+     */
+    public synchronized void record(ConstantRateLoad.Operation operation, int status, long responseNanos, long serviceNanos) {
+        OperationStats stats = byOperation.get(operation);
+        stats.responseTime.record(responseNanos / 1000);
+        stats.serviceTime.record(serviceNanos / 1000);
+        if (status < 200 || status >= 300) {
+            stats.errorsByStatus.merge(status, 1L, Long::sum);
+        }
+    }
+
+    public synchronized void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    public synchronized double getAchievedRate() {
+        return elapsedNanos == 0 ? 0 : total().responseTime.getTotalCount() / (elapsedNanos / 1e9);
+    }
+
+    public synchronized OperationStats get(ConstantRateLoad.Operation operation) {
+        return byOperation.get(operation).copy();
+    }
+
+    /**
+     * All operations merged.
+     */
+    public synchronized OperationStats total() {
+        OperationStats total = new OperationStats();
+        for (OperationStats stats : byOperation.values()) {
+            total.responseTime.merge(stats.responseTime);
+            total.serviceTime.merge(stats.serviceTime);
+            stats.errorsByStatus.forEach((status, count) -> total.errorsByStatus.merge(status, count, Long::sum));
+        }
+        return total;
+    }
+
+    public static class OperationStats {
+
+        private final LatencyHistogram responseTime = new LatencyHistogram();
+        private final LatencyHistogram serviceTime = new LatencyHistogram();
+        private final TreeMap<Integer, Long> errorsByStatus = new TreeMap<>();
+
+        public LatencyHistogram getResponseTime() {
+            return responseTime;
+        }
+
+        public LatencyHistogram getServiceTime() {
+            return serviceTime;
+        }
+
+        public Map<Integer, Long> getErrorsByStatus() {
+            return errorsByStatus;
+        }
+
+        public long getErrors() {
+            return errorsByStatus.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        private OperationStats copy() {
+            OperationStats copy = new OperationStats();
+            copy.responseTime.merge(responseTime);
+            copy.serviceTime.merge(serviceTime);
+            copy.errorsByStatus.putAll(errorsByStatus);
+            return copy;
+        }
+    }
+}
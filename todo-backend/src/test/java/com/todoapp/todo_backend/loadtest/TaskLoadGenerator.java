@@ -0,0 +1,163 @@
+package com.todoapp.todo_backend.loadtest;
+
+import com.todoapp.todo_backend.stats.LatencyHistogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP load test of the /api/tasks endpoints against a running instance, e.g. one started on in-memory H2 with
+ * {@code mvn spring-boot:run -Dspring-boot.run.profiles=h2}. Runs a constant-arrival-rate phase per rate
+ * (after a warm-up at that rate) and writes a plain-text report meant to be diffed between builds.
+ * Rates are stepped up until one is saturated: throughput falls behind the target, the p99 response time
+ * exceeds the SLO, or more than 1% of requests fail on the server side (5xx, 429 or no response at all;
+ * other 4xx are answers about the request and only listed).
+ * Not a unit test; run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.todoapp.todo_backend.loadtest.TaskLoadGenerator
+ * -Dexec.args="--rates=100,200,400 --duration-s=30"}
+ * or from the IDE. Options and defaults are in {@link #DEFAULTS}.
+ */
+public class TaskLoadGenerator {
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("base-url", "http://localhost:8080"),
+            Map.entry("rates", "50,100,200,400,800"),
+            Map.entry("duration-s", "30"),
+            Map.entry("warmup-s", "10"),
+            Map.entry("mix", "create=30,list=50,complete=15,delete=5"),
+            Map.entry("clients", "1000"),
+            Map.entry("max-in-flight", "2000"),
+            Map.entry("timeout-ms", "10000"),
+            Map.entry("seed-tasks", "500"),
+            Map.entry("seed", "42"),
+            Map.entry("slo-p99-ms", "250"),
+            Map.entry("report", "target/loadtest/report.txt"));
+
+    private static final double[] QUANTILES = {0.50, 0.90, 0.99, 0.999};
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        URI baseUrl = URI.create(options.get("base-url"));
+        Map<ConstantRateLoad.Operation, Integer> mix = parseMix(options.get("mix"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.get("duration-s")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.get("warmup-s")));
+        long sloMicros = Long.parseLong(options.get("slo-p99-ms")) * 1000;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ConstantRateLoad load = new ConstantRateLoad(client, baseUrl, mix,
+                Integer.parseInt(options.get("clients")), Integer.parseInt(options.get("max-in-flight")),
+                Duration.ofMillis(Long.parseLong(options.get("timeout-ms"))), Long.parseLong(options.get("seed")));
+        load.seed(Integer.parseInt(options.get("seed-tasks")));
+
+        List<String> report = new ArrayList<>();
+        report.add("# task load test");
+        for (String key : List.of("base-url", "mix", "duration-s", "warmup-s", "clients", "slo-p99-ms")) {
+            report.add(String.format(Locale.ROOT, "%-12s %s", key, options.get(key)));
+        }
+        for (String rateOption : options.get("rates").split(",")) {
+            double rate = Double.parseDouble(rateOption.trim());
+            if (!warmup.isZero()) {
+                System.out.printf(Locale.ROOT, "warming up at %.0f/s for %ds%n", rate, warmup.toSeconds());
+                load.run(rate, warmup);
+            }
+            System.out.printf(Locale.ROOT, "measuring at %.0f/s for %ds%n", rate, duration.toSeconds());
+            LoadResult result = load.run(rate, duration);
+            boolean saturated = appendPhase(report, result, sloMicros);
+            if (saturated) {
+                break;
+            }
+        }
+
+        Path reportFile = Paths.get(options.get("report"));
+        if (reportFile.getParent() != null) {
+            Files.createDirectories(reportFile.getParent());
+        }
+        Files.write(reportFile, report);
+        report.forEach(System.out::println);
+        System.out.println("report written to " + reportFile.toAbsolutePath());
+        System.exit(0);
+    }
+
+    /**
+     * Adds the lines of one phase and returns whether the rate was saturated.
+     */
+    static boolean appendPhase(List<String> report, LoadResult result, long sloMicros) {
+        LoadResult.OperationStats total = result.total();
+        long requests = total.getResponseTime().getTotalCount();
+        long failures = total.getErrorsByStatus().entrySet().stream()
+                .filter(entry -> entry.getKey() == 0 || entry.getKey() == 429 || entry.getKey() >= 500)
+                .mapToLong(Map.Entry::getValue).sum();
+        double failureRatio = requests == 0 ? 0 : (double) failures / requests;
+        boolean saturated = result.getAchievedRate() < 0.95 * result.getTargetRate()
+                || total.getResponseTime().valueAtQuantile(0.99) > sloMicros
+                || failureRatio > 0.01;
+
+        report.add("");
+        report.add(String.format(Locale.ROOT, "rate %.0f/s  achieved %.1f/s  requests %d  errors %d  saturated %s",
+                result.getTargetRate(), result.getAchievedRate(), requests, total.getErrors(), saturated ? "yes" : "no"));
+        report.add(String.format(Locale.ROOT, "  %-9s %8s %7s %9s %9s %9s %9s %9s %9s %9s  %s",
+                "operation", "count", "errors", "p50_ms", "p90_ms", "p99_ms", "p99.9_ms", "max_ms", "svc_p50", "svc_p99", "error_statuses"));
+        for (ConstantRateLoad.Operation operation : ConstantRateLoad.Operation.values()) {
+            report.add(row(operation.name().toLowerCase(Locale.ROOT), result.get(operation)));
+        }
+        report.add(row("all", total));
+        return saturated;
+    }
+
+    private static String row(String name, LoadResult.OperationStats stats) {
+        LatencyHistogram response = stats.getResponseTime();
+        LatencyHistogram service = stats.getServiceTime();
+        StringBuilder row = new StringBuilder(String.format(Locale.ROOT, "  %-9s %8d %7d", name, response.getTotalCount(), stats.getErrors()));
+        for (double quantile : QUANTILES) {
+            row.append(String.format(Locale.ROOT, " %9.2f", response.valueAtQuantile(quantile) / 1000.0));
+        }
+        row.append(String.format(Locale.ROOT, " %9.2f %9.2f %9.2f  ", response.getMaxValue() / 1000.0,
+                service.valueAtQuantile(0.50) / 1000.0, service.valueAtQuantile(0.99) / 1000.0));
+        // 0 is a request that got no response (timeout, refused connection)
+        stats.getErrorsByStatus().forEach((status, count) -> row.append(status).append('x').append(count).append(' '));
+        return row.toString().stripTrailing();
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            if (!DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + ", known are " + DEFAULTS.keySet());
+            }
+            options.put(name, arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    static Map<ConstantRateLoad.Operation, Integer> parseMix(String mix) {
+        Map<ConstantRateLoad.Operation, Integer> weights = new EnumMap<>(ConstantRateLoad.Operation.class);
+        for (String part : mix.split(",")) {
+            String[] weight = part.trim().split("=");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight in the mix but got " + part);
+            }
+            weights.put(ConstantRateLoad.Operation.valueOf(weight[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(weight[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,124 @@
+package com.todoapp.todo_backend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.todoapp.todo_backend.jdbc.InterceptingDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlLoggingStatementInterceptorTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(SqlStatementLog.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void logsSlowStatementsWithBindValuesAndElapsedTime() throws SQLException {
+        // a zero threshold makes every statement slow
+        InterceptingDataSource dataSource = logging(h2("slow"), new SqlStatementLog(0, 0));
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE item (id BIGINT, name VARCHAR(200))");
+            }
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO item VALUES (?, ?)")) {
+                insert.setLong(1, 7);
+                insert.setString(2, "milk");
+                assertEquals(1, insert.executeUpdate());
+            }
+            try (PreparedStatement select = connection.prepareStatement("SELECT name FROM item WHERE id = ?")) {
+                select.setNull(1, java.sql.Types.BIGINT);
+                try (ResultSet rs = select.executeQuery()) {
+                    assertFalse(rs.next());
+                }
+            }
+        }
+
+        List<ILoggingEvent> events = appender.list;
+        assertEquals(3, events.size());
+        assertTrue(events.stream().allMatch(e -> e.getLevel() == Level.WARN));
+        assertTrue(events.get(0).getFormattedMessage().contains("CREATE TABLE item"));
+        assertTrue(events.get(1).getFormattedMessage().matches("Slow SQL [\\d.]+ ms: INSERT INTO item VALUES \\(\\?, \\?\\) \\[7, 'milk']"),
+                events.get(1).getFormattedMessage());
+        assertTrue(events.get(2).getFormattedMessage().endsWith("[NULL]"));
+    }
+
+    @Test
+    void logsBatchesOnceWithTheirSize() throws SQLException {
+        InterceptingDataSource dataSource = logging(h2("batch"), new SqlStatementLog(0, 0));
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().execute("CREATE TABLE item (id BIGINT)");
+            appender.list.clear();
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO item VALUES (?)")) {
+                for (long id = 1; id <= 3; id++) {
+                    insert.setLong(1, id);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("(batch of 3)"));
+    }
+
+    @Test
+    void samplesFastStatementsAtInfo() throws SQLException {
+        InterceptingDataSource dataSource = logging(h2("sampled"), new SqlStatementLog(-1, 1.0));
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().execute("SELECT 1");
+        }
+        assertEquals(1, appender.list.size());
+        assertEquals(Level.INFO, appender.list.get(0).getLevel());
+        assertTrue(appender.list.get(0).getFormattedMessage().startsWith("Sampled SQL"));
+    }
+
+    @Test
+    void logsNothingBelowThresholdWithoutSampling() throws SQLException {
+        InterceptingDataSource dataSource = logging(h2("quiet"), new SqlStatementLog(60_000, 0));
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().execute("SELECT 1");
+        }
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void postProcessorLeavesDataSourceAloneWhenLoggingIsOff() {
+        JdbcDataSource target = h2("off");
+        assertSame(target, new SqlLoggingPostProcessor(-1, 0).postProcessAfterInitialization(target, "dataSource"));
+        assertInstanceOf(InterceptingDataSource.class,
+                new SqlLoggingPostProcessor(200, 0).postProcessAfterInitialization(target, "dataSource"));
+    }
+
+    private static InterceptingDataSource logging(JdbcDataSource target, SqlStatementLog statementLog) {
+        return InterceptingDataSource.register(target, new SqlLoggingStatementInterceptor(statementLog));
+    }
+
+    private static JdbcDataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:sql-logging-" + name + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
@@ -0,0 +1,47 @@
+package com.todoapp.todo_backend.outbox;
+
+import com.todoapp.todo_backend.dto.requestDto.TaskPatchRequestDTO;
+import com.todoapp.todo_backend.dto.requestDto.TaskRequestDTO;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// INIT creates the table as it was before UPDATED existed, ahead of Hibernate's schema update
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("h2")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox-event-type;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;"
+                + "INIT=RUNSCRIPT FROM 'classpath:task-outbox-enum-event-type.sql'",
+        "spring.jpa.hibernate.ddl-auto=update",
+        "todo.warmup.enabled=false"
+})
+class OutboxEventTypeColumnTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void existingEnumColumnTakesEventTypesAddedSince() throws Exception {
+        String type = jdbcTemplate.queryForObject("select data_type from information_schema.columns "
+                + "where lower(table_name) = 'task_outbox' and lower(column_name) = 'event_type'", String.class);
+        assertNotEquals("enum", type.toLowerCase());
+
+        TaskRequestDTO request = new TaskRequestDTO();
+        request.setTitle("Buy milk");
+        Task task = taskService.createTask(request);
+
+        Task patched = taskService.updateTask(task.getId(), new TaskPatchRequestDTO("Buy oat milk", null, null, task.getVersion()));
+
+        assertEquals("Buy oat milk", patched.getTitle());
+    }
+}
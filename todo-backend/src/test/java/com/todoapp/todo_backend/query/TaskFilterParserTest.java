@@ -0,0 +1,77 @@
+package com.todoapp.todo_backend.query;
+
+import com.todoapp.todo_backend.exception.CustomException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskFilterParserTest {
+
+    @Test
+    void parsesClausesIntoCanonicalOrder() throws CustomException {
+        TaskFilter filter = TaskFilterParser.parse("title^Buy ;createdAt>=2025-01-01;completed:false", "createdAt,asc", 10);
+
+        assertEquals(3, filter.getClauses().size());
+        assertEquals(QueryField.COMPLETED, filter.getClauses().get(0).field());
+        assertEquals(Boolean.FALSE, filter.getClauses().get(0).value());
+        assertEquals(QueryOperator.GTE, filter.getClauses().get(1).operator());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0), filter.getClauses().get(1).value());
+        assertEquals("Buy", filter.getClauses().get(2).value());
+        assertFalse(filter.isDescending());
+        assertEquals(10, filter.getLimit());
+    }
+
+    @Test
+    void sameShapeForDifferentValues() throws CustomException {
+        TaskFilter first = TaskFilterParser.parse("completed:true;createdAt<2025-01-01T10:00", null, null);
+        TaskFilter second = TaskFilterParser.parse("createdAt<2024-06-01;completed:false", null, 5);
+
+        assertEquals(first.shape(), second.shape());
+        assertEquals(TaskQueryPlanCache.compile(first), TaskQueryPlanCache.compile(second));
+        assertEquals(TaskFilterParser.DEFAULT_LIMIT, first.getLimit());
+    }
+
+    @Test
+    void compilesParameterizedJpql() throws CustomException {
+        TaskFilter filter = TaskFilterParser.parse("completed:false;title^ab", "title", null);
+
+        assertEquals("select t from Task t where t.completed = :p0 and t.title like :p1 escape '\\'"
+                + " order by t.title desc, t.id desc", TaskQueryPlanCache.compile(filter));
+        assertEquals("50\\%\\_off%", TaskQueryPlanCache.parameterValue(
+                TaskFilterParser.parse("title^50%_off", null, null).getClauses().get(0)));
+    }
+
+    @Test
+    void rejectsUnsupportedOrUnindexedQueries() {
+        assertThrows(CustomException.class, () -> TaskFilterParser.parse("description:milk", null, null));
+        assertThrows(CustomException.class, () -> TaskFilterParser.parse("completed>true", null, null));
+        assertThrows(CustomException.class, () -> TaskFilterParser.parse("completed:maybe", null, null));
+        assertThrows(CustomException.class, () -> TaskFilterParser.parse("title^a", null, null));
+        assertThrows(CustomException.class, () -> TaskFilterParser.parse("createdAt>2025-01-01;createdAt>=2025-02-01", null, null));
+        assertThrows(CustomException.class, () -> TaskFilterParser.parse(null, "title,asc", null));
+        assertThrows(CustomException.class, () -> TaskFilterParser.parse(null, "description", null));
+        assertThrows(CustomException.class, () -> TaskFilterParser.parse(null, null, TaskFilterParser.MAX_LIMIT + 1));
+        assertThrows(CustomException.class, () -> TaskFilterParser.parse("garbage", null, null));
+    }
+
+    @Test
+    void planCacheEvictsLeastRecentlyUsedShape() throws CustomException {
+        TaskQueryPlanCache cache = new TaskQueryPlanCache(2);
+        TaskFilter a = TaskFilterParser.parse("completed:true", null, null);
+        TaskFilter b = TaskFilterParser.parse("createdAt>2025-01-01", null, null);
+        TaskFilter c = TaskFilterParser.parse("title^ab", "title", null);
+
+        cache.jpqlFor(a);
+        cache.jpqlFor(b);
+        cache.jpqlFor(a);
+        cache.jpqlFor(c);
+        cache.jpqlFor(a);
+        cache.jpqlFor(b);
+
+        assertEquals(2, cache.getHits());
+        assertEquals(4, cache.getMisses());
+        assertEquals(2, cache.size());
+    }
+}
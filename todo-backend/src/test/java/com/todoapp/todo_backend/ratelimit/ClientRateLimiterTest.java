@@ -0,0 +1,100 @@
+package com.todoapp.todo_backend.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsBurstThenRefillsAtRate() {
+        ClientRateLimiter limiter = new ClientRateLimiter(
+                ClientRateLimiter.Budget.of(10, 5), ClientRateLimiter.Budget.of(1, 2), 100);
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("a", false, now));
+        }
+        long wait = limiter.tryAcquire("a", false, now);
+        assertEquals(SECOND / 10, wait);
+        assertTrue(limiter.tryAcquire("a", false, now + wait - 1) > 0);
+        assertEquals(0, limiter.tryAcquire("a", false, now + wait));
+    }
+
+    @Test
+    void keepsReadsWritesAndClientsApart() {
+        ClientRateLimiter limiter = new ClientRateLimiter(
+                ClientRateLimiter.Budget.of(10, 1), ClientRateLimiter.Budget.of(1, 1), 100);
+        long now = 0;
+        assertEquals(0, limiter.tryAcquire("a", true, now));
+        assertEquals(SECOND, limiter.tryAcquire("a", true, now));
+        assertEquals(0, limiter.tryAcquire("a", false, now));
+        assertEquals(0, limiter.tryAcquire("b", true, now));
+    }
+
+    @Test
+    void expiresOnlyRefilledClients() {
+        ClientRateLimiter limiter = new ClientRateLimiter(
+                ClientRateLimiter.Budget.of(1, 1), ClientRateLimiter.Budget.of(1, 1), 100);
+        limiter.tryAcquire("a", false, 0);
+        limiter.tryAcquire("b", false, SECOND / 2);
+        limiter.expireIdle(SECOND);
+        assertEquals(1, limiter.size());
+        // b is still out of tokens after a sweep
+        assertTrue(limiter.tryAcquire("b", false, SECOND) > 0);
+    }
+
+    @Test
+    void boundsTheNumberOfClients() {
+        ClientRateLimiter limiter = new ClientRateLimiter(
+                ClientRateLimiter.Budget.of(1, 1), ClientRateLimiter.Budget.of(1, 1), 10);
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("client-" + i, false, 0);
+        }
+        assertTrue(limiter.size() <= 10);
+    }
+
+    @Test
+    void newClientsDoNotResetTheBudgetOfActiveOnes() {
+        ClientRateLimiter limiter = new ClientRateLimiter(
+                ClientRateLimiter.Budget.of(1, 1), ClientRateLimiter.Budget.of(1, 1), 2);
+        assertEquals(0, limiter.tryAcquire("a", false, 0));
+        assertEquals(0, limiter.tryAcquire("b", false, 0));
+
+        // the table is full of clients that owe tokens: newcomers share one bucket
+        assertEquals(0, limiter.tryAcquire("c", false, 0));
+        assertTrue(limiter.tryAcquire("d", false, 0) > 0);
+        assertTrue(limiter.tryAcquire("a", false, 0) > 0);
+
+        // once a and b have refilled there is room again
+        assertEquals(0, limiter.tryAcquire("e", false, 2 * SECOND));
+        assertEquals(0, limiter.tryAcquire("f", false, 2 * SECOND));
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    void grantsExactlyTheBurstUnderContention() throws Exception {
+        ClientRateLimiter limiter = new ClientRateLimiter(
+                ClientRateLimiter.Budget.of(1, 1000), ClientRateLimiter.Budget.of(1, 1), 100);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (limiter.tryAcquire("a", false, 0) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(1000, granted.get());
+    }
+}
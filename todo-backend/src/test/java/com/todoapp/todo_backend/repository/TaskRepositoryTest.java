@@ -188,4 +188,19 @@ class TaskRepositoryTest {
 
         assertEquals(3, count);
     }
-}
\ No newline at end of file
+
+    @Test
+    void patch_ClearsOnlyFlaggedFields() {
+        task1.setDueAt(LocalDateTime.now().plusDays(1));
+        Task saved = taskRepository.save(task1);
+
+        int updated = taskRepository.patch(saved.getId(), saved.getVersion(), null, true, null, false, null);
+
+        assertEquals(1, updated);
+        Task patched = taskRepository.findById(saved.getId()).orElseThrow();
+        assertEquals("First Task", patched.getTitle());
+        assertNull(patched.getDescription());
+        assertNotNull(patched.getDueAt());
+        assertEquals(saved.getVersion() + 1, patched.getVersion());
+    }
+}
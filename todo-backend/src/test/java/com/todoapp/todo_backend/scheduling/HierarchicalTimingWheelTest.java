@@ -0,0 +1,67 @@
+package com.todoapp.todo_backend.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void firesAtDeadlineAndNotBefore() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 0);
+        wheel.schedule(5_500, "task");
+
+        assertTrue(wheel.advanceTo(5_999).isEmpty());
+        assertEquals(List.of("task"), wheel.advanceTo(6_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void pastDeadlineFiresOnNextTick() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 10_000);
+        wheel.schedule(1_000, "late");
+
+        assertEquals(List.of("late"), wheel.advanceTo(11_000));
+    }
+
+    @Test
+    void cancelledTimeoutNeverFires() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 0);
+        HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule(100_000, "cancelled");
+        wheel.schedule(100_000, "kept");
+
+        assertTrue(wheel.cancel(timeout));
+        assertFalse(wheel.cancel(timeout));
+        assertFalse(timeout.isPending());
+        assertEquals(List.of("kept"), wheel.advanceTo(200_000));
+    }
+
+    @Test
+    void farDeadlinesCascadeDownToTheExactTick() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1, 0);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = 1 + (long) (random.nextDouble() * 20_000_000L);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        long now = 0;
+        int fired = 0;
+        while (now < 20_000_000L) {
+            now += 997;
+            for (Long deadline : wheel.advanceTo(now)) {
+                assertTrue(deadline <= now, "fired early");
+                assertTrue(deadline > now - 997, "fired late");
+                fired++;
+            }
+        }
+        assertEquals(deadlines.size(), fired);
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,60 @@
+package com.todoapp.todo_backend.serviceImpl;
+
+import com.todoapp.todo_backend.cache.TaskDataVersion;
+import com.todoapp.todo_backend.deadline.Deadline;
+import com.todoapp.todo_backend.exception.DeadlineExceededException;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.service.TaskService;
+import com.todoapp.todo_backend.service.impl.CoalescingTaskServiceImp;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CoalescingTaskServiceImpTest {
+
+    private final TaskService backend = mock(TaskService.class);
+    private final CoalescingTaskServiceImp taskService =
+            new CoalescingTaskServiceImp(backend, new TaskDataVersion(), Runnable::run, 2000, 100, 4);
+
+    @Test
+    void sharedReadOutlivesTheShortDeadlineOfTheCallerThatStartedIt() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        Task task = new Task();
+        task.setId(1L);
+        when(backend.getIncompleteTasks(5)).thenAnswer(invocation -> {
+            started.countDown();
+            Thread.sleep(200);
+            // as the backend does between queries
+            Deadline.check("loading tasks");
+            return List.of(task);
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<Task>> impatient = pool.submit(() -> {
+                Deadline.start(50);
+                try {
+                    return taskService.getIncompleteTasks(5);
+                } finally {
+                    Deadline.clear();
+                }
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<List<Task>> joined = pool.submit(() -> taskService.getIncompleteTasks(5));
+
+            assertEquals(List.of(task), joined.get(5, TimeUnit.SECONDS));
+            Exception failure = assertThrows(Exception.class, () -> impatient.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(DeadlineExceededException.class, failure.getCause());
+            verify(backend, times(1)).getIncompleteTasks(5);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
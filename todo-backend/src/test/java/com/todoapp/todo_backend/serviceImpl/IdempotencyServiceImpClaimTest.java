@@ -0,0 +1,80 @@
+package com.todoapp.todo_backend.serviceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.todo_backend.model.IdempotencyRecord;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.repository.IdempotencyRecordRepository;
+import com.todoapp.todo_backend.service.IdempotencyService;
+import com.todoapp.todo_backend.service.IdempotencyService.IdempotentResult;
+import com.todoapp.todo_backend.service.impl.IdempotencyServiceImp;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("h2")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotency-claim;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "todo.warmup.enabled=false"
+})
+class IdempotencyServiceImpClaimTest {
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicInteger created = new AtomicInteger();
+
+    @Test
+    void storesResponseOfFirstRequest() throws Exception {
+        IdempotentResult<Task> first = node(repository).execute("create-task", "first", Map.of("title", "Buy milk"), Task.class, this::createTask);
+
+        assertFalse(first.replayed());
+        IdempotencyRecord record = repository.findById("create-task:first").orElseThrow();
+        assertTrue(record.getResponseBody().contains("\"id\":" + first.value().getId()));
+    }
+
+    @Test
+    void claimLosesToKeyCommittedByAnotherNode() throws Exception {
+        IdempotentResult<Task> winner = node(repository).execute("create-task", "raced", Map.of("title", "Buy milk"), Task.class, this::createTask);
+        // a second node that looked the key up just before the first one committed
+        IdempotencyRecordRepository lateLookup = mock(IdempotencyRecordRepository.class, delegatesTo(repository));
+        doReturn(Optional.empty()).doAnswer(invocation -> repository.findById("create-task:raced"))
+                .when(lateLookup).findById("create-task:raced");
+
+        IdempotentResult<Task> duplicate = node(lateLookup).execute("create-task", "raced", Map.of("title", "Buy milk"), Task.class, this::createTask);
+
+        assertTrue(duplicate.replayed());
+        assertEquals(winner.value().getId(), duplicate.value().getId());
+        assertEquals(1, created.get());
+    }
+
+    private IdempotencyService node(IdempotencyRecordRepository repository) {
+        return new IdempotencyServiceImp(repository, transactionTemplate, objectMapper, 60, 100, 2000);
+    }
+
+    private Task createTask() {
+        Task task = new Task();
+        task.setId((long) created.incrementAndGet());
+        task.setTitle("Buy milk");
+        task.setCreatedAt(LocalDateTime.now());
+        return task;
+    }
+}
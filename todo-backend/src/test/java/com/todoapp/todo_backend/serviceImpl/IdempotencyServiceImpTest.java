@@ -0,0 +1,188 @@
+package com.todoapp.todo_backend.serviceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.todo_backend.dto.requestDto.TaskRequestDTO;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.exception.IdempotencyKeyReusedException;
+import com.todoapp.todo_backend.model.IdempotencyRecord;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.repository.IdempotencyRecordRepository;
+import com.todoapp.todo_backend.service.IdempotencyService.IdempotentResult;
+import com.todoapp.todo_backend.service.impl.IdempotencyServiceImp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class IdempotencyServiceImpTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AtomicInteger created = new AtomicInteger();
+    private IdempotencyServiceImp idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImp(repository, transactionTemplate, objectMapper, 60, 100, 2000);
+        when(repository.findById(any())).thenReturn(Optional.empty());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void execute_ReplaysFirstResponseWithoutRunningAgain() throws CustomException {
+        IdempotentResult<Task> first = idempotencyService.execute("create-task", "k1", request("Buy milk"), Task.class, this::createTask);
+        IdempotentResult<Task> retry = idempotencyService.execute("create-task", "k1", request("Buy milk"), Task.class, this::createTask);
+
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(first.value().getId(), retry.value().getId());
+        assertEquals("Buy milk", retry.value().getTitle());
+        assertEquals(1, created.get());
+        verify(repository).saveAndFlush(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void execute_RejectsKeyReusedForDifferentRequest() throws CustomException {
+        idempotencyService.execute("create-task", "k1", request("Buy milk"), Task.class, this::createTask);
+
+        assertThrows(IdempotencyKeyReusedException.class, () ->
+                idempotencyService.execute("create-task", "k1", request("Buy bread"), Task.class, this::createTask));
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    void execute_ConcurrentDuplicatesWaitForTheOriginal() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<IdempotentResult<Task>> original = pool.submit(() -> idempotencyService.execute(
+                    "create-task", "k1", request("Buy milk"), Task.class, () -> {
+                        running.countDown();
+                        awaitQuietly(release);
+                        return createTask();
+                    }));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            Future<IdempotentResult<Task>> duplicate = pool.submit(() -> idempotencyService.execute(
+                    "create-task", "k1", request("Buy milk"), Task.class, this::createTask));
+            Thread.sleep(100);
+            assertFalse(duplicate.isDone());
+
+            release.countDown();
+            assertFalse(original.get(5, TimeUnit.SECONDS).replayed());
+            assertTrue(duplicate.get(5, TimeUnit.SECONDS).replayed());
+            assertEquals(1, created.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_ReplaysResponseStoredByAnotherNode() throws CustomException {
+        IdempotencyRecord stored = storedRecord("create-task:k1", request("Buy milk"), LocalDateTime.now().plusHours(1));
+        when(repository.findById("create-task:k1")).thenReturn(Optional.of(stored));
+
+        IdempotentResult<Task> result = idempotencyService.execute("create-task", "k1", request("Buy milk"), Task.class, this::createTask);
+
+        assertTrue(result.replayed());
+        assertEquals(42L, result.value().getId());
+        assertEquals(0, created.get());
+    }
+
+    @Test
+    void execute_ReplaysWinnerWhenKeyWasClaimedConcurrentlyElsewhere() throws CustomException {
+        IdempotencyRecord winner = storedRecord("create-task:k1", request("Buy milk"), LocalDateTime.now().plusHours(1));
+        when(repository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(repository.findById("create-task:k1")).thenReturn(Optional.empty(), Optional.of(winner));
+
+        IdempotentResult<Task> result = idempotencyService.execute("create-task", "k1", request("Buy milk"), Task.class, this::createTask);
+
+        assertTrue(result.replayed());
+        assertEquals(42L, result.value().getId());
+        assertEquals(0, created.get());
+    }
+
+    @Test
+    void execute_FailedOriginalLeavesKeyFreeForRetry() throws CustomException {
+        assertThrows(CustomException.class, () -> idempotencyService.execute("create-task", "k1", request("Buy milk"), Task.class,
+                () -> {
+                    throw new CustomException("Failed to create task");
+                }));
+
+        IdempotentResult<Task> retry = idempotencyService.execute("create-task", "k1", request("Buy milk"), Task.class, this::createTask);
+
+        assertFalse(retry.replayed());
+        assertEquals(1, created.get());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Task createTask() {
+        Task task = new Task();
+        task.setId((long) created.incrementAndGet());
+        task.setTitle("Buy milk");
+        task.setCreatedAt(LocalDateTime.now());
+        return task;
+    }
+
+    private IdempotencyRecord storedRecord(String key, TaskRequestDTO request, LocalDateTime expiresAt) {
+        // the same hash the service computes for the request
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setIdempotencyKey(key);
+        try {
+            record.setRequestHash(java.util.HexFormat.of().formatHex(java.security.MessageDigest.getInstance("SHA-256")
+                    .digest(objectMapper.writeValueAsBytes(request))));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        record.setResponseBody("{\"id\":42,\"title\":\"Buy milk\",\"completed\":false}");
+        record.setCreatedAt(LocalDateTime.now());
+        record.setExpiresAt(expiresAt);
+        return record;
+    }
+
+    private static TaskRequestDTO request(String title) {
+        TaskRequestDTO request = new TaskRequestDTO();
+        request.setTitle(title);
+        request.setDescription("Groceries");
+        return request;
+    }
+}
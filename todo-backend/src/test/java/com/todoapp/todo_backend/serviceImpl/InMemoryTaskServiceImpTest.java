@@ -0,0 +1,252 @@
+package com.todoapp.todo_backend.serviceImpl;
+
+import com.todoapp.todo_backend.dto.requestDto.TaskMoveRequestDTO;
+import com.todoapp.todo_backend.dto.requestDto.TaskPatchRequestDTO;
+import com.todoapp.todo_backend.dto.requestDto.TaskRequestDTO;
+import com.todoapp.todo_backend.event.TaskChangedEvent;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.exception.TaskVersionConflictException;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.service.impl.InMemoryTaskServiceImp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class InMemoryTaskServiceImpTest {
+
+    private ApplicationEventPublisher eventPublisher;
+    private InMemoryTaskServiceImp taskService;
+    private TaskRequestDTO taskRequestDTO;
+
+    @BeforeEach
+    void setUp() {
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        taskService = new InMemoryTaskServiceImp(eventPublisher);
+
+        taskRequestDTO = new TaskRequestDTO();
+        taskRequestDTO.setTitle("Test Task");
+        taskRequestDTO.setDescription("Test Description");
+    }
+
+    @Test
+    void createTask_Success() throws CustomException {
+        Task result = taskService.createTask(taskRequestDTO);
+
+        assertNotNull(result);
+        assertEquals(1L, result.getId());
+        assertEquals("Test Task", result.getTitle());
+        assertEquals("Test Description", result.getDescription());
+        assertFalse(result.getCompleted());
+        assertNotNull(result.getRank());
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void createTask_BlankTitles_ThrowException() {
+        for (String title : new String[]{null, "", "   "}) {
+            taskRequestDTO.setTitle(title);
+
+            CustomException exception = assertThrows(CustomException.class,
+                    () -> taskService.createTask(taskRequestDTO));
+
+            assertEquals("Task title cannot be empty", exception.getMessage());
+        }
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void getIncompleteTasks_NewestFirstAndByRank() throws CustomException {
+        Task first = create("Task 1");
+        Task second = create("Task 2");
+        Task third = create("Task 3");
+        taskService.markTaskAsCompleted(second.getId());
+
+        assertEquals(List.of("Task 3", "Task 1"), titles(taskService.getIncompleteTasks(10)));
+        assertEquals(List.of("Task 3"), titles(taskService.getIncompleteTasks(1)));
+        // new tasks go on top of the manual order
+        assertEquals(List.of("Task 3", "Task 1"), titles(taskService.getIncompleteTasksByRank(10)));
+
+        TaskMoveRequestDTO move = new TaskMoveRequestDTO();
+        move.setPreviousId(first.getId());
+        taskService.moveTask(third.getId(), move);
+        assertEquals(List.of("Task 1", "Task 3"), titles(taskService.getIncompleteTasksByRank(10)));
+        assertEquals(List.of("Task 3", "Task 1"), titles(taskService.getIncompleteTasks(10)));
+    }
+
+    @Test
+    void getIncompleteTasks_EmptyList() {
+        assertTrue(taskService.getIncompleteTasks(50).isEmpty());
+    }
+
+    @Test
+    void getTaskById_Success() throws CustomException {
+        Task created = create("Test Task");
+
+        Optional<Task> result = taskService.getTaskById(created.getId());
+
+        assertTrue(result.isPresent());
+        assertEquals(1L, result.get().getId());
+        assertEquals("Test Task", result.get().getTitle());
+    }
+
+    @Test
+    void getTaskById_NotFound_ThrowsException() {
+        CustomException exception = assertThrows(CustomException.class,
+                () -> taskService.getTaskById(1L));
+
+        assertEquals("Task not found with id 1", exception.getMessage());
+    }
+
+    @Test
+    void markTaskAsCompleted_Success() throws CustomException {
+        Task created = create("Test Task");
+
+        Task result = taskService.markTaskAsCompleted(created.getId());
+
+        assertTrue(result.getCompleted());
+        assertNotNull(result.getCompletedAt());
+        assertTrue(taskService.getTaskById(created.getId()).get().getCompleted());
+        // the task handed out earlier is a snapshot and stays unchanged
+        assertFalse(created.getCompleted());
+    }
+
+    @Test
+    void markTaskAsCompleted_AlreadyCompleted_ReturnsUnchanged() throws CustomException {
+        Task completed = taskService.markTaskAsCompleted(create("Test Task").getId());
+        clearInvocations(eventPublisher);
+
+        Task result = taskService.markTaskAsCompleted(completed.getId());
+
+        assertEquals(completed.getVersion(), result.getVersion());
+        assertEquals(completed.getCompletedAt(), result.getCompletedAt());
+        verify(eventPublisher, never()).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void markTaskAsCompleted_NotFound_ThrowsException() {
+        CustomException exception = assertThrows(CustomException.class,
+                () -> taskService.markTaskAsCompleted(1L));
+
+        assertEquals("Task not found with id 1", exception.getMessage());
+    }
+
+    @Test
+    void deleteTask_Success() throws CustomException {
+        Task created = create("Test Task");
+
+        assertDoesNotThrow(() -> taskService.deleteTask(created.getId()));
+
+        assertThrows(CustomException.class, () -> taskService.getTaskById(created.getId()));
+        assertTrue(taskService.getIncompleteTasks(10).isEmpty());
+        assertTrue(taskService.getIncompleteTasksByRank(10).isEmpty());
+    }
+
+    @Test
+    void deleteTask_NotFound_ThrowsException() {
+        CustomException exception = assertThrows(CustomException.class,
+                () -> taskService.deleteTask(1L));
+
+        assertEquals("Task not found with id 1", exception.getMessage());
+    }
+
+    @Test
+    void concurrentCreateCompleteAndDelete_KeepIndexesConsistent() throws Exception {
+        int threads = 8;
+        int tasksPerThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int n = 0; n < tasksPerThread; n++) {
+                        Task task = create("Task " + n);
+                        if (n % 3 == 1) {
+                            taskService.markTaskAsCompleted(task.getId());
+                        } else if (n % 3 == 2) {
+                            taskService.deleteTask(task.getId());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int expectedIncomplete = threads * ((tasksPerThread + 2) / 3);
+        List<Task> newestFirst = taskService.getIncompleteTasks(Integer.MAX_VALUE);
+        List<Task> byRank = taskService.getIncompleteTasksByRank(Integer.MAX_VALUE);
+        assertEquals(expectedIncomplete, newestFirst.size());
+        assertEquals(expectedIncomplete, byRank.size());
+        for (Task task : newestFirst) {
+            assertFalse(task.getCompleted());
+            assertSame(task, taskService.getTaskById(task.getId()).get());
+        }
+        for (int i = 1; i < byRank.size(); i++) {
+            assertTrue(byRank.get(i - 1).getRank().compareTo(byRank.get(i).getRank()) < 0);
+        }
+    }
+
+    @Test
+    void updateTask_ChangesOnlyGivenFields() throws CustomException {
+        Task created = create("Test Task");
+
+        Task result = taskService.updateTask(created.getId(),
+                new TaskPatchRequestDTO(null, "New description", null, created.getVersion()));
+
+        assertEquals("Test Task", result.getTitle());
+        assertEquals("New description", result.getDescription());
+        assertEquals(created.getVersion() + 1, result.getVersion());
+        assertSame(result, taskService.getIncompleteTasks(1).get(0));
+    }
+
+    @Test
+    void updateTask_ExplicitNullClearsDescription() throws CustomException {
+        Task original = create("Test Task");
+        Task created = taskService.updateTask(original.getId(),
+                new TaskPatchRequestDTO(null, "Old description", null, original.getVersion()));
+        TaskPatchRequestDTO patch = new TaskPatchRequestDTO(null, null, null, created.getVersion());
+        patch.setDescription(null);
+
+        Task result = taskService.updateTask(created.getId(), patch);
+
+        assertNull(result.getDescription());
+        assertEquals("Test Task", result.getTitle());
+    }
+
+    @Test
+    void updateTask_StaleVersion_ThrowsConflict() throws CustomException {
+        Task created = create("Test Task");
+        taskService.updateTask(created.getId(), new TaskPatchRequestDTO("First", null, null, created.getVersion()));
+
+        assertThrows(TaskVersionConflictException.class, () -> taskService.updateTask(created.getId(),
+                new TaskPatchRequestDTO("Second", null, null, created.getVersion())));
+
+        assertEquals("First", taskService.getTaskById(created.getId()).get().getTitle());
+    }
+
+    private Task create(String title) throws CustomException {
+        TaskRequestDTO request = new TaskRequestDTO();
+        request.setTitle(title);
+        return taskService.createTask(request);
+    }
+
+    private static List<String> titles(List<Task> tasks) {
+        return tasks.stream().map(Task::getTitle).toList();
+    }
+}
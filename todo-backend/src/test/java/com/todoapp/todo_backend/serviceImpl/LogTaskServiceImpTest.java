@@ -0,0 +1,96 @@
+package com.todoapp.todo_backend.serviceImpl;
+
+import com.todoapp.todo_backend.dto.requestDto.TaskRequestDTO;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.service.impl.LogTaskServiceImp;
+import com.todoapp.todo_backend.storage.TaskLogStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class LogTaskServiceImpTest {
+
+    @TempDir
+    Path directory;
+
+    private LogTaskServiceImp taskService;
+    private TaskRequestDTO taskRequestDTO;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        taskService = new LogTaskServiceImp(new TaskLogStore(directory, 1024 * 1024, false),
+                mock(ApplicationEventPublisher.class), 0.5);
+        taskRequestDTO = new TaskRequestDTO();
+        taskRequestDTO.setTitle("Test Task");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        taskService.close();
+    }
+
+    @Test
+    void createTask_WithParent_ThrowsException() {
+        taskRequestDTO.setParentId(1L);
+
+        CustomException exception = assertThrows(CustomException.class, () -> taskService.createTask(taskRequestDTO));
+
+        assertTrue(exception.getMessage().contains("not supported"));
+    }
+
+    @Test
+    void deleteTask_DuringComplete_StaysDeleted() throws Exception {
+        CountDownLatch completing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // holds the complete between its read of the task and its put
+        TaskLogStore store = new TaskLogStore(directory.resolve("paused"), 1024 * 1024, false) {
+            @Override
+            public Task put(Task task) {
+                if (Boolean.TRUE.equals(task.getCompleted())) {
+                    completing.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.put(task);
+            }
+        };
+        LogTaskServiceImp pausedService = new LogTaskServiceImp(store, mock(ApplicationEventPublisher.class), 0.5);
+        Task task = pausedService.createTask(taskRequestDTO);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Task> complete = executor.submit(() -> pausedService.markTaskAsCompleted(task.getId()));
+            assertTrue(completing.await(5, TimeUnit.SECONDS));
+            Future<?> delete = executor.submit(() -> {
+                pausedService.deleteTask(task.getId());
+                return null;
+            });
+            Thread.sleep(100);
+            release.countDown();
+            complete.get(5, TimeUnit.SECONDS);
+            delete.get(5, TimeUnit.SECONDS);
+
+            // the complete read the task before the delete and must not have written it back
+            assertThrows(CustomException.class, () -> pausedService.getTaskById(task.getId()));
+        } finally {
+            executor.shutdownNow();
+            pausedService.close();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.todoapp.todo_backend.serviceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.todo_backend.dto.responseDto.OutboxStatsDTO;
+import com.todoapp.todo_backend.event.TaskChangeType;
+import com.todoapp.todo_backend.event.TaskChangedEvent;
+import com.todoapp.todo_backend.model.OutboxEvent;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.outbox.InMemoryTaskEventSink;
+import com.todoapp.todo_backend.outbox.TaskEventSink;
+import com.todoapp.todo_backend.repository.OutboxEventRepository;
+import com.todoapp.todo_backend.service.impl.OutboxServiceImp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OutboxServiceImpTest {
+
+    @Mock
+    private OutboxEventRepository outboxRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final InMemoryTaskEventSink sink = new InMemoryTaskEventSink();
+    private OutboxServiceImp outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = newService(sink, 2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void onTaskChanged_WritesOutboxEventWithTaskPayload() {
+        Task task = new Task();
+        task.setId(7L);
+        task.setTitle("Write report");
+
+        outboxService.onTaskChanged(new TaskChangedEvent(TaskChangeType.CREATED, 7L, task));
+
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepository).save(captor.capture());
+        OutboxEvent saved = captor.getValue();
+        assertEquals(TaskChangeType.CREATED, saved.getEventType());
+        assertEquals(7L, saved.getTaskId());
+        assertTrue(saved.getPayload().contains("\"title\":\"Write report\""));
+        assertNotNull(saved.getAvailableAt());
+    }
+
+    @Test
+    void onTaskChanged_SkipsMoves() {
+        outboxService.onTaskChanged(new TaskChangedEvent(TaskChangeType.MOVED, 7L, new Task()));
+
+        verify(outboxRepository, never()).save(any());
+    }
+
+    @Test
+    void relay_DeliversAndDeletesInBatchesUntilDrained() {
+        List<OutboxEvent> first = List.of(event(1L, TaskChangeType.CREATED), event(2L, TaskChangeType.COMPLETED));
+        List<OutboxEvent> second = List.of(event(3L, TaskChangeType.DELETED));
+        when(outboxRepository.claimAvailable(any(), any())).thenReturn(first, second);
+
+        assertEquals(3, outboxService.relay());
+
+        assertEquals(List.of(1L, 2L, 3L), sink.getDelivered().stream().map(e -> e.id()).toList());
+        verify(outboxRepository).deleteAllInBatch(first);
+        verify(outboxRepository).deleteAllInBatch(second);
+        when(outboxRepository.countByDeadLetteredAtIsNull()).thenReturn(0L);
+        when(outboxRepository.findFirstByDeadLetteredAtIsNullOrderByIdAsc()).thenReturn(Optional.empty());
+        OutboxStatsDTO stats = outboxService.getStats();
+        assertEquals(3L, stats.getDelivered());
+        assertEquals(0L, stats.getPending());
+        assertTrue(stats.getLagMaxMillis() >= 1000);
+    }
+
+    @Test
+    void relay_FailedDeliveryKeepsEventsAndPushesThemBack() throws IOException {
+        TaskEventSink failingSink = mock(TaskEventSink.class);
+        doThrow(new IOException("disk full")).when(failingSink).deliver(any());
+        outboxService = newService(failingSink, 2);
+        when(outboxRepository.claimAvailable(any(), any())).thenReturn(List.of(event(1L, TaskChangeType.CREATED)));
+
+        assertEquals(0, outboxService.relay());
+
+        verify(outboxRepository, never()).deleteAllInBatch(any());
+        verify(outboxRepository).markFailed(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(outboxRepository).deadLetterExhausted(eq(List.of(1L)), eq(3), any(LocalDateTime.class));
+        assertEquals(1L, outboxService.getStats().getFailedBatches());
+    }
+
+    @Test
+    void relay_HoldsBackEventsOfATaskWithAnEarlierPendingEvent() {
+        OutboxEvent created = event(1L, TaskChangeType.CREATED);
+        OutboxEvent completed = event(2L, TaskChangeType.COMPLETED);
+        OutboxEvent deleted = event(4L, TaskChangeType.DELETED);
+        deleted.setTaskId(created.getTaskId());
+        when(outboxRepository.claimAvailable(any(), any())).thenReturn(List.of(created, completed, deleted), List.of());
+        // event 3 of the first task waits for a retry, or is being delivered by another node
+        when(outboxRepository.findFirstUnclaimedIds(any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{created.getTaskId(), 3L}));
+        outboxService = newService(sink, 3);
+
+        assertEquals(2, outboxService.relay());
+
+        assertEquals(List.of(1L, 2L), sink.getDelivered().stream().map(e -> e.id()).toList());
+        verify(outboxRepository).deleteAllInBatch(List.of(created, completed));
+    }
+
+    private OutboxServiceImp newService(TaskEventSink taskEventSink, int batchSize) {
+        return new OutboxServiceImp(outboxRepository, taskEventSink, new ObjectMapper().findAndRegisterModules(),
+                transactionTemplate, batchSize, 5000, 3);
+    }
+
+    private static OutboxEvent event(Long id, TaskChangeType type) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setEventType(type);
+        event.setTaskId(100 + id);
+        event.setCreatedAt(LocalDateTime.now().minusSeconds(2));
+        event.setAvailableAt(event.getCreatedAt());
+        return event;
+    }
+}
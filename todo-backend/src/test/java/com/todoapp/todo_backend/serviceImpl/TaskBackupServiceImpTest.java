@@ -0,0 +1,136 @@
+package com.todoapp.todo_backend.serviceImpl;
+
+import com.todoapp.todo_backend.dto.requestDto.TaskRequestDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskBackupDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskRestoreDTO;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.index.TaskTagIndex;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.repository.TaskRepository;
+import com.todoapp.todo_backend.service.TaskBackupService;
+import com.todoapp.todo_backend.service.TaskHierarchyService;
+import com.todoapp.todo_backend.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("h2")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-backup;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "todo.warmup.enabled=false",
+        // several chunks even for a handful of tasks
+        "todo.backup.tasks-per-chunk=2",
+        "todo.backup.restore-batch-size=3"
+})
+class TaskBackupServiceImpTest {
+
+    @TempDir
+    static Path backupDir;
+
+    @DynamicPropertySource
+    static void backupProperties(DynamicPropertyRegistry registry) {
+        registry.add("todo.backup.dir", () -> backupDir.toString());
+    }
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskBackupService backupService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskHierarchyService hierarchyService;
+
+    @Autowired
+    private TaskTagIndex tagIndex;
+
+    @Test
+    void restoreReplacesTasksWithTheSnapshot() throws CustomException {
+        Task project = create("Project", null, Set.of("work", "q3"));
+        Task design = create("Design", project.getId(), Set.of("work"));
+        Task review = create("Review", design.getId(), Set.of());
+        taskService.markTaskAsCompleted(review.getId());
+        create("Other", null, Set.of("home"));
+        List<Task> snapshot = taskRepository.findAll();
+
+        TaskBackupDTO backup = backupService.createBackup();
+        assertEquals(snapshot.size(), backup.getTasks());
+        assertTrue(Files.exists(backupDir.resolve(backup.getFileName())));
+
+        create("After backup", project.getId(), Set.of("later"));
+        taskService.deleteTask(design.getId());
+
+        TaskRestoreDTO restored = backupService.restore(backup.getFileName());
+        assertEquals(snapshot.size(), restored.getTasks());
+
+        List<Task> tasks = taskRepository.findAll();
+        assertEquals(byId(snapshot), byId(tasks));
+        assertEquals(design.getId(), taskRepository.findById(review.getId()).orElseThrow().getParentId());
+        // completing it bumped the version, which the restore keeps
+        assertEquals(1L, taskRepository.findById(review.getId()).orElseThrow().getVersion());
+
+        assertEquals(3, hierarchyService.getCompletion(project.getId()).getTasks());
+        assertEquals(1, hierarchyService.getCompletion(project.getId()).getCompleted());
+        assertEquals(2, hierarchyService.getSubtree(design.getId()).getSubtreeTasks());
+
+        Map<String, Long> tagCounts = tagIndex.tagCounts();
+        assertEquals(2L, tagCounts.get("work"));
+        assertNull(tagCounts.get("later"));
+
+        // ids handed out after a restore do not collide with restored ones
+        Task next = create("Next", null, Set.of());
+        assertTrue(next.getId() > tasks.stream().mapToLong(Task::getId).max().orElse(0));
+    }
+
+    @Test
+    void damagedSnapshotIsRejectedWithoutChangingAnything() throws CustomException, IOException {
+        create("Keep", null, Set.of("keep"));
+        TaskBackupDTO backup = backupService.createBackup();
+        Path file = backupDir.resolve(backup.getFileName());
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 20] ^= 0x5A;
+        Files.write(file, bytes);
+        long before = taskRepository.count();
+
+        CustomException e = assertThrows(CustomException.class, () -> backupService.restore(backup.getFileName()));
+        assertTrue(e.getMessage().contains("cannot be restored"), e.getMessage());
+        assertEquals(before, taskRepository.count());
+
+        assertThrows(CustomException.class, () -> backupService.restore("../" + backup.getFileName()));
+        assertThrows(CustomException.class, () -> backupService.restore("missing.snap"));
+    }
+
+    private Task create(String title, Long parentId, Set<String> tags) throws CustomException {
+        TaskRequestDTO request = new TaskRequestDTO();
+        request.setTitle(title);
+        request.setParentId(parentId);
+        request.setTags(tags);
+        return taskService.createTask(request);
+    }
+
+    private static Map<Long, String> byId(List<Task> tasks) {
+        return tasks.stream().collect(Collectors.toMap(Task::getId,
+                task -> task.getTitle() + "|" + task.getCompleted() + "|" + task.getParentId() + "|"
+                        + new TreeSet<>(task.getTags()) + "|" + task.getCreatedAt() + "|" + task.getVersion()));
+    }
+}
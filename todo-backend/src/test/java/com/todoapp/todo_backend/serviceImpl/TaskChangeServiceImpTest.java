@@ -0,0 +1,109 @@
+package com.todoapp.todo_backend.serviceImpl;
+
+import com.todoapp.todo_backend.dto.responseDto.TaskBatchDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskChangesDTO;
+import com.todoapp.todo_backend.exception.ChangeLogExpiredException;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.model.ChangeOperation;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.model.TaskChange;
+import com.todoapp.todo_backend.model.TaskChangeLogState;
+import com.todoapp.todo_backend.repository.TaskChangeLogStateRepository;
+import com.todoapp.todo_backend.repository.TaskChangeRepository;
+import com.todoapp.todo_backend.service.TaskService;
+import com.todoapp.todo_backend.service.impl.TaskChangeServiceImp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskChangeServiceImpTest {
+
+    @Mock
+    private TaskChangeRepository taskChangeRepository;
+
+    @Mock
+    private TaskChangeLogStateRepository stateRepository;
+
+    @Mock
+    private TaskService taskBackend;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private TaskChangeServiceImp taskChangeService;
+    private TaskChangeLogState state;
+
+    @BeforeEach
+    void setUp() {
+        taskChangeService = new TaskChangeServiceImp(taskChangeRepository, stateRepository, taskBackend, transactionTemplate, 168);
+        state = new TaskChangeLogState();
+        state.setId(TaskChangeLogState.ID);
+    }
+
+    @Test
+    void recordChanges_AssignsConsecutiveSequenceNumbers() {
+        state.setLastSeq(41L);
+        when(stateRepository.findForUpdate(TaskChangeLogState.ID)).thenReturn(Optional.of(state));
+
+        taskChangeService.recordChanges(List.of(7L, 8L), ChangeOperation.UPSERT);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TaskChange>> saved = ArgumentCaptor.forClass(List.class);
+        verify(taskChangeRepository).saveAll(saved.capture());
+        assertEquals(List.of(42L, 43L), saved.getValue().stream().map(TaskChange::getSeq).toList());
+        assertEquals(43L, state.getLastSeq());
+    }
+
+    @Test
+    void getChangesSince_KeepsLatestEntryPerTask() throws CustomException {
+        state.setLastSeq(13L);
+        when(stateRepository.findById(TaskChangeLogState.ID)).thenReturn(Optional.of(state));
+        LocalDateTime now = LocalDateTime.now();
+        when(taskChangeRepository.findBySeqGreaterThanOrderBySeqAsc(10L, PageRequest.of(0, 3))).thenReturn(List.of(
+                new TaskChange(11L, 1L, ChangeOperation.UPSERT, now),
+                new TaskChange(12L, 2L, ChangeOperation.UPSERT, now),
+                new TaskChange(13L, 1L, ChangeOperation.DELETE, now)));
+        Task task = new Task(2L, "Task 2", "Description 2", false, now);
+        when(taskBackend.getTasksByIds(List.of(2L))).thenReturn(new TaskBatchDTO(List.of(task), List.of()));
+
+        TaskChangesDTO changes = taskChangeService.getChangesSince(10L, 3);
+
+        assertEquals(List.of(task), changes.getUpserts());
+        assertEquals(List.of(1L), changes.getDeletes());
+        assertEquals(13L, changes.getNextSince());
+        assertTrue(changes.getHasMore());
+    }
+
+    @Test
+    void getChangesSince_BehindPurgedEntries() {
+        state.setLastSeq(50L);
+        state.setPurgedThrough(20L);
+        when(stateRepository.findById(TaskChangeLogState.ID)).thenReturn(Optional.of(state));
+
+        ChangeLogExpiredException exception = assertThrows(ChangeLogExpiredException.class,
+                () -> taskChangeService.getChangesSince(5L, 100));
+
+        assertEquals(50L, exception.getLatestSeq());
+        verify(taskChangeRepository, never()).findBySeqGreaterThanOrderBySeqAsc(any(), any());
+    }
+
+    @Test
+    void getChangesSince_InvalidLimit() {
+        assertThrows(CustomException.class, () -> taskChangeService.getChangesSince(0L, 0));
+        assertThrows(CustomException.class, () -> taskChangeService.getChangesSince(0L, TaskChangeServiceImp.MAX_LIMIT + 1));
+    }
+}
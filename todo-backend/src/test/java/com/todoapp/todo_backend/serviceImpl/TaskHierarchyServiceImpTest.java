@@ -0,0 +1,133 @@
+package com.todoapp.todo_backend.serviceImpl;
+
+import com.todoapp.todo_backend.dto.requestDto.TaskRequestDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskCompletionDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskTreeDTO;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.repository.TaskRepository;
+import com.todoapp.todo_backend.service.TaskHierarchyService;
+import com.todoapp.todo_backend.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against H2, since the closure table is maintained with native bulk statements.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("h2")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-hierarchy;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "todo.warmup.enabled=false"
+})
+class TaskHierarchyServiceImpTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskHierarchyService hierarchyService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void maintainsSubtreeAndCountsAcrossCompleteMoveAndDelete() throws CustomException {
+        Task project = create("Project", null);
+        Task a = create("A", project.getId());
+        Task a1 = create("A1", a.getId());
+        Task a2 = create("A2", a.getId());
+        Task b = create("B", project.getId());
+
+        TaskTreeDTO tree = hierarchyService.getSubtree(project.getId());
+        assertEquals(5, tree.getSubtreeTasks());
+        assertEquals(List.of("A", "B"), titles(tree.getChildren()));
+        assertEquals(List.of("A1", "A2"), titles(tree.getChildren().get(0).getChildren()));
+        assertEquals(2, tree.getChildren().get(0).getChildren().get(0).getDepth());
+
+        taskService.markTaskAsCompleted(a1.getId());
+        taskService.markTaskAsCompleted(a1.getId());
+        assertCompletion(project, 5, 1);
+        assertCompletion(a, 3, 1);
+
+        hierarchyService.moveSubtree(a.getId(), b.getId());
+        assertCompletion(b, 4, 1);
+        assertCompletion(project, 5, 1);
+        assertEquals(List.of("B"), titles(hierarchyService.getSubtree(project.getId()).getChildren()));
+        assertEquals(3, hierarchyService.getSubtree(project.getId()).getChildren().get(0).getChildren().get(0)
+                .getChildren().get(0).getDepth());
+        assertThrows(CustomException.class, () -> hierarchyService.moveSubtree(b.getId(), a1.getId()));
+
+        taskService.deleteTask(a.getId());
+        assertCompletion(b, 3, 1);
+        assertCompletion(project, 4, 1);
+        assertEquals(List.of("A1", "A2"), titles(hierarchyService.getSubtree(b.getId()).getChildren()));
+        assertEquals(b.getId(), taskRepository.findById(a1.getId()).orElseThrow().getParentId());
+
+        hierarchyService.moveSubtree(b.getId(), null);
+        assertCompletion(project, 1, 0);
+        assertCompletion(b, 3, 1);
+    }
+
+    @Test
+    void concurrentMovesBelowEachOtherCannotBothSucceed() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 20; i++) {
+                Task x = create("X" + i, null);
+                Task y = create("Y" + i, null);
+                CyclicBarrier barrier = new CyclicBarrier(2);
+                Future<Boolean> xBelowY = executor.submit(() -> tryMove(barrier, x.getId(), y.getId()));
+                Future<Boolean> yBelowX = executor.submit(() -> tryMove(barrier, y.getId(), x.getId()));
+
+                assertTrue(xBelowY.get(10, TimeUnit.SECONDS) ^ yBelowX.get(10, TimeUnit.SECONDS), "round " + i);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsUnknownParent() {
+        assertThrows(CustomException.class, () -> create("Orphan", 987_654L));
+    }
+
+    private Task create(String title, Long parentId) throws CustomException {
+        TaskRequestDTO request = new TaskRequestDTO();
+        request.setTitle(title);
+        request.setParentId(parentId);
+        return taskService.createTask(request);
+    }
+
+    private boolean tryMove(CyclicBarrier barrier, Long id, Long newParentId) throws Exception {
+        barrier.await(5, TimeUnit.SECONDS);
+        try {
+            hierarchyService.moveSubtree(id, newParentId);
+            return true;
+        } catch (CustomException e) {
+            return false;
+        }
+    }
+
+    private void assertCompletion(Task task, long tasks, long completed) throws CustomException {
+        TaskCompletionDTO completion = hierarchyService.getCompletion(task.getId());
+        assertEquals(tasks, completion.getTasks(), "tasks below " + task.getTitle());
+        assertEquals(completed, completion.getCompleted(), "completed below " + task.getTitle());
+    }
+
+    private static List<String> titles(List<TaskTreeDTO> nodes) {
+        return nodes.stream().map(node -> node.getTask().getTitle()).toList();
+    }
+}
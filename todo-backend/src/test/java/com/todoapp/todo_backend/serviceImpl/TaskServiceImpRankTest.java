@@ -0,0 +1,107 @@
+package com.todoapp.todo_backend.serviceImpl;
+
+import com.todoapp.todo_backend.dto.requestDto.TaskMoveRequestDTO;
+import com.todoapp.todo_backend.dto.requestDto.TaskRequestDTO;
+import com.todoapp.todo_backend.model.Task;
+import com.todoapp.todo_backend.scheduling.TaskRankRebalancer;
+import com.todoapp.todo_backend.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("h2")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-rank;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "todo.warmup.enabled=false"
+})
+class TaskServiceImpRankTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRankRebalancer rebalancer;
+
+    @Test
+    void concurrentCreatesGetDistinctRanks() throws Exception {
+        create("First");
+        int threads = 8;
+        int tasksPerThread = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<Task>>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                workers.add(executor.submit(() -> {
+                    List<Task> created = new ArrayList<>();
+                    for (int i = 0; i < tasksPerThread; i++) {
+                        created.add(create("Task " + thread + "-" + i));
+                    }
+                    return created;
+                }));
+            }
+            Set<String> ranks = new HashSet<>();
+            for (Future<List<Task>> worker : workers) {
+                for (Task task : worker.get(60, TimeUnit.SECONDS)) {
+                    assertTrue(ranks.add(task.getRank()), "rank " + task.getRank() + " handed out twice");
+                }
+            }
+            assertEquals(threads * tasksPerThread, ranks.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rebalanceDuringMovesKeepsOrderAndRanksDistinct() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            create("Ordered " + i);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> rebalances = executor.submit(() -> {
+                for (int i = 0; i < 20; i++) {
+                    rebalancer.rebalance();
+                }
+                return null;
+            });
+            Future<?> moves = executor.submit(() -> {
+                for (int i = 0; i < 40; i++) {
+                    List<Task> top = taskService.getIncompleteTasksByRank(3);
+                    // the first task goes between the second and the third
+                    taskService.moveTask(top.get(0).getId(), new TaskMoveRequestDTO(top.get(1).getId(), top.get(2).getId()));
+                }
+                return null;
+            });
+            rebalances.get(60, TimeUnit.SECONDS);
+            moves.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        List<Task> ordered = taskService.getIncompleteTasksByRank(1000);
+        Set<String> ranks = new HashSet<>();
+        for (Task task : ordered) {
+            assertTrue(ranks.add(task.getRank()), "rank " + task.getRank() + " handed out twice");
+        }
+    }
+
+    private Task create(String title) throws Exception {
+        TaskRequestDTO request = new TaskRequestDTO();
+        request.setTitle(title);
+        return taskService.createTask(request);
+    }
+}
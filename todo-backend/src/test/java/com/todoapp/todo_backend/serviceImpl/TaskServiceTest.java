@@ -1,9 +1,16 @@
 package com.todoapp.todo_backend.serviceImpl;
 
+import com.todoapp.todo_backend.dto.requestDto.TaskMoveRequestDTO;
+import com.todoapp.todo_backend.dto.requestDto.TaskPatchRequestDTO;
 import com.todoapp.todo_backend.dto.requestDto.TaskRequestDTO;
+import com.todoapp.todo_backend.dto.responseDto.TaskBatchDTO;
+import com.todoapp.todo_backend.event.TaskChangedEvent;
 import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.exception.TaskVersionConflictException;
 import com.todoapp.todo_backend.model.Task;
 import com.todoapp.todo_backend.repository.TaskRepository;
+import com.todoapp.todo_backend.scheduling.TaskRankRebalancer;
+import com.todoapp.todo_backend.service.TaskChangeService;
 import com.todoapp.todo_backend.service.impl.TaskServiceImp;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
@@ -29,6 +37,15 @@ class TaskServiceImpTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskChangeService taskChangeService;
+
+    @Mock
+    private TaskRankRebalancer rankRebalancer;
+
     @InjectMocks
     private TaskServiceImp taskService;
 
@@ -62,6 +79,23 @@ class TaskServiceImpTest {
         verify(taskRepository, times(1)).save(any(Task.class));
     }
 
+    @Test
+    void moveTask_RankTooLongForColumn_RebalancesFirst() throws CustomException {
+        // two neighbours so close that a rank between them needs more than the column holds
+        String lower = "i".repeat(Task.MAX_RANK_LENGTH - 1) + "1";
+        String upper = "i".repeat(Task.MAX_RANK_LENGTH - 1) + "2";
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findRankById(2L)).thenReturn(Optional.of(lower), Optional.of("a"));
+        when(taskRepository.findRankById(3L)).thenReturn(Optional.of(upper), Optional.of("b"));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Task result = taskService.moveTask(1L, new TaskMoveRequestDTO(2L, 3L));
+
+        verify(rankRebalancer, times(1)).rebalanceInTransaction();
+        assertTrue(result.getRank().compareTo("a") > 0 && result.getRank().compareTo("b") < 0);
+        assertTrue(result.getRank().length() <= Task.MAX_RANK_LENGTH);
+    }
+
     @Test
     void createTask_NullTitle_ThrowsException() {
         taskRequestDTO.setTitle(null);
@@ -135,7 +169,32 @@ class TaskServiceImpTest {
         assertTrue(result.isPresent());
         assertEquals(1L, result.get().getId());
         assertEquals("Test Task", result.get().getTitle());
-        verify(taskRepository, times(2)).findById(1L);
+        verify(taskRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getTasksByIds_KeepsRequestOrderAndReportsMissing() {
+        Task task2 = new Task();
+        task2.setId(2L);
+        task2.setTitle("Task 2");
+        when(taskRepository.findAllById(List.of(2L, 5L, 1L))).thenReturn(Arrays.asList(testTask, task2));
+
+        TaskBatchDTO result = taskService.getTasksByIds(List.of(2L, 5L, 1L, 2L));
+
+        assertEquals(List.of(2L, 1L), result.getTasks().stream().map(Task::getId).toList());
+        assertEquals(List.of(5L), result.getMissingIds());
+        verify(taskRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void getTasksByIds_SplitsLongIdListsIntoChunks() {
+        List<Long> ids = java.util.stream.LongStream.rangeClosed(1, TaskServiceImp.IDS_CHUNK_SIZE + 1).boxed().toList();
+        when(taskRepository.findAllById(any())).thenReturn(List.of());
+
+        TaskBatchDTO result = taskService.getTasksByIds(ids);
+
+        assertEquals(ids, result.getMissingIds());
+        verify(taskRepository, times(2)).findAllById(any());
     }
 
     @Test
@@ -165,10 +224,23 @@ class TaskServiceImpTest {
 
         assertNotNull(result);
         assertTrue(result.getCompleted());
+        assertNotNull(testTask.getCompletedAt());
         verify(taskRepository, times(1)).findById(1L);
         verify(taskRepository, times(1)).save(any(Task.class));
     }
 
+    @Test
+    void markTaskAsCompleted_AlreadyCompleted_ReturnsUnchanged() throws CustomException {
+        testTask.setCompleted(true);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+
+        Task result = taskService.markTaskAsCompleted(1L);
+
+        assertSame(testTask, result);
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
     @Test
     void markTaskAsCompleted_NotFound_ThrowsException() {
         when(taskRepository.findById(1L)).thenReturn(Optional.empty());
@@ -183,21 +255,19 @@ class TaskServiceImpTest {
 
     @Test
     void deleteTask_Success() throws CustomException {
-        // Note: The current implementation has a bug - it should be !existsById
-        // This test reflects the buggy behavior
-        when(taskRepository.existsById(1L)).thenReturn(false);
+        when(taskRepository.existsById(1L)).thenReturn(true);
         doNothing().when(taskRepository).deleteById(1L);
 
         assertDoesNotThrow(() -> taskService.deleteTask(1L));
 
         verify(taskRepository, times(1)).existsById(1L);
         verify(taskRepository, times(1)).deleteById(1L);
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
     }
 
     @Test
     void deleteTask_NotFound_ThrowsException() {
-        // Note: The current implementation has a bug - the logic is inverted
-        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.existsById(1L)).thenReturn(false);
 
         CustomException exception = assertThrows(CustomException.class,
                 () -> taskService.deleteTask(1L));
@@ -205,5 +275,44 @@ class TaskServiceImpTest {
         assertEquals("Task not found with id 1", exception.getMessage());
         verify(taskRepository, times(1)).existsById(1L);
         verify(taskRepository, never()).deleteById(1L);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void updateTask_Success() throws CustomException {
+        TaskPatchRequestDTO patch = new TaskPatchRequestDTO("Renamed", null, null, 3L);
+        testTask.setTitle("Renamed");
+        testTask.setVersion(4L);
+        when(taskRepository.patch(1L, 3L, "Renamed", false, null, false, null)).thenReturn(1);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+
+        Task result = taskService.updateTask(1L, patch);
+
+        assertEquals("Renamed", result.getTitle());
+        assertEquals(4L, result.getVersion());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void updateTask_StaleVersion_ThrowsConflict() {
+        when(taskRepository.patch(1L, 3L, "Renamed", false, null, false, null)).thenReturn(0);
+        when(taskRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(TaskVersionConflictException.class,
+                () -> taskService.updateTask(1L, new TaskPatchRequestDTO("Renamed", null, null, 3L)));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void updateTask_NotFound_ThrowsException() {
+        when(taskRepository.patch(1L, 3L, "Renamed", false, null, false, null)).thenReturn(0);
+        when(taskRepository.existsById(1L)).thenReturn(false);
+
+        CustomException exception = assertThrows(CustomException.class,
+                () -> taskService.updateTask(1L, new TaskPatchRequestDTO("Renamed", null, null, 3L)));
+
+        assertEquals("Task not found with id 1", exception.getMessage());
     }
-}
\ No newline at end of file
+}
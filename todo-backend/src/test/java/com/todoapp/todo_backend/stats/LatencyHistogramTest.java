@@ -0,0 +1,69 @@
+package com.todoapp.todo_backend.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(100, histogram.getTotalCount());
+        assertEquals(50, histogram.valueAtQuantile(0.50));
+        assertEquals(99, histogram.valueAtQuantile(0.99));
+        assertEquals(100, histogram.valueAtQuantile(1.0));
+    }
+
+    @Test
+    void largeValuesStayWithinOnePercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1_000);
+        }
+
+        assertEquals(5_000_000, histogram.valueAtQuantile(0.50), 5_000_000 * 0.01);
+        assertEquals(9_900_000, histogram.valueAtQuantile(0.99), 9_900_000 * 0.01);
+        assertEquals(10_000_000, histogram.getMaxValue());
+    }
+
+    @Test
+    void bucketBoundariesAreContiguous() {
+        for (int index = 1; index < 3000; index++) {
+            long lowest = LatencyHistogram.lowestValueAt(index);
+            assertEquals(index, LatencyHistogram.indexOf(lowest));
+            assertEquals(index - 1, LatencyHistogram.indexOf(lowest - 1));
+        }
+    }
+
+    @Test
+    void encodingRoundTripsAndMerges() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        for (int i = 0; i < 500; i++) {
+            first.record(i * 37L);
+            second.record(i * 3_600_000L);
+        }
+
+        LatencyHistogram decoded = LatencyHistogram.fromBytes(first.toBytes());
+        assertEquals(first.getTotalCount(), decoded.getTotalCount());
+        assertEquals(first.getMaxValue(), decoded.getMaxValue());
+        assertEquals(first.valueAtQuantile(0.9), decoded.valueAtQuantile(0.9));
+
+        decoded.merge(LatencyHistogram.fromBytes(second.toBytes()));
+        assertEquals(1000, decoded.getTotalCount());
+        assertEquals(second.getMaxValue(), decoded.getMaxValue());
+    }
+
+    @Test
+    void emptyHistogram() {
+        LatencyHistogram histogram = LatencyHistogram.fromBytes(new LatencyHistogram().toBytes());
+
+        assertTrue(histogram.isEmpty());
+        assertEquals(0, histogram.valueAtQuantile(0.99));
+    }
+}
@@ -0,0 +1,138 @@
+package com.todoapp.todo_backend.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedLongMapTest {
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        // a single small stripe forces long probe runs, resizes and backward shifts on delete
+        StripedLongMap<String> map = new StripedLongMap<>(1, 4);
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int n = 0; n < 200_000; n++) {
+            long key = 1 + random.nextInt(2000);
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.put(key, "v" + n), putReturningOld(map, key, "v" + n));
+                case 1 -> assertEquals(expected.remove(key), map.remove(key));
+                default -> assertEquals(expected.get(key), map.get(key));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+    }
+
+    @Test
+    void computeCanKeepOrRemoveEntries() {
+        StripedLongMap<Integer> map = new StripedLongMap<>(4, 16);
+        assertNull(map.compute(5L, (key, current) -> null));
+        assertEquals(1, map.compute(5L, (key, current) -> current == null ? 1 : current + 1));
+        assertEquals(2, map.compute(5L, (key, current) -> current == null ? 1 : current + 1));
+        assertNull(map.compute(5L, (key, current) -> null));
+        assertNull(map.get(5L));
+        assertEquals(0, map.size());
+        assertThrows(IllegalArgumentException.class, () -> map.put(0L, 1));
+        assertThrows(IllegalArgumentException.class, () -> new StripedLongMap<>(3, 16));
+    }
+
+    @Test
+    void concurrentWritersOnDisjointKeysAndReaders() throws Exception {
+        StripedLongMap<Long> map = new StripedLongMap<>(16, 16);
+        int threads = 8;
+        int keysPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 2);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long base = (long) t * keysPerThread + 1;
+                writers.add(executor.submit(() -> {
+                    for (long key = base; key < base + keysPerThread; key++) {
+                        map.put(key, key);
+                    }
+                    // drop every other key again so deletes race with the other writers' inserts
+                    for (long key = base; key < base + keysPerThread; key += 2) {
+                        assertEquals(key, map.remove(key));
+                    }
+                }));
+            }
+            Future<?> reader = executor.submit(() -> {
+                Random random = new Random(1);
+                for (int n = 0; n < 200_000; n++) {
+                    long key = 1 + random.nextInt(threads * keysPerThread);
+                    Long value = map.get(key);
+                    assertTrue(value == null || value == key);
+                }
+            });
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+            reader.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * keysPerThread / 2, map.size());
+        for (long key = 1; key <= (long) threads * keysPerThread; key++) {
+            if ((key - 1) % 2 == 0) {
+                assertNull(map.get(key));
+            } else {
+                assertEquals(key, map.get(key));
+            }
+        }
+    }
+
+    @Test
+    void readersDuringResizesSeeNoTornTable() throws Exception {
+        AtomicReference<StripedLongMap<Long>> current = new AtomicReference<>(new StripedLongMap<>(1, 4));
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                readers.add(executor.submit(() -> {
+                    Random random = new Random();
+                    while (writing.get()) {
+                        long key = 1 + random.nextInt(4096);
+                        Long value = current.get().get(key);
+                        assertTrue(value == null || value == key);
+                    }
+                }));
+            }
+            // every round grows a fresh single-stripe map through ten resizes
+            for (int round = 0; round < 500; round++) {
+                StripedLongMap<Long> map = new StripedLongMap<>(1, 4);
+                current.set(map);
+                for (long key = 1; key <= 4096; key++) {
+                    map.put(key, key);
+                }
+            }
+            writing.set(false);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            writing.set(false);
+            executor.shutdownNow();
+        }
+    }
+
+    private static String putReturningOld(StripedLongMap<String> map, long key, String value) {
+        String old = map.get(key);
+        map.put(key, value);
+        return old;
+    }
+}
@@ -0,0 +1,167 @@
+package com.todoapp.todo_backend.storage;
+
+import com.todoapp.todo_backend.model.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskLogStoreTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void putGetDeleteAndListOrder() throws IOException {
+        try (TaskLogStore store = new TaskLogStore(directory, SEGMENT_SIZE, false)) {
+            Task first = store.put(task("first", LocalDateTime.of(2025, 1, 1, 10, 0), "m"));
+            Task second = store.put(task("second", LocalDateTime.of(2025, 1, 2, 10, 0), "c"));
+            Task third = store.put(task("third", LocalDateTime.of(2025, 1, 3, 10, 0), "x"));
+
+            assertEquals(1L, first.getId());
+            assertEquals("second", store.get(second.getId()).orElseThrow().getTitle());
+            assertEquals(Set.of("work"), store.get(second.getId()).orElseThrow().getTags());
+
+            third.setCompleted(true);
+            store.put(third);
+            assertEquals(List.of("second", "first"), titles(store.findIncompleteNewestFirst(10)));
+            assertEquals(List.of("second", "first"), titles(store.findIncompleteByRank(10)));
+            assertEquals("c", store.findMinIncompleteRank());
+
+            assertTrue(store.delete(second.getId()));
+            assertFalse(store.delete(second.getId()));
+            assertTrue(store.get(second.getId()).isEmpty());
+            assertEquals(List.of("first"), titles(store.findIncompleteNewestFirst(10)));
+        }
+    }
+
+    @Test
+    void replaysLogOnReopen() throws IOException {
+        try (TaskLogStore store = new TaskLogStore(directory, SEGMENT_SIZE, false)) {
+            for (int i = 0; i < 50; i++) {
+                store.put(task("task " + i, LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(i), null));
+            }
+            store.delete(10L);
+            Task renamed = store.get(20L).orElseThrow();
+            renamed.setTitle("renamed");
+            store.put(renamed);
+        }
+        try (TaskLogStore store = new TaskLogStore(directory, SEGMENT_SIZE, false)) {
+            assertEquals(49, store.size());
+            assertTrue(store.segmentCount() > 1);
+            assertTrue(store.get(10L).isEmpty());
+            assertEquals("renamed", store.get(20L).orElseThrow().getTitle());
+            assertEquals("task 49", store.findIncompleteNewestFirst(1).get(0).getTitle());
+            // ids continue after the highest one seen, deleted ones included
+            assertEquals(51L, store.put(task("new", LocalDateTime.now(), null)).getId());
+        }
+    }
+
+    @Test
+    void truncatesTornRecordOnRecovery() throws IOException {
+        try (TaskLogStore store = new TaskLogStore(directory, SEGMENT_SIZE, false)) {
+            store.put(task("kept", LocalDateTime.now(), null));
+            store.put(task("torn", LocalDateTime.now(), null));
+        }
+        Path segment = onlySegment();
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // corrupt the last byte of the second record's body
+            int firstLength = file.readInt();
+            long secondStart = LogSegment.HEADER_SIZE + firstLength;
+            file.seek(secondStart);
+            int secondLength = file.readInt();
+            file.seek(secondStart + LogSegment.HEADER_SIZE + secondLength - 1);
+            file.write(0x7F);
+        }
+        try (TaskLogStore store = new TaskLogStore(directory, SEGMENT_SIZE, false)) {
+            assertEquals(1, store.size());
+            assertEquals("kept", store.get(1L).orElseThrow().getTitle());
+            // the damaged tail is reused
+            Task next = store.put(task("after recovery", LocalDateTime.now(), null));
+            assertEquals("after recovery", store.get(next.getId()).orElseThrow().getTitle());
+        }
+        try (TaskLogStore store = new TaskLogStore(directory, SEGMENT_SIZE, false)) {
+            assertEquals(2, store.size());
+        }
+    }
+
+    @Test
+    void compactionDropsDeadSegmentsAndKeepsLiveData() throws IOException {
+        try (TaskLogStore store = new TaskLogStore(directory, SEGMENT_SIZE, false)) {
+            for (int i = 0; i < 200; i++) {
+                store.put(task("task " + i, LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(i), null));
+            }
+            for (long id = 1; id <= 180; id++) {
+                store.delete(id);
+            }
+            int before = store.segmentCount();
+
+            assertTrue(store.compact(0.5) > 0);
+            assertTrue(store.segmentCount() < before);
+            assertEquals(20, store.size());
+            assertEquals("task 199", store.get(200L).orElseThrow().getTitle());
+        }
+        try (TaskLogStore store = new TaskLogStore(directory, SEGMENT_SIZE, false)) {
+            assertEquals(20, store.size());
+            assertTrue(store.get(5L).isEmpty());
+            assertEquals("task 185", store.get(186L).orElseThrow().getTitle());
+            assertEquals(20, store.findIncompleteNewestFirst(100).size());
+        }
+    }
+
+    @Test
+    void compactionKeepsHighestIdAcrossRestart() throws IOException {
+        try (TaskLogStore store = new TaskLogStore(directory, SEGMENT_SIZE, false)) {
+            Task kept = store.put(task("kept", LocalDateTime.of(2025, 1, 1, 0, 0), null));
+            for (int i = 0; i < 20; i++) {
+                store.put(task("task " + i, LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(i), null));
+            }
+            store.delete(21L);
+            // pushes the tombstone of the highest id out of the active segment
+            for (int i = 0; i < 100; i++) {
+                kept.setTitle("kept " + i);
+                store.put(kept);
+            }
+            for (long id = 2; id <= 20; id++) {
+                store.delete(id);
+            }
+
+            assertTrue(store.compact(0.5) > 0);
+            assertEquals(1, store.size());
+        }
+        try (TaskLogStore store = new TaskLogStore(directory, SEGMENT_SIZE, false)) {
+            assertEquals(1, store.size());
+            assertEquals(22L, store.put(task("new", LocalDateTime.now(), null)).getId());
+        }
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files.toList();
+            assertEquals(1, segments.size());
+            return segments.get(0);
+        }
+    }
+
+    private static Task task(String title, LocalDateTime createdAt, String rank) {
+        Task task = new Task(null, title, "description of " + title, false, createdAt);
+        task.setRank(rank);
+        task.setTags(Set.of("work"));
+        return task;
+    }
+
+    private static List<String> titles(List<Task> tasks) {
+        return tasks.stream().map(Task::getTitle).toList();
+    }
+}
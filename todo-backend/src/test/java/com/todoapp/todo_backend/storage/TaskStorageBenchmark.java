@@ -0,0 +1,93 @@
+package com.todoapp.todo_backend.storage;
+
+import com.todoapp.todo_backend.TodoBackendApplication;
+import com.todoapp.todo_backend.dto.requestDto.TaskRequestDTO;
+import com.todoapp.todo_backend.exception.CustomException;
+import com.todoapp.todo_backend.service.TaskService;
+import com.todoapp.todo_backend.stats.LatencyHistogram;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Compares the TaskService backends for create, lookup by id and the incomplete-task list.
+ * All run in a full application context on the h2 profile, so they pay for the same event listeners.
+ * Not a unit test; run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.todoapp.todo_backend.storage.TaskStorageBenchmark}
+ * or from the IDE. Optional arguments: task count, lookup count, list count.
+ */
+public class TaskStorageBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        // devtools would restart the context in a new classloader and call main again
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        int tasks = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+        int lists = args.length > 2 ? Integer.parseInt(args[2]) : 5_000;
+
+        Path logDirectory = Files.createTempDirectory("task-log-benchmark");
+        run("jpa", tasks, lookups, lists, "--todo.storage=jpa");
+        run("log", tasks, lookups, lists, "--todo.storage=log", "--todo.storage.log.dir=" + logDirectory);
+        run("memory", tasks, lookups, lists, "--todo.storage=memory");
+    }
+
+    private static void run(String name, int tasks, int lookups, int lists, String... extraArgs) throws CustomException {
+        String[] args = new String[extraArgs.length + 3];
+        System.arraycopy(extraArgs, 0, args, 0, extraArgs.length);
+        int i = extraArgs.length;
+        args[i++] = "--spring.datasource.url=jdbc:h2:mem:benchmark-" + name + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+        args[i++] = "--todo.warmup.enabled=false";
+        args[i] = "--logging.level.root=WARN";
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TodoBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .run(args)) {
+            TaskService taskService = context.getBean(TaskService.class);
+            Random random = new Random(42);
+
+            LatencyHistogram create = new LatencyHistogram();
+            long start = System.nanoTime();
+            long firstId = Long.MAX_VALUE;
+            for (int n = 0; n < tasks; n++) {
+                TaskRequestDTO request = new TaskRequestDTO();
+                request.setTitle("Task " + n);
+                request.setDescription("Description of task " + n + " ".repeat(random.nextInt(200)));
+                long t0 = System.nanoTime();
+                long id = taskService.createTask(request).getId();
+                create.record((System.nanoTime() - t0) / 1000);
+                firstId = Math.min(firstId, id);
+            }
+            report(name, "create", create, System.nanoTime() - start);
+
+            LatencyHistogram lookup = new LatencyHistogram();
+            start = System.nanoTime();
+            for (int n = 0; n < lookups; n++) {
+                long id = firstId + random.nextInt(tasks);
+                long t0 = System.nanoTime();
+                taskService.getTaskById(id);
+                lookup.record((System.nanoTime() - t0) / 1000);
+            }
+            report(name, "lookup", lookup, System.nanoTime() - start);
+
+            LatencyHistogram list = new LatencyHistogram();
+            start = System.nanoTime();
+            for (int n = 0; n < lists; n++) {
+                long t0 = System.nanoTime();
+                taskService.getIncompleteTasks(50);
+                list.record((System.nanoTime() - t0) / 1000);
+            }
+            report(name, "list 50", list, System.nanoTime() - start);
+        }
+    }
+
+    private static void report(String backend, String operation, LatencyHistogram histogram, long elapsedNanos) {
+        System.out.printf("%-6s %-8s %9.0f ops/s   p50 %6d us   p99 %6d us   max %7d us%n",
+                backend, operation, histogram.getTotalCount() / (elapsedNanos / 1e9),
+                histogram.valueAtQuantile(0.50), histogram.valueAtQuantile(0.99), histogram.getMaxValue());
+    }
+}
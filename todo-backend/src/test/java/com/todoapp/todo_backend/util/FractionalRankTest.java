@@ -0,0 +1,117 @@
+package com.todoapp.todo_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FractionalRankTest {
+
+    @Test
+    void betweenSortsStrictlyInside() {
+        assertBetween("a", "b", FractionalRank.between("a", "b"));
+        assertBetween("a", "a1", FractionalRank.between("a", "a1"));
+        assertBetween("az", "b", FractionalRank.between("az", "b"));
+        assertBetween("0001", "0002", FractionalRank.between("0001", "0002"));
+    }
+
+    @Test
+    void unboundedSides() {
+        String first = FractionalRank.between(null, null);
+        String top = FractionalRank.between(null, first);
+        String bottom = FractionalRank.between(first, null);
+
+        assertTrue(top.compareTo(first) < 0);
+        assertTrue(bottom.compareTo(first) > 0);
+        assertBetween(null, "1", FractionalRank.between(null, "1"));
+        assertBetween(null, "01", FractionalRank.between(null, "01"));
+    }
+
+    @Test
+    void rejectsInvertedBounds() {
+        assertThrows(IllegalArgumentException.class, () -> FractionalRank.between("b", "a"));
+        assertThrows(IllegalArgumentException.class, () -> FractionalRank.between("a", "a"));
+    }
+
+    @Test
+    void repeatedInsertsIntoTheSameGapStayOrdered() {
+        String lower = "a";
+        String upper = "b";
+        for (int i = 0; i < 200; i++) {
+            String middle = FractionalRank.between(lower, upper);
+            assertBetween(lower, upper, middle);
+            assertNotEquals('0', middle.charAt(middle.length() - 1));
+            if (i % 2 == 0) {
+                upper = middle;
+            } else {
+                lower = middle;
+            }
+        }
+    }
+
+    @Test
+    void randomMovesKeepTotalOrder() {
+        Random random = new Random(7);
+        List<String> ranks = new ArrayList<>(FractionalRank.evenlySpaced(50));
+        for (int i = 0; i < 2_000; i++) {
+            int position = random.nextInt(ranks.size() + 1);
+            String lower = position == 0 ? null : ranks.get(position - 1);
+            String upper = position == ranks.size() ? null : ranks.get(position);
+            ranks.add(position, FractionalRank.between(lower, upper));
+        }
+        for (int i = 1; i < ranks.size(); i++) {
+            assertTrue(ranks.get(i - 1).compareTo(ranks.get(i)) < 0);
+        }
+    }
+
+    @Test
+    void prependingGrowsSlowly() {
+        String top = FractionalRank.between(null, null);
+        for (int i = 0; i < 100; i++) {
+            String next = FractionalRank.between(null, top);
+            assertTrue(next.compareTo(top) < 0);
+            top = next;
+        }
+        assertTrue(top.length() <= 3, top);
+    }
+
+    @Test
+    void burstsOfNewTasksOnTopStayShort() {
+        String top = FractionalRank.between(null, null);
+        String bottom = top;
+        for (int i = 0; i < 100_000; i++) {
+            String next = FractionalRank.between(null, top);
+            assertTrue(next.compareTo(top) < 0);
+            assertNotEquals('0', next.charAt(next.length() - 1));
+            top = next;
+            String last = FractionalRank.between(bottom, null);
+            assertTrue(last.compareTo(bottom) > 0);
+            bottom = last;
+        }
+        assertTrue(top.length() <= 7, top);
+        assertTrue(bottom.length() <= 7, bottom);
+    }
+
+    @Test
+    void evenlySpacedRanksAreShortAndAscending() {
+        List<String> ranks = FractionalRank.evenlySpaced(100_000);
+
+        assertEquals(100_000, ranks.size());
+        for (int i = 1; i < ranks.size(); i++) {
+            assertTrue(ranks.get(i - 1).compareTo(ranks.get(i)) < 0);
+        }
+        assertTrue(ranks.stream().allMatch(rank -> rank.length() <= 5));
+    }
+
+    private static void assertBetween(String lower, String upper, String rank) {
+        if (lower != null) {
+            assertTrue(lower.compareTo(rank) < 0, rank + " should sort after " + lower);
+        }
+        if (upper != null) {
+            assertTrue(rank.compareTo(upper) < 0, rank + " should sort before " + upper);
+        }
+    }
+}
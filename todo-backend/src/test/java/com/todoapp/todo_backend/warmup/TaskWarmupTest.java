@@ -0,0 +1,42 @@
+package com.todoapp.todo_backend.warmup;
+
+import com.todoapp.todo_backend.controller.HealthController;
+import com.todoapp.todo_backend.dto.responseDto.ReadinessDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("h2")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-warmup;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "todo.warmup.enabled=true",
+        "todo.warmup.iterations=50"
+})
+class TaskWarmupTest {
+
+    @Autowired
+    private HealthController healthController;
+
+    @Test
+    void warmUpFinishesBeforeTheApplicationIsReady() {
+        // the context is only handed to the test once the runners are done and readiness has been published
+        ResponseEntity<ReadinessDTO> response = healthController.getReadiness();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ReadinessDTO readiness = response.getBody();
+        assertEquals("ACCEPTING_TRAFFIC", readiness.getState());
+        assertEquals("DONE", readiness.getWarmupPhase());
+        assertEquals(50, readiness.getWarmupIterations());
+        assertTrue(readiness.getPoolConnections() > 0 && readiness.getPoolConnections() <= 4);
+        assertTrue(readiness.getWarmupMillis() >= 0);
+        assertNull(readiness.getWarmupError());
+    }
+}
@@ -0,0 +1,4 @@
+-- task_outbox as Hibernate created it on MySQL before UPDATED existed, with event_type a native enum
+create table if not exists task_outbox (id bigint generated by default as identity primary key,
+    event_type enum ('CREATED', 'COMPLETED', 'MOVED', 'DELETED') not null, task_id bigint not null,
+    payload clob, created_at timestamp(6) not null, available_at timestamp(6) not null, attempts integer not null);